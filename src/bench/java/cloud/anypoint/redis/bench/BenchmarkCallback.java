@@ -0,0 +1,27 @@
+package cloud.anypoint.redis.bench;
+
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Completion callback the benchmark thread waits on, as the flow would.
+ */
+final class BenchmarkCallback<T> implements CompletionCallback<T, Void> {
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    @Override
+    public void success(Result<T, Void> result) {
+        this.result.complete(result.getOutput());
+    }
+
+    @Override
+    public void error(Throwable e) {
+        this.result.completeExceptionally(e);
+    }
+
+    T await() {
+        return result.join();
+    }
+}
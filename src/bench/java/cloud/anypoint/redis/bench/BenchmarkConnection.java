@@ -0,0 +1,103 @@
+package cloud.anypoint.redis.bench;
+
+import cloud.anypoint.redis.api.connection.StripingMode;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.commands.ScriptRegistry;
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import cloud.anypoint.redis.internal.metrics.CommandMetricsRegistry;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.support.AsyncConnectionPoolSupport;
+import io.lettuce.core.support.BoundedAsyncPool;
+import io.lettuce.core.support.BoundedPoolConfig;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A connection of the connector to an in-process server, shared by the threads of a benchmark. The server is seeded
+ * with the keys read by the benchmarks.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkConnection {
+    private static final int HASH_FIELDS = 20;
+    private static final int STREAM_ENTRIES = 10;
+    private static final int SEARCH_KEYS = 100;
+
+    @Param({"1"})
+    public int stripes;
+    @Param({"100"})
+    public int valueSize;
+
+    LettuceRedisConnection connection;
+
+    private RespServer server;
+    private RedisClient client;
+    private List<StatefulConnection<String, String>> connections;
+    private BoundedAsyncPool<StatefulConnection<String, String>> dedicatedConnections;
+    private CommandMetricsRegistry metrics;
+
+    @Setup(Level.Trial)
+    public void connect() throws IOException {
+        server = RespServer.start();
+        RedisURI uri = RedisURI.create("localhost", server.getPort());
+        client = RedisClient.create(uri);
+        seed(uri);
+        connections = new ArrayList<>();
+        for (int i = 0; i < stripes; i++) {
+            connections.add(client.connect());
+        }
+        dedicatedConnections = AsyncConnectionPoolSupport.createBoundedObjectPool(
+                () -> client.connectAsync(StringCodec.UTF8, uri).<StatefulConnection<String, String>>thenApply(c -> c),
+                BoundedPoolConfig.create(),
+                false);
+        metrics = new CommandMetricsRegistry("benchmark");
+        connection = new LettuceRedisConnection(connections, StripingMode.ROUND_ROBIN, null, dedicatedConnections,
+                new ScriptRegistry(), null, null, metrics, null, null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws IOException {
+        dedicatedConnections.close();
+        connection.invalidate();
+        metrics.dispose();
+        client.shutdown();
+        server.close();
+    }
+
+    private void seed(RedisURI uri) {
+        String value = String.join("", Collections.nCopies(valueSize, "v"));
+        try (StatefulRedisConnection<String, String> seeding = client.connect(uri)) {
+            RedisCommands<String, String> commands = seeding.sync();
+            commands.set("key", value);
+            for (int i = 0; i < 10; i++) {
+                commands.set("k" + i, value);
+            }
+            Map<String, String> hash = new LinkedHashMap<>();
+            for (int i = 0; i < HASH_FIELDS; i++) {
+                hash.put("field" + i, value);
+            }
+            commands.hset("hash", hash);
+            for (int i = 0; i < STREAM_ENTRIES; i++) {
+                commands.xadd("stream", "field", value);
+            }
+            for (int i = 0; i < SEARCH_KEYS; i++) {
+                commands.set("key:" + i, value);
+            }
+        }
+    }
+}
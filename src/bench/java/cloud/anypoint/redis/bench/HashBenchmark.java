@@ -0,0 +1,31 @@
+package cloud.anypoint.redis.bench;
+
+import cloud.anypoint.redis.internal.operation.HashCommandOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class HashBenchmark {
+    private final HashCommandOperations operations = new HashCommandOperations();
+
+    @Benchmark
+    public Map<String, String> hgetall(BenchmarkConnection connection) {
+        BenchmarkCallback<Map<String, String>> callback = new BenchmarkCallback<>();
+        operations.hgetall(connection.connection, "hash", callback);
+        return callback.await();
+    }
+}
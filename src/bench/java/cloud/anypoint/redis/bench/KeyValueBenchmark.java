@@ -0,0 +1,48 @@
+package cloud.anypoint.redis.bench;
+
+import cloud.anypoint.redis.internal.operation.KeyValueCommandOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class KeyValueBenchmark {
+    private static final List<String> KEYS = Arrays.asList("k0", "k1", "k2", "k3", "k4", "k5", "k6", "k7", "k8", "k9");
+
+    private final KeyValueCommandOperations operations = new KeyValueCommandOperations();
+
+    @Benchmark
+    public String set(BenchmarkConnection connection) {
+        BenchmarkCallback<String> callback = new BenchmarkCallback<>();
+        operations.set(connection.connection, "key", "value", false, false, false, null, null, null, null, false, callback);
+        return callback.await();
+    }
+
+    @Benchmark
+    public String get(BenchmarkConnection connection) {
+        BenchmarkCallback<String> callback = new BenchmarkCallback<>();
+        operations.get(connection.connection, "key", callback);
+        return callback.await();
+    }
+
+    @Benchmark
+    public List<String> mget(BenchmarkConnection connection) {
+        BenchmarkCallback<List<String>> callback = new BenchmarkCallback<>();
+        operations.mget(connection.connection, KEYS, callback);
+        return callback.await();
+    }
+}
@@ -0,0 +1,41 @@
+package cloud.anypoint.redis.bench;
+
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import cloud.anypoint.redis.internal.operation.SearchOperations;
+import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class SearchBenchmark {
+    private final SearchOperations operations = new SearchOperations();
+
+    /**
+     * Reads every page of a search, as a flow iterating over all of its results would.
+     */
+    @Benchmark
+    public void searchKeys(BenchmarkConnection connection, Blackhole blackhole) throws Exception {
+        PagingProvider<LettuceRedisConnection, String> keys = operations.searchKeys(null, null, null, 0, 1);
+        List<String> page;
+        do {
+            page = keys.getPage(connection.connection);
+            blackhole.consume(page);
+        } while (!page.isEmpty());
+        keys.close(connection.connection);
+    }
+}
@@ -0,0 +1,43 @@
+package cloud.anypoint.redis.bench;
+
+import cloud.anypoint.redis.api.stream.StreamEntry;
+import cloud.anypoint.redis.api.stream.StreamWatermark;
+import cloud.anypoint.redis.internal.operation.StreamCommandOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class StreamBenchmark {
+    private final StreamCommandOperations operations = new StreamCommandOperations();
+    private final List<StreamWatermark> streams;
+
+    public StreamBenchmark() {
+        StreamWatermark watermark = new StreamWatermark();
+        watermark.setKey("stream");
+        watermark.setId("0-0");
+        streams = Collections.singletonList(watermark);
+    }
+
+    @Benchmark
+    public Map<String, List<StreamEntry>> xread(BenchmarkConnection connection) {
+        BenchmarkCallback<Map<String, List<StreamEntry>>> callback = new BenchmarkCallback<>();
+        operations.xread(connection.connection, 10, null, streams, callback);
+        return callback.await();
+    }
+}
@@ -1,8 +1,23 @@
 package cloud.anypoint.redis.api;
 
+import io.lettuce.core.ScriptOutputType;
+
 public enum CommandReturnType {
     STATUS,
     STRING,
     ARRAY,
-    LONG
+    LONG;
+
+    public ScriptOutputType getScriptOutputType() {
+        switch (this) {
+            case STATUS:
+                return ScriptOutputType.STATUS;
+            case ARRAY:
+                return ScriptOutputType.MULTI;
+            case LONG:
+                return ScriptOutputType.INTEGER;
+            default:
+                return ScriptOutputType.VALUE;
+        }
+    }
 }
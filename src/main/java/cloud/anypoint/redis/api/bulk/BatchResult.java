@@ -0,0 +1,51 @@
+package cloud.anypoint.redis.api.bulk;
+
+public class BatchResult {
+    private int batch;
+    private int written;
+    private int failed;
+    private String error;
+
+    public BatchResult() {}
+    public BatchResult(int batch, int written, int failed, String error) {
+        this.batch = batch;
+        this.written = written;
+        this.failed = failed;
+        this.error = error;
+    }
+
+    public int getBatch() {
+        return batch;
+    }
+
+    public void setBatch(int batch) {
+        this.batch = batch;
+    }
+
+    public int getWritten() {
+        return written;
+    }
+
+    public void setWritten(int written) {
+        this.written = written;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    /**
+     * The error of the first record of the batch that failed, if any.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
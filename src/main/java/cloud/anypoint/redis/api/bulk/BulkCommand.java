@@ -0,0 +1,8 @@
+package cloud.anypoint.redis.api.bulk;
+
+public enum BulkCommand {
+    SET,
+    HSET,
+    ZADD,
+    XADD
+}
@@ -0,0 +1,40 @@
+package cloud.anypoint.redis.api.bulk;
+
+import java.util.List;
+
+public class BulkWriteResult {
+    private long written;
+    private long failed;
+    private List<BatchResult> batches;
+
+    public BulkWriteResult() {}
+    public BulkWriteResult(long written, long failed, List<BatchResult> batches) {
+        this.written = written;
+        this.failed = failed;
+        this.batches = batches;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public void setWritten(long written) {
+        this.written = written;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchResult> getBatches() {
+        return batches;
+    }
+
+    public void setBatches(List<BatchResult> batches) {
+        this.batches = batches;
+    }
+}
@@ -0,0 +1,46 @@
+package cloud.anypoint.redis.api.command;
+
+import cloud.anypoint.redis.api.CommandReturnType;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+
+import java.util.Collections;
+import java.util.List;
+
+public class QueuedCommand {
+    @Placement(order = 1)
+    @Parameter
+    private String command;
+    @Placement(order = 2)
+    @Optional
+    @Parameter
+    private List<String> arguments;
+    @Placement(order = 3)
+    @Parameter
+    private CommandReturnType returnType;
+
+    public String getCommand() {
+        return command;
+    }
+
+    public void setCommand(String command) {
+        this.command = command;
+    }
+
+    public List<String> getArguments() {
+        return null == arguments ? Collections.emptyList() : arguments;
+    }
+
+    public void setArguments(List<String> arguments) {
+        this.arguments = arguments;
+    }
+
+    public CommandReturnType getReturnType() {
+        return returnType;
+    }
+
+    public void setReturnType(CommandReturnType returnType) {
+        this.returnType = returnType;
+    }
+}
@@ -0,0 +1,7 @@
+package cloud.anypoint.redis.api.connection;
+
+public enum CompletionMode {
+    INLINE,
+    MULE_SCHEDULER,
+    VIRTUAL_THREADS
+}
@@ -0,0 +1,17 @@
+package cloud.anypoint.redis.api.connection;
+
+import io.lettuce.core.ClientOptions;
+
+public enum DisconnectedBehavior {
+    ACCEPT_COMMANDS,
+    REJECT_COMMANDS;
+
+    public ClientOptions.DisconnectedBehavior getLettuceDisconnectedBehavior() {
+        switch (this) {
+            case REJECT_COMMANDS:
+                return ClientOptions.DisconnectedBehavior.REJECT_COMMANDS;
+            default:
+                return ClientOptions.DisconnectedBehavior.ACCEPT_COMMANDS;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package cloud.anypoint.redis.api.connection;
+
+import io.lettuce.core.ReadFrom;
+
+public enum ReadFromPolicy {
+    MASTER,
+    MASTER_PREFERRED,
+    REPLICA,
+    REPLICA_PREFERRED,
+    LOWEST_LATENCY,
+    ANY,
+    ANY_REPLICA;
+
+    public ReadFrom getLettuceReadFrom() {
+        switch (this) {
+            case MASTER_PREFERRED:
+                return ReadFrom.MASTER_PREFERRED;
+            case REPLICA:
+                return ReadFrom.REPLICA;
+            case REPLICA_PREFERRED:
+                return ReadFrom.REPLICA_PREFERRED;
+            case LOWEST_LATENCY:
+                return ReadFrom.LOWEST_LATENCY;
+            case ANY:
+                return ReadFrom.ANY;
+            case ANY_REPLICA:
+                return ReadFrom.ANY_REPLICA;
+            default:
+                return ReadFrom.MASTER;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package cloud.anypoint.redis.api.connection;
+
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+
+public class RedisNode {
+    @Placement(order = 1)
+    @Parameter
+    private String host;
+    @Placement(order = 2)
+    @Parameter
+    private int port;
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+}
@@ -0,0 +1,6 @@
+package cloud.anypoint.redis.api.connection;
+
+public enum StripingMode {
+    ROUND_ROBIN,
+    KEY_HASH
+}
@@ -11,7 +11,9 @@ public enum ConnectorError implements ErrorTypeDefinition<ConnectorError> {
     NIL,
     WRONG_TYPE(COMMAND),
     OUT_OF_RANGE(COMMAND),
-    TIMEOUT;
+    TIMEOUT,
+    REJECTED,
+    CIRCUIT_OPEN(REJECTED);
 
     private ErrorTypeDefinition<? extends Enum<?>> parent;
 
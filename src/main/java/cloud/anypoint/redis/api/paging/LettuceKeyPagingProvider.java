@@ -2,6 +2,8 @@ package cloud.anypoint.redis.api.paging;
 
 import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
 import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanCursor;
+import org.mule.runtime.api.exception.MuleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -12,10 +14,17 @@ import java.util.function.BiFunction;
 
 public class LettuceKeyPagingProvider<T> extends LettucePagingProvider<T> {
     private final Logger LOGGER = LoggerFactory.getLogger(LettuceKeyPagingProvider.class);
-    private final BiFunction<LettuceRedisConnection, String, Mono<KeyScanCursor<T>>> cursorCommand;
+    private final PagePrefetcher<KeyScanCursor<T>> pages;
 
-    public LettuceKeyPagingProvider(BiFunction<LettuceRedisConnection, String, Mono<KeyScanCursor<T>>> cursorCommand) {
-        this.cursorCommand = cursorCommand;
+    public LettuceKeyPagingProvider(BiFunction<LettuceRedisConnection, ScanCursor, Mono<KeyScanCursor<T>>> cursorCommand) {
+        this(cursorCommand, 0);
+    }
+
+    /**
+     * @param prefetchPages number of pages fetched ahead of the page read
+     */
+    public LettuceKeyPagingProvider(BiFunction<LettuceRedisConnection, ScanCursor, Mono<KeyScanCursor<T>>> cursorCommand, int prefetchPages) {
+        this.pages = new PagePrefetcher<>(cursorCommand, prefetchPages);
     }
 
     @Override
@@ -25,15 +34,15 @@ public class LettuceKeyPagingProvider<T> extends LettucePagingProvider<T> {
             return new ArrayList<>();
         }
 
-        KeyScanCursor<T> keyScanCursor = this.cursorCommand.apply(connection, cursor).block();
-        cursor = keyScanCursor.getCursor();
-        LOGGER.trace("[{}] got page of {}", cursor, keyScanCursor.getKeys().size());
+        KeyScanCursor<T> keyScanCursor = pages.next(connection, cursor);
+        cursor = keyScanCursor;
+        LOGGER.trace("[{}] got page of {}", cursor.getCursor(), keyScanCursor.getKeys().size());
         // while loop here so that we can skip empty pages when cursor is nonzero
         while (keyScanCursor.getKeys().isEmpty() && !keyScanCursor.isFinished()) {
             LOGGER.trace("found empty page");
-            keyScanCursor = this.cursorCommand.apply(connection, cursor).block();
-            LOGGER.trace("[{}] got page of {}", cursor, keyScanCursor.getKeys().size());
-            cursor = keyScanCursor.getCursor();
+            keyScanCursor = pages.next(connection, cursor);
+            LOGGER.trace("[{}] got page of {}", cursor.getCursor(), keyScanCursor.getKeys().size());
+            cursor = keyScanCursor;
         }
         if (keyScanCursor.isFinished()) {
             this.finished = true;
@@ -41,4 +50,8 @@ public class LettuceKeyPagingProvider<T> extends LettucePagingProvider<T> {
         return keyScanCursor.getKeys();
     }
 
+    @Override
+    public void close(LettuceRedisConnection connection) throws MuleException {
+        pages.close();
+    }
 }
@@ -2,6 +2,8 @@ package cloud.anypoint.redis.api.paging;
 
 import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
 import io.lettuce.core.MapScanCursor;
+import io.lettuce.core.ScanCursor;
+import org.mule.runtime.api.exception.MuleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -14,10 +16,17 @@ import java.util.function.BiFunction;
 
 public class LettuceMapPagingProvider extends LettucePagingProvider<Map<String, String>> {
     private final Logger LOGGER = LoggerFactory.getLogger(LettuceMapPagingProvider.class);
-    private final BiFunction<LettuceRedisConnection, String, Mono<MapScanCursor<String, String>>> cursorCommand;
+    private final PagePrefetcher<MapScanCursor<String, String>> pages;
 
-    public LettuceMapPagingProvider(BiFunction<LettuceRedisConnection, String, Mono<MapScanCursor<String, String>>> cursorCommand) {
-        this.cursorCommand = cursorCommand;
+    public LettuceMapPagingProvider(BiFunction<LettuceRedisConnection, ScanCursor, Mono<MapScanCursor<String, String>>> cursorCommand) {
+        this(cursorCommand, 0);
+    }
+
+    /**
+     * @param prefetchPages number of pages fetched ahead of the page read
+     */
+    public LettuceMapPagingProvider(BiFunction<LettuceRedisConnection, ScanCursor, Mono<MapScanCursor<String, String>>> cursorCommand, int prefetchPages) {
+        this.pages = new PagePrefetcher<>(cursorCommand, prefetchPages);
     }
 
     @Override
@@ -27,19 +36,24 @@ public class LettuceMapPagingProvider extends LettucePagingProvider<Map<String,
             return new ArrayList<>();
         }
 
-        MapScanCursor<String, String> mapScanCursor = this.cursorCommand.apply(connection, cursor).block();
-        cursor = mapScanCursor.getCursor();
-        LOGGER.trace("[{}] got page of {}", cursor, mapScanCursor.getMap().size());
+        MapScanCursor<String, String> mapScanCursor = pages.next(connection, cursor);
+        cursor = mapScanCursor;
+        LOGGER.trace("[{}] got page of {}", cursor.getCursor(), mapScanCursor.getMap().size());
         // while loop here so that we can skip empty pages when cursor is nonzero
         while (mapScanCursor.getMap().isEmpty() && !mapScanCursor.isFinished()) {
             LOGGER.trace("found empty page");
-            mapScanCursor = this.cursorCommand.apply(connection, cursor).block();
-            LOGGER.trace("[{}] got page of {}", cursor, mapScanCursor.getMap().size());
-            cursor = mapScanCursor.getCursor();
+            mapScanCursor = pages.next(connection, cursor);
+            LOGGER.trace("[{}] got page of {}", cursor.getCursor(), mapScanCursor.getMap().size());
+            cursor = mapScanCursor;
         }
         if (mapScanCursor.isFinished()) {
             this.finished = true;
         }
         return Arrays.asList(mapScanCursor.getMap());
     }
+
+    @Override
+    public void close(LettuceRedisConnection connection) throws MuleException {
+        pages.close();
+    }
 }
@@ -1,8 +1,7 @@
 package cloud.anypoint.redis.api.paging;
 
 import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
-import io.lettuce.core.KeyScanCursor;
-import io.lettuce.core.ValueScanCursor;
+import io.lettuce.core.ScanCursor;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
 import org.slf4j.Logger;
@@ -15,7 +14,8 @@ import java.util.function.BiFunction;
 
 public abstract class LettucePagingProvider<T> implements PagingProvider<LettuceRedisConnection, T> {
 
-    protected String cursor = "0";
+    // keep the cursor returned by redis rather than its value, cluster scans track the current node in it
+    protected ScanCursor cursor = ScanCursor.INITIAL;
     protected boolean finished = false;
 
     @Override
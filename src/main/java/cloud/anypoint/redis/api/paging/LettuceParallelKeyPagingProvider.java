@@ -0,0 +1,97 @@
+package cloud.anypoint.redis.api.paging;
+
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.cluster.api.reactive.RedisClusterReactiveCommands;
+import org.mule.runtime.api.exception.MuleException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Scans the keys of every master node of a cluster concurrently, each node with a cursor of its own, and merges their
+ * pages into a single stream. At most {@code parallelism} nodes are scanned at once, and at most
+ * {@code bufferedPages} pages are held in memory ahead of the page read. On other connections, the single server is
+ * scanned.
+ */
+public class LettuceParallelKeyPagingProvider extends LettucePagingProvider<String> {
+    private final Logger LOGGER = LoggerFactory.getLogger(LettuceParallelKeyPagingProvider.class);
+    private final Function<LettuceRedisConnection, Flux<RedisClusterReactiveCommands<String, String>>> masters;
+    private final NodeScan nodeCommand;
+    private final int parallelism;
+    private final int bufferedPages;
+    private final Sinks.Empty<Void> closed = Sinks.empty();
+    private Iterator<List<String>> pages;
+
+    public LettuceParallelKeyPagingProvider(NodeScan nodeCommand,
+                                            int parallelism,
+                                            int bufferedPages) {
+        this(LettuceRedisConnection::masters, nodeCommand, parallelism, bufferedPages);
+    }
+
+    /**
+     * @param masters the master nodes of the server a connection is to
+     */
+    LettuceParallelKeyPagingProvider(Function<LettuceRedisConnection, Flux<RedisClusterReactiveCommands<String, String>>> masters,
+                                     NodeScan nodeCommand,
+                                     int parallelism,
+                                     int bufferedPages) {
+        this.masters = masters;
+        this.nodeCommand = nodeCommand;
+        this.parallelism = Math.max(1, parallelism);
+        this.bufferedPages = Math.max(1, bufferedPages);
+    }
+
+    @Override
+    public List<String> getPage(LettuceRedisConnection connection) {
+        if (finished) {
+            LOGGER.trace("cursor is finished");
+            return new ArrayList<>();
+        }
+        if (null == pages) {
+            pages = masters.apply(connection)
+                // pages of each node are requested one at a time, so that only the pages buffered are held
+                .flatMap(node -> scan(connection, node), parallelism, 1)
+                .takeUntilOther(closed.asMono())
+                .toIterable(bufferedPages)
+                .iterator();
+        }
+        // skips empty pages, as the sequential scan does
+        while (pages.hasNext()) {
+            List<String> page = pages.next();
+            LOGGER.trace("got page of {}", page.size());
+            if (!page.isEmpty()) {
+                return page;
+            }
+        }
+        finished = true;
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void close(LettuceRedisConnection lettuceRedisConnection) throws MuleException {
+        closed.tryEmitEmpty();
+    }
+
+    private Flux<List<String>> scan(LettuceRedisConnection connection, RedisClusterReactiveCommands<String, String> node) {
+        return nodeCommand.apply(connection, node, ScanCursor.INITIAL)
+            .expand(cursor -> cursor.isFinished() ? Mono.empty() : nodeCommand.apply(connection, node, cursor))
+            .map(KeyScanCursor::getKeys);
+    }
+
+    /**
+     * A SCAN of a single node, from a cursor of that node.
+     */
+    @FunctionalInterface
+    public interface NodeScan {
+        Mono<KeyScanCursor<String>> apply(LettuceRedisConnection connection, RedisClusterReactiveCommands<String, String> node, ScanCursor cursor);
+    }
+}
@@ -2,7 +2,9 @@ package cloud.anypoint.redis.api.paging;
 
 import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
 import io.lettuce.core.MapScanCursor;
+import io.lettuce.core.ScanCursor;
 import io.lettuce.core.ScoredValueScanCursor;
+import org.mule.runtime.api.exception.MuleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -13,10 +15,17 @@ import java.util.stream.Collectors;
 
 public class LettuceScoredValuePagingProvider  extends LettucePagingProvider<Map<String, Double>> {
     private final Logger LOGGER = LoggerFactory.getLogger(LettuceScoredValuePagingProvider.class);
-    private final BiFunction<LettuceRedisConnection, String, Mono<ScoredValueScanCursor<String>>> cursorCommand;
+    private final PagePrefetcher<ScoredValueScanCursor<String>> pages;
 
-    public LettuceScoredValuePagingProvider(BiFunction<LettuceRedisConnection, String, Mono<ScoredValueScanCursor<String>>> cursorCommand) {
-        this.cursorCommand = cursorCommand;
+    public LettuceScoredValuePagingProvider(BiFunction<LettuceRedisConnection, ScanCursor, Mono<ScoredValueScanCursor<String>>> cursorCommand) {
+        this(cursorCommand, 0);
+    }
+
+    /**
+     * @param prefetchPages number of pages fetched ahead of the page read
+     */
+    public LettuceScoredValuePagingProvider(BiFunction<LettuceRedisConnection, ScanCursor, Mono<ScoredValueScanCursor<String>>> cursorCommand, int prefetchPages) {
+        this.pages = new PagePrefetcher<>(cursorCommand, prefetchPages);
     }
 
     @Override
@@ -26,15 +35,15 @@ public class LettuceScoredValuePagingProvider  extends LettucePagingProvider<Map
             return new ArrayList<>();
         }
 
-        ScoredValueScanCursor<String> scanCursor = this.cursorCommand.apply(connection, cursor).block();
-        cursor = scanCursor.getCursor();
-        LOGGER.trace("[{}] got page of {}", cursor, scanCursor.getValues().size());
+        ScoredValueScanCursor<String> scanCursor = pages.next(connection, cursor);
+        cursor = scanCursor;
+        LOGGER.trace("[{}] got page of {}", cursor.getCursor(), scanCursor.getValues().size());
         // while loop here so that we can skip empty pages when cursor is nonzero
         while (scanCursor.getValues().isEmpty() && !scanCursor.isFinished()) {
             LOGGER.trace("found empty page");
-            scanCursor = this.cursorCommand.apply(connection, cursor).block();
-            LOGGER.trace("[{}] got page of {}", cursor, scanCursor.getValues().size());
-            cursor = scanCursor.getCursor();
+            scanCursor = pages.next(connection, cursor);
+            LOGGER.trace("[{}] got page of {}", cursor.getCursor(), scanCursor.getValues().size());
+            cursor = scanCursor;
         }
         if (scanCursor.isFinished()) {
             this.finished = true;
@@ -43,4 +52,9 @@ public class LettuceScoredValuePagingProvider  extends LettucePagingProvider<Map
             .map(scoredValue -> Collections.singletonMap(scoredValue.getValue(), scoredValue.getScore()))
             .collect(Collectors.toList());
     }
+
+    @Override
+    public void close(LettuceRedisConnection connection) throws MuleException {
+        pages.close();
+    }
 }
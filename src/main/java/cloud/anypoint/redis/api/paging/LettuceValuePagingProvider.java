@@ -1,6 +1,8 @@
 package cloud.anypoint.redis.api.paging;
 
 import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import io.lettuce.core.ScanCursor;
+import org.mule.runtime.api.exception.MuleException;
 import io.lettuce.core.ValueScanCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,10 +14,17 @@ import java.util.function.BiFunction;
 
 public class LettuceValuePagingProvider<T> extends LettucePagingProvider<T> {
     private final Logger LOGGER = LoggerFactory.getLogger(LettuceValuePagingProvider.class);
-    private final BiFunction<LettuceRedisConnection, String, Mono<ValueScanCursor<T>>> cursorCommand;
+    private final PagePrefetcher<ValueScanCursor<T>> pages;
 
-    public LettuceValuePagingProvider(BiFunction<LettuceRedisConnection, String, Mono<ValueScanCursor<T>>> cursorCommand) {
-        this.cursorCommand = cursorCommand;
+    public LettuceValuePagingProvider(BiFunction<LettuceRedisConnection, ScanCursor, Mono<ValueScanCursor<T>>> cursorCommand) {
+        this(cursorCommand, 0);
+    }
+
+    /**
+     * @param prefetchPages number of pages fetched ahead of the page read
+     */
+    public LettuceValuePagingProvider(BiFunction<LettuceRedisConnection, ScanCursor, Mono<ValueScanCursor<T>>> cursorCommand, int prefetchPages) {
+        this.pages = new PagePrefetcher<>(cursorCommand, prefetchPages);
     }
 
     @Override
@@ -25,19 +34,24 @@ public class LettuceValuePagingProvider<T> extends LettucePagingProvider<T> {
             return new ArrayList<>();
         }
 
-        ValueScanCursor<T> valueScanCursor = this.cursorCommand.apply(connection, cursor).block();
-        cursor = valueScanCursor.getCursor();
-        LOGGER.trace("[{}] got page of {}", cursor, valueScanCursor.getValues().size());
+        ValueScanCursor<T> valueScanCursor = pages.next(connection, cursor);
+        cursor = valueScanCursor;
+        LOGGER.trace("[{}] got page of {}", cursor.getCursor(), valueScanCursor.getValues().size());
         // while loop here so that we can skip empty pages when cursor is nonzero
         while (valueScanCursor.getValues().isEmpty() && !valueScanCursor.isFinished()) {
             LOGGER.trace("found empty page");
-            valueScanCursor = this.cursorCommand.apply(connection, cursor).block();
-            LOGGER.trace("[{}] got page of {}", cursor, valueScanCursor.getValues().size());
-            cursor = valueScanCursor.getCursor();
+            valueScanCursor = pages.next(connection, cursor);
+            LOGGER.trace("[{}] got page of {}", cursor.getCursor(), valueScanCursor.getValues().size());
+            cursor = valueScanCursor;
         }
         if (valueScanCursor.isFinished()) {
             this.finished = true;
         }
         return valueScanCursor.getValues();
     }
+
+    @Override
+    public void close(LettuceRedisConnection connection) throws MuleException {
+        pages.close();
+    }
 }
@@ -0,0 +1,62 @@
+package cloud.anypoint.redis.api.paging;
+
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import io.lettuce.core.ScanCursor;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.BiFunction;
+
+/**
+ * Fetches the pages of a scan ahead of the pages read, so that the next pages are received while the flow processes
+ * the current one. Each page is requested once the page before it is received, with the cursor it returned, and at
+ * most the prefetch depth of pages are held beyond the page read. Closing the prefetcher cancels the pages in flight.
+ */
+final class PagePrefetcher<C extends ScanCursor> {
+    private final BiFunction<LettuceRedisConnection, ScanCursor, Mono<C>> cursorCommand;
+    private final int depth;
+    private final Deque<Mono<C>> ahead = new ArrayDeque<>();
+    private final Sinks.Empty<Void> closed = Sinks.empty();
+
+    PagePrefetcher(BiFunction<LettuceRedisConnection, ScanCursor, Mono<C>> cursorCommand, int depth) {
+        this.cursorCommand = cursorCommand;
+        this.depth = Math.max(0, depth);
+    }
+
+    /**
+     * The page following the given cursor, which is the cursor of the last page returned.
+     */
+    C next(LettuceRedisConnection connection, ScanCursor cursor) {
+        if (depth == 0) {
+            return cursorCommand.apply(connection, cursor).block();
+        }
+        Mono<C> page = ahead.isEmpty() ? fetch(connection, cursor) : ahead.poll();
+        Mono<C> last = ahead.isEmpty() ? page : ahead.peekLast();
+        while (ahead.size() < depth) {
+            Mono<C> following = last
+                .flatMap(previous -> previous.isFinished() ? Mono.<C>empty() : fetch(connection, previous))
+                .cache();
+            // a failed page fails when it is read, not when it is fetched
+            following.subscribe(null, error -> {});
+            ahead.add(following);
+            last = following;
+        }
+        return page.block();
+    }
+
+    /**
+     * Cancels the pages fetched ahead, once no more pages are read.
+     */
+    void close() {
+        closed.tryEmitEmpty();
+        ahead.clear();
+    }
+
+    private Mono<C> fetch(LettuceRedisConnection connection, ScanCursor cursor) {
+        return cursorCommand.apply(connection, cursor)
+            .takeUntilOther(closed.asMono())
+            .cache();
+    }
+}
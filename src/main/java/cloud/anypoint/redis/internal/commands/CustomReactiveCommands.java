@@ -1,6 +1,7 @@
 package cloud.anypoint.redis.internal.commands;
 
 import cloud.anypoint.redis.api.CommandReturnType;
+import cloud.anypoint.redis.api.command.QueuedCommand;
 import io.lettuce.core.AbstractRedisReactiveCommands;
 import io.lettuce.core.api.StatefulConnection;
 import io.lettuce.core.codec.RedisCodec;
@@ -8,31 +9,66 @@ import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.output.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
 import io.lettuce.core.protocol.CommandArgs;
 import reactor.core.publisher.Mono;
 
 public class CustomReactiveCommands extends AbstractRedisReactiveCommands<String, String> {
+    private final StatefulConnection<String, String> connection;
+
     public CustomReactiveCommands(StatefulConnection<String, String> connection, RedisCodec<String, String> codec) {
         super(connection, codec);
+        this.connection = connection;
     }
 
     public Mono<Object> dynamic(String command, List<String> arguments, CommandReturnType returnType) {
+        // take the first item from the flux. Does not support streaming this way.
+        return Mono.from(dispatch(new RuntimeCommand(command), output(returnType), args(arguments)));
+    }
+
+    /**
+     * Writes the commands in a single network flush, with no other command of the connection in between, and returns
+     * their replies in order.
+     */
+    public List<CompletableFuture<Object>> pipeline(List<QueuedCommand> commands) {
+        List<AsyncCommand<String, String, Object>> pipeline = commands.stream()
+            .map(command -> new AsyncCommand<>(new Command<>(new RuntimeCommand(command.getCommand()),
+                output(command.getReturnType()),
+                args(command.getArguments()))))
+            .collect(Collectors.toList());
+        connection.dispatch(pipeline);
+        return pipeline.stream()
+            .<CompletableFuture<Object>>map(command -> command)
+            .collect(Collectors.toList());
+    }
+
+    private static CommandArgs<String, String> args(List<String> arguments) {
         CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8);
         args.addValues(arguments);
+        return args;
+    }
+
+    private static CommandOutput<String, String, Object> output(CommandReturnType returnType) {
         switch (returnType) {
             case STATUS:
-                return Mono.from(dispatch(new RuntimeCommand(command), new StatusOutput<>(StringCodec.UTF8), args));
+                return untyped(new StatusOutput<>(StringCodec.UTF8));
             case ARRAY:
-                return Mono.from(dispatch(new RuntimeCommand(command), new ArrayOutput<>(StringCodec.UTF8), args));
+                return untyped(new ArrayOutput<>(StringCodec.UTF8));
             case LONG:
-                return Mono.from(dispatch(new RuntimeCommand(command), new IntegerOutput<>(StringCodec.UTF8), args));
+                return untyped(new IntegerOutput<>(StringCodec.UTF8));
             case STRING:
-                return Mono.from(dispatch(new RuntimeCommand(command), new ValueOutput<>(StringCodec.UTF8), args));
+                return untyped(new ValueOutput<>(StringCodec.UTF8));
             default:
-                // take the first item from the flux. Does not support streaming this way.
-                return Mono.from(dispatch(new RuntimeCommand(command), new ObjectOutput<String, String>(StringCodec.UTF8), args));
+                return new ObjectOutput<>(StringCodec.UTF8);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static CommandOutput<String, String, Object> untyped(CommandOutput<String, String, ?> output) {
+        return (CommandOutput<String, String, Object>) output;
+    }
 }
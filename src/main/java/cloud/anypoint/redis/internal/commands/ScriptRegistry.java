@@ -0,0 +1,83 @@
+package cloud.anypoint.redis.internal.commands;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lua script bodies known to a config, by SHA1 digest, so that scripts can always be sent with EVALSHA and only need
+ * to be loaded again when the server replies NOSCRIPT, e.g. after a restart or a failover.
+ * <p>
+ * Preloaded scripts are kept for the lifetime of the config. Scripts run by EVAL are kept among the most recently run
+ * ones only, since flows may build scripts with values of their own, each of which would otherwise be kept forever.
+ */
+public final class ScriptRegistry {
+    private static final int DEFAULT_RECENT_SCRIPTS = 1000;
+
+    private final Map<String, String> preloaded = new ConcurrentHashMap<>();
+    private final Map<String, String> recent;
+
+    public ScriptRegistry() {
+        this(DEFAULT_RECENT_SCRIPTS);
+    }
+
+    public ScriptRegistry(int recentScripts) {
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > recentScripts;
+            }
+        });
+    }
+
+    /**
+     * Registers a script loaded on every new connection.
+     */
+    public String preload(String script) {
+        String digest = digest(script);
+        preloaded.putIfAbsent(digest, script);
+        return digest;
+    }
+
+    /**
+     * Registers a script run by EVAL, so that EVALSHA of its digest can load it again while it is among the most
+     * recently run scripts.
+     */
+    public String register(String script) {
+        String digest = digest(script);
+        if (!preloaded.containsKey(digest)) {
+            recent.put(digest, script);
+        }
+        return digest;
+    }
+
+    public String script(String digest) {
+        String script = preloaded.get(digest.toLowerCase());
+        return null != script ? script : recent.get(digest.toLowerCase());
+    }
+
+    /**
+     * The scripts loaded on every new connection.
+     */
+    public Collection<String> preloaded() {
+        return Collections.unmodifiableCollection(preloaded.values());
+    }
+
+    static String digest(String script) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package cloud.anypoint.redis.internal.connection;
+
+import cloud.anypoint.redis.api.connection.CompletionMode;
+import cloud.anypoint.redis.api.connection.StripingMode;
+import cloud.anypoint.redis.internal.commands.ScriptRegistry;
+import cloud.anypoint.redis.internal.metrics.CommandMetricsRegistry;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.support.AsyncConnectionPoolSupport;
+import io.lettuce.core.support.BoundedAsyncPool;
+import io.lettuce.core.support.BoundedPoolConfig;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.inject.Inject;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+/**
+ * Base for the providers of connections used by the command operations, which may stripe commands across several
+ * multiplexed connections. Commands that must not share a connection, such as blocking commands, take one from a
+ * bounded pool of dedicated connections instead.
+ */
+public abstract class BaseCommandConnectionProvider extends BaseLettuceConnectionProvider<LettuceRedisConnection> implements Disposable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BaseCommandConnectionProvider.class);
+
+    @Optional(defaultValue = "1")
+    @Parameter
+    @DisplayName("Connection Stripes")
+    @Summary("Number of multiplexed connections commands are spread across. Each connection is served by a single event loop thread.")
+    @Placement(tab = "Advanced", order = 5)
+    private int connectionStripes;
+    @Optional(defaultValue = "ROUND_ROBIN")
+    @Parameter
+    @DisplayName("Striping Mode")
+    @Summary("KEY_HASH sends every command for the same key through the same connection, preserving per key ordering.")
+    @Placement(tab = "Advanced", order = 6)
+    private StripingMode stripingMode;
+    @Optional(defaultValue = "8")
+    @Parameter
+    @DisplayName("Max Dedicated Connections")
+    @Summary("Maximum number of dedicated connections used by commands that wait on the server, such as BLPOP, BRPOP, BLMOVE and XREAD with BLOCK, so that they do not hold up the commands sharing the multiplexed connections. Transactions and Bulk Write share these connections.")
+    @Placement(tab = "Advanced", order = 7)
+    private int maxDedicatedConnections;
+    @Optional
+    @Parameter
+    @DisplayName("Preloaded Scripts")
+    @Summary("Lua scripts loaded on every new connection, so that EVAL operations running them send only their SHA1 digest.")
+    @Placement(tab = "Advanced", order = 8)
+    private List<String> preloadedScripts;
+    @Optional
+    @Parameter
+    @DisplayName("Function Libraries")
+    @Summary("Lua function libraries loaded, replacing libraries of the same name, on every new connection, to be called with FCALL.")
+    @Placement(tab = "Advanced", order = 9)
+    private List<String> functionLibraries;
+    @Optional(defaultValue = "false")
+    @Parameter
+    @DisplayName("Coalesce Reads")
+    @Summary("Concurrent GET, HGET, HGETALL and HMGET of the same key and fields share a single request and its reply.")
+    @Placement(tab = "Advanced", order = 13)
+    private boolean coalesceReads;
+    @Optional(defaultValue = "INLINE")
+    @Parameter
+    @DisplayName("Completion Mode")
+    @Summary("Where flows continue once a reply is received. INLINE, the default, continues on the event loop thread, which a slow flow holds up for every other command of the connection. MULE_SCHEDULER hands replies to the Mule CPU light scheduler, VIRTUAL_THREADS to a new virtual thread each, on Java 21 or later.")
+    @Placement(tab = "Advanced", order = 23)
+    private CompletionMode completionMode;
+    @Inject
+    private SchedulerService schedulerService;
+    @Optional(defaultValue = "false")
+    @Parameter
+    @DisplayName("Circuit Breaker")
+    @Summary("Fail commands immediately with LETTUCE:CIRCUIT_OPEN once too many recent commands failed or were slow, instead of sending them to a degraded server.")
+    @Placement(tab = "Circuit Breaker", order = 1)
+    private boolean circuitBreakerEnabled;
+    @Optional(defaultValue = "50")
+    @Parameter
+    @DisplayName("Failure Rate Threshold")
+    @Summary("Percentage of failed commands in the sliding window at which the breaker opens. Timeouts, connection errors and LOADING, BUSY, MASTERDOWN, CLUSTERDOWN or TRYAGAIN replies are failures, commands rejected by the connector are not.")
+    @Placement(tab = "Circuit Breaker", order = 2)
+    private int failureRateThreshold;
+    @Optional(defaultValue = "100")
+    @Parameter
+    @DisplayName("Slow Call Rate Threshold")
+    @Summary("Percentage of slow commands in the sliding window at which the breaker opens.")
+    @Placement(tab = "Circuit Breaker", order = 3)
+    private int slowCallRateThreshold;
+    @Optional(defaultValue = "1")
+    @Parameter
+    @DisplayName("Slow Call Duration")
+    @Summary("Duration beyond which a command is slow. Blocking commands are never slow.")
+    @Placement(tab = "Circuit Breaker", order = 4)
+    private int slowCallDuration;
+    @Optional(defaultValue = "SECONDS")
+    @Parameter
+    @DisplayName("Slow Call Duration Time Unit")
+    @Placement(tab = "Circuit Breaker", order = 5)
+    private TimeUnit slowCallDurationUnit;
+    @Optional(defaultValue = "100")
+    @Parameter
+    @DisplayName("Sliding Window Size")
+    @Summary("Number of the last commands whose outcome is considered.")
+    @Placement(tab = "Circuit Breaker", order = 6)
+    private int slidingWindowSize;
+    @Optional(defaultValue = "20")
+    @Parameter
+    @DisplayName("Minimum Number Of Calls")
+    @Summary("Number of commands the sliding window must hold before the failure and slow call rates are considered.")
+    @Placement(tab = "Circuit Breaker", order = 7)
+    private int minimumNumberOfCalls;
+    @Optional(defaultValue = "10")
+    @Parameter
+    @DisplayName("Wait Duration In Open State")
+    @Summary("How long commands are rejected once the breaker opens, before probe commands are let through.")
+    @Placement(tab = "Circuit Breaker", order = 8)
+    private int waitDurationInOpenState;
+    @Optional(defaultValue = "SECONDS")
+    @Parameter
+    @DisplayName("Wait Duration In Open State Time Unit")
+    @Placement(tab = "Circuit Breaker", order = 9)
+    private TimeUnit waitDurationInOpenStateUnit;
+    @Optional(defaultValue = "5")
+    @Parameter
+    @DisplayName("Half Open Calls")
+    @Summary("Number of probe commands sent once the open state wait is over, whose outcome closes the breaker or opens it again.")
+    @Placement(tab = "Circuit Breaker", order = 10)
+    private int halfOpenCalls;
+    @Optional(defaultValue = "1")
+    @Parameter
+    @DisplayName("Max Attempts")
+    @Summary("Number of times a retried command is sent before its error is returned. 1 disables retries.")
+    @Placement(tab = "Retry", order = 1)
+    private int retryMaxAttempts;
+    @Optional(defaultValue = "50")
+    @Parameter
+    @DisplayName("First Backoff")
+    @Summary("Wait before the first retry, doubled before each of the next retries.")
+    @Placement(tab = "Retry", order = 2)
+    private int retryFirstBackoff;
+    @Optional(defaultValue = "1000")
+    @Parameter
+    @DisplayName("Max Backoff")
+    @Placement(tab = "Retry", order = 3)
+    private int retryMaxBackoff;
+    @Optional(defaultValue = "MILLISECONDS")
+    @Parameter
+    @DisplayName("Backoff Time Unit")
+    @Placement(tab = "Retry", order = 4)
+    private TimeUnit retryBackoffUnit;
+    @Optional(defaultValue = "50")
+    @Parameter
+    @DisplayName("Jitter")
+    @Summary("Percentage of each backoff that is randomized, so that connections retrying together spread their retries.")
+    @Placement(tab = "Retry", order = 5)
+    private int retryJitter;
+    @Optional
+    @Parameter
+    @DisplayName("Retried Commands")
+    @Summary("Commands retried when they time out or their connection fails. Defaults to read only and idempotent commands, such as GET, HGET, SMEMBERS, XRANGE, and SET and EXPIRE without options. Conditional commands are listed with their options, such as SET NX or EXPIRE GT.")
+    @Placement(tab = "Retry", order = 6)
+    private List<String> retriedCommands;
+    private ScriptRegistry scriptRegistry;
+    private SingleFlight singleFlight;
+    private CircuitBreaker circuitBreaker;
+    private RetryPolicy retryPolicy;
+    private ExecutorService completionExecutor;
+    private reactor.core.scheduler.Scheduler completionScheduler;
+    private CommandMetricsRegistry metrics;
+    private BoundedAsyncPool<StatefulConnection<String, String>> dedicatedConnections;
+
+    protected abstract StatefulConnection<String, String> connectStripe();
+
+    protected abstract CompletionStage<? extends StatefulConnection<String, String>> connectDedicated();
+
+    /**
+     * A connection sending every page of a scan to the same node, for connections whose stripes may send consecutive
+     * pages to different nodes, or null to scan on the stripes.
+     */
+    protected StatefulConnection<String, String> connectScan() {
+        return null;
+    }
+
+    /**
+     * The near cache of connections whose stripes are tracked, if any.
+     */
+    protected NearCache nearCache() {
+        return null;
+    }
+
+    @Override
+    public void initialise() throws InitialisationException {
+        super.initialise();
+        this.scriptRegistry = new ScriptRegistry();
+        this.singleFlight = coalesceReads ? new SingleFlight() : null;
+        this.metrics = new CommandMetricsRegistry(configName);
+        this.circuitBreaker = circuitBreakerEnabled
+                ? new CircuitBreaker(configName,
+                        failureRateThreshold,
+                        slowCallRateThreshold,
+                        slowCallDurationUnit.toNanos(slowCallDuration),
+                        slidingWindowSize,
+                        minimumNumberOfCalls,
+                        waitDurationInOpenStateUnit.toNanos(waitDurationInOpenState),
+                        halfOpenCalls)
+                : null;
+        this.retryPolicy = retryMaxAttempts > 1
+                ? new RetryPolicy(retryMaxAttempts,
+                        Duration.ofNanos(retryBackoffUnit.toNanos(retryFirstBackoff)),
+                        Duration.ofNanos(retryBackoffUnit.toNanos(retryMaxBackoff)),
+                        retryJitter / 100.0,
+                        retriedCommands)
+                : null;
+        if (null != preloadedScripts) {
+            preloadedScripts.forEach(scriptRegistry::preload);
+        }
+        initialiseCompletion();
+        this.dedicatedConnections = AsyncConnectionPoolSupport.createBoundedObjectPool(this::dedicatedConnection,
+                BoundedPoolConfig.builder()
+                        .maxTotal(maxDedicatedConnections)
+                        .maxIdle(maxDedicatedConnections)
+                        .minIdle(0)
+                        .build(),
+                false);
+    }
+
+    private void initialiseCompletion() throws InitialisationException {
+        switch (completionMode) {
+            case MULE_SCHEDULER:
+                this.completionExecutor = schedulerService.cpuLightScheduler(SchedulerConfig.config()
+                        .withName(configName + "-completion"));
+                break;
+            case VIRTUAL_THREADS:
+                try {
+                    // looked up so that the connector still runs on Java 8 to 17
+                    this.completionExecutor = (ExecutorService) Executors.class
+                            .getMethod("newVirtualThreadPerTaskExecutor")
+                            .invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new InitialisationException(createStaticMessage("Completion Mode VIRTUAL_THREADS requires Java 21 or later"), e, this);
+                }
+                break;
+            default:
+                return;
+        }
+        // the executor is shut down on its own when the provider is disposed
+        this.completionScheduler = Schedulers.fromExecutor(completionExecutor);
+    }
+
+    @Override
+    public void dispose() {
+        this.dedicatedConnections.close();
+        if (completionExecutor instanceof Scheduler) {
+            ((Scheduler) completionExecutor).stop();
+        } else if (null != completionExecutor) {
+            completionExecutor.shutdown();
+        }
+        this.metrics.dispose();
+        super.dispose();
+    }
+
+    @Override
+    public LettuceRedisConnection connect() throws ConnectionException {
+        List<StatefulConnection<String, String>> stripes = new ArrayList<>();
+        StatefulConnection<String, String> scanConnection;
+        try {
+            for (int i = 0; i < Math.max(1, connectionStripes); i++) {
+                stripes.add(connectStripe());
+            }
+            scanConnection = connectScan();
+        } catch (RuntimeException e) {
+            stripes.forEach(StatefulConnection::close);
+            throw e;
+        }
+        // probe pings are recorded apart from PING operations, as the latency of the connection itself
+        HealthProbe health = healthProbe(stripes.stream()
+                .<Supplier<Mono<String>>>map(stripe -> () -> metrics.countErrors("HEALTH PROBE", metrics.record("HEALTH PROBE", LettuceRedisConnection.reactive(stripe).ping())))
+                .collect(Collectors.toList()));
+        LettuceRedisConnection connection = new LettuceRedisConnection(stripes, stripingMode, scanConnection, dedicatedConnections, scriptRegistry, nearCache(), singleFlight, metrics, health, circuitBreaker, retryPolicy, completionScheduler);
+        loadScripts(connection);
+        loadFunctions(connection);
+        return connection;
+    }
+
+    @Override
+    public void disconnect(LettuceRedisConnection connection) {
+        connection.invalidate();
+    }
+
+    @Override
+    public ConnectionValidationResult validate(LettuceRedisConnection connection) {
+        return connection.validate();
+    }
+
+    private void loadScripts(LettuceRedisConnection connection) {
+        // a script failing to load is reported again by the first EVAL running it, which loads it on NOSCRIPT
+        Flux.fromIterable(scriptRegistry.preloaded())
+            .flatMap(script -> connection.commands().scriptLoad(script)
+                .onErrorResume(t -> {
+                    LOGGER.warn("Could not load script {}", script, t);
+                    return Mono.empty();
+                }))
+            .then()
+            .block();
+    }
+
+    private void loadFunctions(LettuceRedisConnection connection) {
+        if (null == functionLibraries) {
+            return;
+        }
+        Flux.fromIterable(functionLibraries)
+            .concatMap(library -> connection.commands().functionLoad(library, true)
+                .onErrorResume(t -> {
+                    LOGGER.warn("Could not load function library {}", library, t);
+                    return Mono.empty();
+                }))
+            .then()
+            .block();
+    }
+
+    private CompletionStage<StatefulConnection<String, String>> dedicatedConnection() {
+        return connectDedicated().thenApply(connection -> connection);
+    }
+}
@@ -1,24 +1,40 @@
 package cloud.anypoint.redis.internal.connection;
 
+import cloud.anypoint.redis.api.connection.DisconnectedBehavior;
+import cloud.anypoint.redis.internal.jfr.ConnectionEventListener;
+import io.lettuce.core.AbstractRedisClient;
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.resource.ClientResources;
 import org.mule.runtime.api.connection.CachedConnectionProvider;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.RefName;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 
 public abstract class BaseLettuceConnectionProvider<T> implements CachedConnectionProvider<T>, Initialisable {
+    protected ClientResources clientResources;
+    private ClientResources sharedResources;
     protected RedisClient redisClient;
+    @RefName
+    protected String configName;
     @Parameter
     private String host;
     @Parameter
@@ -37,32 +53,154 @@ public abstract class BaseLettuceConnectionProvider<T> implements CachedConnecti
     @DisplayName("Command Timeout Time Unit")
     @Placement(tab = "Advanced", order = 2)
     private TimeUnit commandTimeoutUnit;
+    @Optional
+    @Parameter
+    @DisplayName("I/O Thread Pool Size")
+    @Summary("Number of netty I/O threads. Configs using the same thread pool sizes share their threads. Defaults to the number of available processors.")
+    @Placement(tab = "Advanced", order = 3)
+    private Integer ioThreadPoolSize;
+    @Optional
+    @Parameter
+    @DisplayName("Computation Thread Pool Size")
+    @Summary("Number of threads used for computation tasks such as reconnects and timeouts. Configs using the same thread pool sizes share their threads. Defaults to the number of available processors.")
+    @Placement(tab = "Advanced", order = 4)
+    private Integer computationThreadPoolSize;
+    @Optional(defaultValue = "10")
+    @Parameter
+    @DisplayName("Health Check Interval")
+    @Summary("Interval of the background pings whose outcome is returned when a connection is validated, so that validation never waits on a round trip. With 0, validating a connection starts a ping whose outcome is returned by the next validation.")
+    @Placement(tab = "Advanced", order = 14)
+    private int healthCheckInterval;
+    @Optional(defaultValue = "SECONDS")
+    @Parameter
+    @DisplayName("Health Check Interval Time Unit")
+    @Placement(tab = "Advanced", order = 15)
+    private TimeUnit healthCheckIntervalUnit;
+    @Optional(defaultValue = "ACCEPT_COMMANDS")
+    @Parameter
+    @DisplayName("Disconnected Behavior")
+    @Summary("REJECT_COMMANDS fails commands with LETTUCE:REJECTED while disconnected, instead of queueing them until the connection is restored.")
+    @Placement(tab = "Advanced", order = 16)
+    private DisconnectedBehavior disconnectedBehavior;
+    @Optional
+    @Parameter
+    @DisplayName("Request Queue Size")
+    @Summary("Maximum number of commands queued on a connection, including those waiting for a reconnect. Commands beyond it fail with LETTUCE:REJECTED. Unbounded by default.")
+    @Placement(tab = "Advanced", order = 17)
+    private Integer requestQueueSize;
+    @Optional
+    @Parameter
+    @DisplayName("Command Timeouts")
+    @Summary("Timeouts of specific commands, such as XREADGROUP or SCAN, in the Command Timeout Time Unit, overriding the Command Timeout.")
+    @Placement(tab = "Advanced", order = 18)
+    private Map<String, Integer> commandTimeouts;
+    @Optional(defaultValue = "false")
+    @Parameter
+    @DisplayName("Adaptive Timeouts")
+    @Summary("Time out commands without a timeout of their own at a multiple of their observed latency percentile, within the Command Timeout, so that they fail fast once the server slows down.")
+    @Placement(tab = "Advanced", order = 19)
+    private boolean adaptiveTimeouts;
+    @Optional(defaultValue = "99.9")
+    @Parameter
+    @DisplayName("Adaptive Timeout Percentile")
+    @Summary("Latency percentile of each command type that adaptive timeouts are a multiple of.")
+    @Placement(tab = "Advanced", order = 20)
+    private double adaptiveTimeoutPercentile;
+    @Optional(defaultValue = "3")
+    @Parameter
+    @DisplayName("Adaptive Timeout Multiplier")
+    @Summary("Multiple of the latency percentile that commands time out at.")
+    @Placement(tab = "Advanced", order = 21)
+    private double adaptiveTimeoutMultiplier;
+    @Optional(defaultValue = "10")
+    @Parameter
+    @DisplayName("Minimum Adaptive Timeout")
+    @Summary("Lowest adaptive timeout, in the Command Timeout Time Unit.")
+    @Placement(tab = "Advanced", order = 22)
+    private int adaptiveTimeoutMinimum;
+    private CommandLatencies latencies;
 
     @Override
     public void initialise() throws InitialisationException {
         try {
-            // workaround for an issue similar to this: https://github.com/redis/lettuce/issues/1767
-            System.setProperty("io.lettuce.core.jfr", "false");
-            RedisURI uri = RedisURI.Builder
-                    .redis(host, port)
+            RedisURI uri = uriBuilder(host, port)
                     .withSsl(tls)
                     .withPassword(password) // TODO: CredentialsProvider to allow expressions
                     .build();
 
-            this.redisClient = RedisClient.create(uri);
-            if (null != commandTimeout) {
-                this.redisClient.setOptions(ClientOptions.builder()
-                        .timeoutOptions(TimeoutOptions.builder()
-                                .fixedTimeout(Duration.ofMillis(commandTimeoutUnit.toMillis(commandTimeout)))
-                                .build())
-                        .build());
+            this.sharedResources = SharedClientResources.acquire(ioThreadPoolSize, computationThreadPoolSize);
+            this.clientResources = sharedResources;
+            if (adaptiveTimeouts) {
+                // the latencies of this client only, on the threads shared with other configs
+                this.latencies = new CommandLatencies();
+                this.clientResources = SharedClientResources.recordingLatencies(sharedResources, latencies);
             }
+            initialiseClient(uri);
+            client().addListener(new ConnectionEventListener(configName));
         } catch (IllegalStateException e) {
             throw new InitialisationException(createStaticMessage(e.getLocalizedMessage()), e, this);
         }
     }
 
-    public void dispose() {
+    protected RedisURI.Builder uriBuilder(String host, int port) {
+        return RedisURI.Builder.redis(host, port);
+    }
+
+    protected void initialiseClient(RedisURI uri) {
+        this.redisClient = RedisClient.create(clientResources, uri);
+        this.redisClient.setOptions(clientOptions(ClientOptions.builder()).build());
+    }
+
+    protected AbstractRedisClient client() {
+        return redisClient;
+    }
+
+    protected <B extends ClientOptions.Builder> B clientOptions(B builder) {
+        builder.disconnectedBehavior(disconnectedBehavior.getLettuceDisconnectedBehavior());
+        if (null != requestQueueSize) {
+            builder.requestQueueSize(requestQueueSize);
+        }
+        TimeUnit timeoutUnit = null == commandTimeoutUnit ? TimeUnit.MILLISECONDS : commandTimeoutUnit;
+        if (null != commandTimeouts || adaptiveTimeouts) {
+            long defaultNanos = null == commandTimeout
+                    ? RedisURI.DEFAULT_TIMEOUT_DURATION.toNanos()
+                    : timeoutUnit.toNanos(commandTimeout);
+            Map<String, Long> overrideNanos = new HashMap<>();
+            if (null != commandTimeouts) {
+                commandTimeouts.forEach((command, timeout) -> overrideNanos.put(command, timeoutUnit.toNanos(timeout)));
+            }
+            builder.timeoutOptions(TimeoutOptions.builder()
+                    .timeoutSource(new CommandTimeouts(defaultNanos,
+                            overrideNanos,
+                            latencies,
+                            adaptiveTimeoutPercentile,
+                            adaptiveTimeoutMultiplier,
+                            timeoutUnit.toNanos(adaptiveTimeoutMinimum)))
+                    .build());
+        } else if (null != commandTimeout) {
+            builder.timeoutOptions(TimeoutOptions.builder()
+                    .fixedTimeout(Duration.ofMillis(timeoutUnit.toMillis(commandTimeout)))
+                    .build());
+        }
+        return builder;
+    }
+
+    /**
+     * Starts probing the health of a new connection with the given pings, one for each of its underlying connections.
+     */
+    protected HealthProbe healthProbe(List<Supplier<Mono<String>>> pings) {
+        HealthProbe probe = new HealthProbe(pings, clientResources.eventExecutorGroup(),
+                Duration.ofMillis(healthCheckIntervalUnit.toMillis(healthCheckInterval)));
+        probe.start();
+        return probe;
+    }
+
+    protected void shutdownClient() {
         this.redisClient.shutdown();
     }
+
+    public void dispose() {
+        shutdownClient();
+        SharedClientResources.release(sharedResources);
+    }
 }
@@ -0,0 +1,195 @@
+package cloud.anypoint.redis.internal.connection;
+
+import cloud.anypoint.redis.internal.exception.CircuitOpenException;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stops sending commands of a config once too many of its recent commands failed or were slow, so that flows fail
+ * immediately instead of each waiting on the command timeout while the server is degraded.
+ * <p>
+ * While closed, the outcomes of the last commands are kept in a sliding window; once it holds the minimum number of
+ * commands and the rate of failed or slow commands reaches its threshold, the breaker opens. While open, commands are
+ * rejected without being sent. Once the open duration has elapsed, the breaker is half open: a number of probe commands
+ * are sent, and the breaker closes or opens again depending on their outcome.
+ * <p>
+ * Only timeouts, connection errors and replies telling the server is overloaded or not ready count as failures; other
+ * errors, such as WRONGTYPE replies, aborted transactions or commands rejected by the connector, do not. Blocking
+ * commands wait on the server by design, and operations taking long by design, such as bulk writes, are protected as
+ * long running, so they are never slow calls.
+ */
+public final class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+    private static final String[] UNAVAILABLE_REPLIES = {"LOADING", "BUSY", "MASTERDOWN", "CLUSTERDOWN", "TRYAGAIN"};
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String configName;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final boolean[] failed;
+    private final boolean[] slow;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int permits;
+
+    CircuitBreaker(String configName,
+                   double failureRateThreshold,
+                   double slowCallRateThreshold,
+                   long slowCallNanos,
+                   int windowSize,
+                   int minimumCalls,
+                   long openNanos,
+                   int halfOpenCalls) {
+        this.configName = configName;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+        this.openNanos = openNanos;
+        this.halfOpenCalls = Math.max(1, Math.min(halfOpenCalls, windowSize));
+        this.failed = new boolean[Math.max(1, windowSize)];
+        this.slow = new boolean[Math.max(1, windowSize)];
+    }
+
+    /**
+     * Sends the command unless the breaker is open, and records its outcome once it completes.
+     */
+    public <T> Mono<T> protect(String commandText, Mono<T> command) {
+        return protect(commandText, command, false);
+    }
+
+    /**
+     * Like {@link #protect(String, Mono)}, never counting the command as a slow call when it takes long by design.
+     */
+    public <T> Mono<T> protect(String commandText, Mono<T> command, boolean longRunning) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                return Mono.error(new CircuitOpenException(configName, commandText));
+            }
+            long start = System.nanoTime();
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            return command
+                .doOnError(error::set)
+                .doFinally(signal -> {
+                    if (SignalType.CANCEL == signal) {
+                        release();
+                    } else {
+                        record(isFailure(error.get()),
+                            !longRunning && !LettuceRedisConnection.isBlocking(commandText) && System.nanoTime() - start > slowCallNanos);
+                    }
+                });
+        });
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (State.CLOSED == state) {
+            return true;
+        }
+        if (State.OPEN == state) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (permits == 0) {
+            return false;
+        }
+        permits--;
+        return true;
+    }
+
+    private synchronized void release() {
+        if (State.HALF_OPEN == state) {
+            permits++;
+        }
+    }
+
+    private synchronized void record(boolean failure, boolean slowCall) {
+        if (State.OPEN == state) {
+            // sent before the breaker opened
+            return;
+        }
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        failures += failure ? 1 : 0;
+        slowCalls += slowCall ? 1 : 0;
+        next = (next + 1) % failed.length;
+
+        if (State.HALF_OPEN == state) {
+            if (recorded >= halfOpenCalls) {
+                transition(exceedsThresholds() ? State.OPEN : State.CLOSED);
+            }
+        } else if (recorded >= minimumCalls && exceedsThresholds()) {
+            transition(State.OPEN);
+        }
+    }
+
+    private boolean exceedsThresholds() {
+        return failures * 100.0 >= failureRateThreshold * recorded
+            || slowCalls * 100.0 >= slowCallRateThreshold * recorded;
+    }
+
+    private void transition(State to) {
+        if (State.OPEN == to) {
+            LOGGER.warn("Circuit breaker of config '{}' opened, {} of the last {} commands failed and {} were slow, rejecting commands for {}ms",
+                configName, failures, recorded, slowCalls, TimeUnit.NANOSECONDS.toMillis(openNanos));
+            openedAt = System.nanoTime();
+        } else if (State.CLOSED == to) {
+            LOGGER.info("Circuit breaker of config '{}' closed", configName);
+        } else {
+            LOGGER.debug("Circuit breaker of config '{}' half open, probing with {} commands", configName, halfOpenCalls);
+            permits = halfOpenCalls;
+        }
+        state = to;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        Arrays.fill(failed, false);
+        Arrays.fill(slow, false);
+    }
+
+    private static boolean isFailure(Throwable t) {
+        if (null == t) {
+            return false;
+        }
+        if (t instanceof RedisCommandTimeoutException || ConnectionErrors.isConnectionError(t)) {
+            return true;
+        }
+        if (t instanceof RedisCommandExecutionException) {
+            String message = String.valueOf(t.getMessage());
+            for (String reply : UNAVAILABLE_REPLIES) {
+                if (message.startsWith(reply)) {
+                    return true;
+                }
+            }
+        }
+        // other errors, such as an aborted transaction or a command rejected by a full request queue, tell nothing of
+        // the server
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package cloud.anypoint.redis.internal.connection;
+
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the commands sent by a client, per command type, from when lettuce writes a command to when its reply is
+ * received, so that retries, circuit breaking and commands queued in the connector are left out. Latencies are read
+ * by interval: each read returns the latencies recorded since the previous read of the command type.
+ */
+final class CommandLatencies implements CommandLatencyRecorder {
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordCommandLatency(SocketAddress local,
+                                     SocketAddress remote,
+                                     ProtocolKeyword commandType,
+                                     long firstResponseLatency,
+                                     long completionLatency) {
+        // commands sent by name may have any name, and are not measured
+        if (!(commandType instanceof CommandType)) {
+            return;
+        }
+        long micros = Math.min(HIGHEST_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(completionLatency)));
+        recorders.computeIfAbsent(commandType.name(), type -> new Recorder(HIGHEST_MICROS, 2)).recordValue(micros);
+    }
+
+    /**
+     * The latencies of a command type, in microseconds, recorded since they were last read, or null if the command
+     * type was never sent.
+     */
+    Histogram interval(String commandType) {
+        Recorder recorder = recorders.get(commandType);
+        return null == recorder ? null : recorder.getIntervalHistogram();
+    }
+}
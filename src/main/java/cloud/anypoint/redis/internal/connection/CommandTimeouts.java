@@ -0,0 +1,113 @@
+package cloud.anypoint.redis.internal.connection;
+
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.RedisCommand;
+import org.HdrHistogram.Histogram;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timeout of each command sent by lettuce: the timeout configured for its command type if any, else, in adaptive
+ * mode, a multiple of the latency percentile observed for the command type, bounded by a floor and by the default
+ * timeout.
+ * <p>
+ * Adaptive timeouts are derived at most once a second, so that reading latencies does not add to the cost of every
+ * command, and each time from the latencies recorded since they were last derived, once there are enough of them, so
+ * that they follow the server as it slows down or recovers. Blocking commands wait on the server by design and keep
+ * the default timeout.
+ */
+final class CommandTimeouts extends TimeoutOptions.TimeoutSource {
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_SAMPLES = 100;
+
+    private final long defaultNanos;
+    private final Map<String, Long> overrides;
+    private final CommandLatencies latencies;
+    private final double percentile;
+    private final double multiplier;
+    private final long floorNanos;
+    private final Map<String, AdaptiveTimeout> adaptive = new ConcurrentHashMap<>();
+
+    /**
+     * @param latencies the latency of commands, or null for timeouts that are not adaptive
+     */
+    CommandTimeouts(long defaultNanos,
+                    Map<String, Long> overrideNanos,
+                    CommandLatencies latencies,
+                    double percentile,
+                    double multiplier,
+                    long floorNanos) {
+        this.defaultNanos = defaultNanos;
+        this.overrides = new HashMap<>();
+        if (null != overrideNanos) {
+            overrideNanos.forEach((command, timeout) -> overrides.put(command.toUpperCase(), timeout));
+        }
+        this.latencies = latencies;
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.floorNanos = Math.min(floorNanos, defaultNanos);
+    }
+
+    @Override
+    public long getTimeout(RedisCommand<?, ?, ?> command) {
+        String type = command.getType().name();
+        Long override = overrides.get(type);
+        if (null != override) {
+            return override;
+        }
+        if (null == latencies || LettuceRedisConnection.isBlocking(type)) {
+            return defaultNanos;
+        }
+        return adaptive.computeIfAbsent(type, AdaptiveTimeout::new).get();
+    }
+
+    @Override
+    public TimeUnit getTimeUnit() {
+        return TimeUnit.NANOSECONDS;
+    }
+
+    private final class AdaptiveTimeout {
+        private final String command;
+        private volatile long timeoutNanos;
+        private volatile long derivedAt;
+        // latencies recorded since the timeout was last derived
+        private Histogram window;
+
+        private AdaptiveTimeout(String command) {
+            this.command = command;
+            this.timeoutNanos = defaultNanos;
+            this.derivedAt = System.nanoTime();
+        }
+
+        private long get() {
+            long now = System.nanoTime();
+            if (now - derivedAt > REFRESH_NANOS) {
+                derive(now);
+            }
+            return timeoutNanos;
+        }
+
+        private synchronized void derive(long now) {
+            if (now - derivedAt <= REFRESH_NANOS) {
+                return;
+            }
+            Histogram interval = latencies.interval(command);
+            if (null != interval) {
+                if (null == window) {
+                    window = interval;
+                } else {
+                    window.add(interval);
+                }
+            }
+            if (null != window && window.getTotalCount() >= MIN_SAMPLES) {
+                long observed = (long) (window.getValueAtPercentile(percentile) * multiplier * TimeUnit.MICROSECONDS.toNanos(1));
+                timeoutNanos = Math.max(floorNanos, Math.min(defaultNanos, observed));
+                window = null;
+            }
+            derivedAt = now;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package cloud.anypoint.redis.internal.connection;
+
+import io.lettuce.core.RedisConnectionException;
+
+import java.io.IOException;
+
+/**
+ * Tells errors of commands whose connection failed, whether it could not be established or was lost while they were
+ * in flight, from other errors, by their type only. Commands in flight when their connection is lost are failed by
+ * lettuce with a plain exception, which operations map to a {@link RedisConnectionException}.
+ */
+final class ConnectionErrors {
+
+    private ConnectionErrors() {
+    }
+
+    static boolean isConnectionError(Throwable t) {
+        return t instanceof RedisConnectionException || t instanceof IOException || t.getCause() instanceof IOException;
+    }
+}
@@ -0,0 +1,100 @@
+package cloud.anypoint.redis.internal.connection;
+
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Keepalive of the connections behind a connector connection: they are pinged in the background, and validation
+ * returns the outcome of the last ping instead of waiting on a round trip. A validation finding the outcome older
+ * than the probe interval starts a new ping, whose outcome is seen by the next validation.
+ */
+final class HealthProbe {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HealthProbe.class);
+
+    private final List<Supplier<Mono<String>>> pings;
+    private final ScheduledExecutorService executor;
+    private final Duration interval;
+    private final AtomicBoolean probing = new AtomicBoolean();
+    // a new connection just completed its handshake, so it starts out healthy
+    private volatile Health health = new Health(null, System.nanoTime());
+    private ScheduledFuture<?> keepalive;
+
+    HealthProbe(List<Supplier<Mono<String>>> pings, ScheduledExecutorService executor, Duration interval) {
+        this.pings = pings;
+        this.executor = executor;
+        this.interval = interval;
+    }
+
+    synchronized void start() {
+        if (!interval.isZero() && !interval.isNegative()) {
+            keepalive = executor.scheduleWithFixedDelay(this::probe, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    synchronized void stop() {
+        if (null != keepalive) {
+            keepalive.cancel(false);
+        }
+    }
+
+    ConnectionValidationResult validate() {
+        Health current = health;
+        if (System.nanoTime() - current.checkedAt > interval.toNanos()) {
+            probe();
+        }
+        if (null == current.failure) {
+            return ConnectionValidationResult.success();
+        }
+        return ConnectionValidationResult.failure(current.failure.getMessage(), new Exception(current.failure));
+    }
+
+    private void probe() {
+        if (!probing.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        Mono<Void> ping = Flux.fromIterable(pings).flatMap(Supplier::get).then();
+        if (!interval.isZero() && !interval.isNegative()) {
+            // a ping that is not answered within an interval fails, rather than holding up the next probes
+            ping = ping.timeout(interval);
+        }
+        ping.subscribe(
+            null,
+            error -> record(error, start),
+            () -> record(null, start));
+    }
+
+    private void record(Throwable failure, long start) {
+        long now = System.nanoTime();
+        Health previous = health;
+        health = new Health(failure, now);
+        probing.set(false);
+        if (null != failure && null == previous.failure) {
+            LOGGER.warn("Connection health probe failed", failure);
+        } else if (null == failure && null != previous.failure) {
+            LOGGER.info("Connection health probe succeeded again");
+        }
+        LOGGER.debug("Connection health probe took {}us", TimeUnit.NANOSECONDS.toMicros(now - start));
+    }
+
+    private static final class Health {
+        private final Throwable failure;
+        private final long checkedAt;
+
+        private Health(Throwable failure, long checkedAt) {
+            this.failure = failure;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package cloud.anypoint.redis.internal.connection;
+
+import cloud.anypoint.redis.api.connection.ReadFromPolicy;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.codec.StringCodec;
+import org.mule.runtime.extension.api.annotation.Alias;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connects to a redis cluster through one of its nodes. Keyed commands are routed to the node owning the key's slot,
+ * and the cluster topology is refreshed periodically and whenever redirects or reconnects indicate it has changed.
+ */
+@Alias("cluster")
+public class LettuceRedisClusterConnectionProvider extends BaseCommandConnectionProvider {
+    private RedisClusterClient redisClusterClient;
+
+    @Optional(defaultValue = "60")
+    @Parameter
+    @DisplayName("Topology Refresh Period")
+    @Summary("How often the cluster topology is refreshed. Set to 0 to disable periodic refresh.")
+    @Placement(tab = "Advanced", order = 10)
+    private int topologyRefreshPeriod;
+    @Optional(defaultValue = "SECONDS")
+    @Parameter
+    @DisplayName("Topology Refresh Period Time Unit")
+    @Placement(tab = "Advanced", order = 11)
+    private TimeUnit topologyRefreshPeriodUnit;
+    @Optional(defaultValue = "true")
+    @Parameter
+    @DisplayName("Adaptive Topology Refresh")
+    @Summary("Refresh the cluster topology as soon as MOVED or ASK redirects, persistent reconnects or unknown nodes are observed.")
+    @Placement(tab = "Advanced", order = 12)
+    private boolean adaptiveTopologyRefresh;
+    @Optional(defaultValue = "MASTER")
+    @Parameter
+    @DisplayName("Read From")
+    @Summary("Nodes of the owning shard receiving read only commands such as GET, HGETALL, SMEMBERS, XRANGE, GEOSEARCH and SCAN.")
+    private ReadFromPolicy readFrom;
+
+    @Override
+    protected void initialiseClient(RedisURI uri) {
+        ClusterTopologyRefreshOptions.Builder topologyRefresh = ClusterTopologyRefreshOptions.builder();
+        if (topologyRefreshPeriod > 0) {
+            topologyRefresh.enablePeriodicRefresh(Duration.ofMillis(topologyRefreshPeriodUnit.toMillis(topologyRefreshPeriod)));
+        }
+        if (adaptiveTopologyRefresh) {
+            topologyRefresh.enableAllAdaptiveRefreshTriggers();
+        }
+        this.redisClusterClient = RedisClusterClient.create(clientResources, uri);
+        this.redisClusterClient.setOptions(clientOptions(ClusterClientOptions.builder())
+                .topologyRefreshOptions(topologyRefresh.build())
+                .build());
+    }
+
+    @Override
+    protected AbstractRedisClient client() {
+        return redisClusterClient;
+    }
+
+    @Override
+    protected void shutdownClient() {
+        this.redisClusterClient.shutdown();
+    }
+
+    @Override
+    protected StatefulConnection<String, String> connectStripe() {
+        StatefulRedisClusterConnection<String, String> connection = redisClusterClient.connect();
+        connection.setReadFrom(readFrom.getLettuceReadFrom());
+        return connection;
+    }
+
+    @Override
+    protected CompletionStage<? extends StatefulConnection<String, String>> connectDedicated() {
+        return redisClusterClient.connectAsync(StringCodec.UTF8)
+                .thenApply(connection -> {
+                    connection.setReadFrom(readFrom.getLettuceReadFrom());
+                    return connection;
+                });
+    }
+}
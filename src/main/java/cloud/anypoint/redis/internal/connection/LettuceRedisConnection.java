@@ -1,30 +1,237 @@
 package cloud.anypoint.redis.internal.connection;
 
 
+import cloud.anypoint.redis.api.connection.StripingMode;
 import cloud.anypoint.redis.internal.commands.CustomReactiveCommands;
-import io.lettuce.core.ClientOptions;
-import io.lettuce.core.RedisClient;
-import io.lettuce.core.ZAddArgs;
+import cloud.anypoint.redis.internal.commands.ScriptRegistry;
+import cloud.anypoint.redis.internal.exception.RejectedException;
+import cloud.anypoint.redis.internal.metrics.CommandMetricsRegistry;
+import io.lettuce.core.api.StatefulConnection;
 import io.lettuce.core.api.StatefulRedisConnection;
-import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.reactive.RedisClusterReactiveCommands;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
 import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.support.AsyncPool;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public final class LettuceRedisConnection {
-  private final StatefulRedisConnection<String, String> connection;
+  private static final Set<String> BLOCKING_COMMANDS = new HashSet<>(Arrays.asList("BLPOP", "BRPOP", "BLMOVE", "XREAD", "XREADGROUP"));
+
+  private final List<StatefulConnection<String, String>> stripes;
+  private final List<RedisClusterReactiveCommands<String, String>> commands;
+  private final StripingMode stripingMode;
+  private final StatefulConnection<String, String> scanConnection;
+  private final RedisClusterReactiveCommands<String, String> scanCommands;
+  private final AsyncPool<StatefulConnection<String, String>> dedicatedConnections;
+  private final ScriptRegistry scripts;
+  private final NearCache nearCache;
+  private final SingleFlight singleFlight;
+  private final CommandMetricsRegistry metrics;
+  private final HealthProbe health;
+  private final CircuitBreaker circuitBreaker;
+  private final RetryPolicy retryPolicy;
+  private final Scheduler completionScheduler;
+  private final AtomicInteger nextStripe = new AtomicInteger();
 
-  public LettuceRedisConnection(RedisClient client) {
-    connection = client.connect();
+  public LettuceRedisConnection(List<StatefulConnection<String, String>> stripes,
+                                StripingMode stripingMode,
+                                StatefulConnection<String, String> scanConnection,
+                                AsyncPool<StatefulConnection<String, String>> dedicatedConnections,
+                                ScriptRegistry scripts,
+                                NearCache nearCache,
+                                SingleFlight singleFlight,
+                                CommandMetricsRegistry metrics,
+                                HealthProbe health,
+                                CircuitBreaker circuitBreaker,
+                                RetryPolicy retryPolicy,
+                                Scheduler completionScheduler) {
+    this.stripes = stripes;
+    this.commands = stripes.stream().map(LettuceRedisConnection::reactive).collect(Collectors.toList());
+    this.stripingMode = stripingMode;
+    this.scanConnection = scanConnection;
+    this.scanCommands = null == scanConnection ? null : reactive(scanConnection);
+    this.dedicatedConnections = dedicatedConnections;
+    this.scripts = scripts;
+    this.nearCache = nearCache;
+    this.singleFlight = singleFlight;
+    this.metrics = metrics;
+    this.health = health;
+    this.circuitBreaker = circuitBreaker;
+    this.retryPolicy = retryPolicy;
+    this.completionScheduler = completionScheduler;
   }
 
   public void invalidate() {
-    connection.close();
+    if (null != health) {
+      health.stop();
+    }
+    stripes.forEach(StatefulConnection::close);
+    if (null != scanConnection) {
+      scanConnection.close();
+    }
+  }
+
+  /**
+   * The outcome of the last health probe, without waiting on the server.
+   */
+  public ConnectionValidationResult validate() {
+    return health.validate();
+  }
+
+  public RedisClusterReactiveCommands<String, String> commands() {
+    return commands.get(nextStripe());
+  }
+
+  /**
+   * Commands for a single key, which always use the same connection when striping by key hash.
+   */
+  public RedisClusterReactiveCommands<String, String> commands(String key) {
+    if (StripingMode.KEY_HASH == stripingMode && null != key) {
+      return commands.get(Math.floorMod(key.hashCode(), commands.size()));
+    }
+    return commands();
+  }
+
+  /**
+   * Commands of the SCAN, HSCAN, SSCAN and ZSCAN pages of a key, or of the keyspace with a null key. Every page of a
+   * scan must be read from the node its cursor belongs to, which the stripes of a master/replica connection may not
+   * do, so its scans are sent through a connection of their own.
+   */
+  public RedisClusterReactiveCommands<String, String> scans(String key) {
+    return null == scanCommands ? commands(key) : scanCommands;
+  }
+
+  /**
+   * Commands of each master node of a cluster, from the topology last known, or the commands of scans otherwise. Node
+   * connections are held by the cluster connection, and must not be closed.
+   */
+  public Flux<RedisClusterReactiveCommands<String, String>> masters() {
+    StatefulConnection<String, String> stripe = stripes.get(nextStripe());
+    if (!(stripe instanceof StatefulRedisClusterConnection)) {
+      return Flux.just(scans(null));
+    }
+    StatefulRedisClusterConnection<String, String> cluster = (StatefulRedisClusterConnection<String, String>) stripe;
+    return Flux.fromIterable(cluster.getPartitions())
+        .filter(node -> node.is(RedisClusterNode.NodeFlag.UPSTREAM))
+        .concatMap(node -> Mono.fromCompletionStage(cluster.getConnectionAsync(node.getNodeId())))
+        .map(LettuceRedisConnection::reactive);
+  }
+
+  /**
+   * Runs a command on a connection of its own, taken from the bounded pool of dedicated connections and released once
+   * the reply is received, so that commands waiting on the server do not hold up the multiplexed connections.
+   * <p>
+   * A command that fails or is cancelled, e.g. a BLPOP timing out on the client, may still be waiting on the server,
+   * whose late reply would be read by the next command of the connection. Its connection is closed and removed from
+   * the pool instead of being released.
+   */
+  public <T> Mono<T> dedicated(Function<RedisClusterReactiveCommands<String, String>, Mono<T>> command) {
+    return dedicatedConnection(connection -> command.apply(reactive(connection)));
+  }
+
+  /**
+   * Like {@link #dedicated(Function)}, for callers that need the connection itself, e.g. to control flushing.
+   */
+  public <T> Mono<T> dedicatedConnection(Function<StatefulConnection<String, String>, Mono<T>> commands) {
+    return Mono.usingWhen(
+        Mono.fromCompletionStage(dedicatedConnections::acquire)
+            // no dedicated connection is left in the pool
+            .onErrorMap(NoSuchElementException.class, RejectedException::new),
+        commands,
+        connection -> Mono.fromCompletionStage(dedicatedConnections.release(connection)),
+        (connection, error) -> Mono.fromCompletionStage(dedicatedConnections.destroy(connection)),
+        connection -> Mono.fromCompletionStage(dedicatedConnections.destroy(connection)));
   }
 
-  public RedisReactiveCommands<String, String> commands() {
-    return connection.reactive();
+  /**
+   * Reads through the near cache and coalesces concurrent identical reads, when enabled. Entries distinguish the
+   * different replies read for the same key, e.g. the values of different hash fields.
+   */
+  public <T> Mono<T> read(String key, String entry, Supplier<Mono<T>> command) {
+    Supplier<Mono<T>> read = null == singleFlight ? command : () -> singleFlight.get(key, entry, command);
+    if (null == nearCache) {
+      return read.get();
+    }
+    return nearCache.get(key, entry, read);
+  }
+
+  /**
+   * Sends the command through the circuit breaker of the config, and retries it as per the retry policy, when enabled.
+   * Every attempt goes through the circuit breaker, so retries stop as soon as it opens, and the latency of every
+   * attempt sent is recorded on its own, without the retries and backoff around it.
+   */
+  public <T> Mono<T> protect(String commandText, Mono<T> command) {
+    return protect(commandText, commandText, command, false);
+  }
+
+  /**
+   * Like {@link #protect(String, Mono)}, recording the metrics of the command under the given name, and for operations
+   * taking long by design, such as bulk writes, which the circuit breaker never counts as slow calls.
+   */
+  public <T> Mono<T> protect(String commandText, String metricsText, Mono<T> command, boolean longRunning) {
+    Mono<T> attempt = metrics.record(metricsText, command);
+    Mono<T> protectedCommand = null == circuitBreaker ? attempt : circuitBreaker.protect(commandText, attempt, longRunning);
+    if (null == retryPolicy) {
+      return protectedCommand;
+    }
+    return retryPolicy.apply(commandText, protectedCommand);
+  }
+
+  /**
+   * Hands the reply over to the completion scheduler, if any, so that flows do not continue on the event loop thread
+   * decoding the replies of the connection.
+   */
+  public <T> Mono<T> complete(Mono<T> command) {
+    if (null == completionScheduler) {
+      return command;
+    }
+    return command.publishOn(completionScheduler);
+  }
+
+  public CommandMetricsRegistry metrics() {
+    return metrics;
+  }
+
+  public ScriptRegistry scripts() {
+    return scripts;
   }
 
   public CustomReactiveCommands customCommands() {
-    return new CustomReactiveCommands(connection, StringCodec.UTF8);
+    return new CustomReactiveCommands(stripes.get(nextStripe()), StringCodec.UTF8);
+  }
+
+  private int nextStripe() {
+    if (stripes.size() == 1) {
+      return 0;
+    }
+    return Math.floorMod(nextStripe.getAndIncrement(), stripes.size());
+  }
+
+  /**
+   * Whether a command may wait on the server, such as BLPOP, or XREAD with BLOCK.
+   */
+  static boolean isBlocking(String command) {
+    return BLOCKING_COMMANDS.contains(command);
+  }
+
+  public static RedisClusterReactiveCommands<String, String> reactive(StatefulConnection<String, String> connection) {
+    if (connection instanceof StatefulRedisClusterConnection) {
+      return ((StatefulRedisClusterConnection<String, String>) connection).reactive();
+    }
+    return ((StatefulRedisConnection<String, String>) connection).reactive();
   }
 }
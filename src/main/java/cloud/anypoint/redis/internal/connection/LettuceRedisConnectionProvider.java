@@ -1,37 +1,82 @@
 package cloud.anypoint.redis.internal.connection;
 
-import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-
-import org.mule.runtime.api.connection.*;
-import org.mule.runtime.api.lifecycle.Disposable;
-
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.core.publisher.Mono;
 
-public class LettuceRedisConnectionProvider extends BaseLettuceConnectionProvider<LettuceRedisConnection> implements Disposable {
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+public class LettuceRedisConnectionProvider extends BaseCommandConnectionProvider {
 
     private final Logger LOGGER = LoggerFactory.getLogger(LettuceRedisConnectionProvider.class);
+    private RedisURI redisUri;
+    private NearCache nearCache;
+
+    @Optional(defaultValue = "false")
+    @Parameter
+    @DisplayName("Near Cache")
+    @Summary("Serve GET, HGET, HGETALL and HMGET from a local cache, which the server keeps up to date by pushing invalidations of the keys read (CLIENT TRACKING). Requires RESP3, Redis 6 or later.")
+    @Placement(tab = "Near Cache", order = 1)
+    private boolean nearCacheEnabled;
+    @Optional(defaultValue = "10000")
+    @Parameter
+    @DisplayName("Max Cached Keys")
+    @Summary("Number of keys kept in the near cache, least recently used keys are evicted first.")
+    @Placement(tab = "Near Cache", order = 2)
+    private int nearCacheMaxKeys;
+    @Optional(defaultValue = "60")
+    @Parameter
+    @DisplayName("Time To Live")
+    @Summary("How long a cached reply is served before it is read from the server again, should an invalidation be lost.")
+    @Placement(tab = "Near Cache", order = 3)
+    private int nearCacheTtl;
+    @Optional(defaultValue = "SECONDS")
+    @Parameter
+    @DisplayName("Time To Live Unit")
+    @Placement(tab = "Near Cache", order = 4)
+    private TimeUnit nearCacheTtlUnit;
+
+    @Override
+    protected void initialiseClient(RedisURI uri) {
+        this.redisUri = uri;
+        super.initialiseClient(uri);
+        if (nearCacheEnabled) {
+            this.nearCache = new NearCache(nearCacheMaxKeys, nearCacheTtlUnit.toMillis(nearCacheTtl));
+            this.redisClient.addListener(nearCache);
+        }
+    }
 
     @Override
-    public LettuceRedisConnection connect() throws ConnectionException {
-        return new LettuceRedisConnection(redisClient);
+    protected NearCache nearCache() {
+        return nearCache;
     }
 
     @Override
-    public void disconnect(LettuceRedisConnection connection) {
-        connection.invalidate();
+    protected StatefulConnection<String, String> connectStripe() {
+        StatefulRedisConnection<String, String> connection = redisClient.connect();
+        if (null != nearCache) {
+            try {
+                nearCache.track(connection);
+            } catch (RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+        }
+        return connection;
     }
 
     @Override
-    public ConnectionValidationResult validate(LettuceRedisConnection connection) {
-        return connection.commands().ping()
-            .map((r) -> ConnectionValidationResult.success())
-            .onErrorResume((t) ->
-                Mono.just(ConnectionValidationResult.failure(
-                    t.getMessage(),
-                    new Exception(t))))
-            .block();
+    protected CompletionStage<? extends StatefulConnection<String, String>> connectDedicated() {
+        return redisClient.connectAsync(StringCodec.UTF8, redisUri);
     }
 
 }
@@ -0,0 +1,105 @@
+package cloud.anypoint.redis.internal.connection;
+
+import cloud.anypoint.redis.api.connection.ReadFromPolicy;
+import cloud.anypoint.redis.api.connection.RedisNode;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.masterreplica.MasterReplica;
+import io.lettuce.core.masterreplica.StatefulRedisMasterReplicaConnection;
+import org.mule.runtime.core.api.util.StringUtils;
+import org.mule.runtime.extension.api.annotation.Alias;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Connects to a master and its replicas, discovered through sentinel or the master itself, or listed statically.
+ * Write commands are sent to the master, read only commands are sent to the nodes selected by the read from policy.
+ */
+@Alias("master-replica")
+public class LettuceRedisMasterReplicaConnectionProvider extends BaseCommandConnectionProvider {
+    private List<RedisURI> nodes;
+
+    @Optional
+    @Parameter
+    @DisplayName("Sentinel Master ID")
+    @Summary("When set, host and port address a sentinel which is asked for the master and replicas. Otherwise host and port address the master, and replicas are discovered from it unless additional nodes are listed.")
+    private String sentinelMasterId;
+    @Optional
+    @Parameter
+    @DisplayName("Additional Nodes")
+    @Summary("Additional sentinels when using sentinel, otherwise a static list of replica nodes.")
+    private List<RedisNode> additionalNodes;
+    @Optional(defaultValue = "REPLICA_PREFERRED")
+    @Parameter
+    @DisplayName("Read From")
+    @Summary("Nodes receiving read only commands such as GET, HGETALL, SMEMBERS, XRANGE, GEOSEARCH and SCAN. Every page of SCAN, HSCAN, SSCAN and ZSCAN is read from the same node, the first one selected, for as long as it is selected.")
+    private ReadFromPolicy readFrom;
+
+    @Override
+    protected RedisURI.Builder uriBuilder(String host, int port) {
+        if (StringUtils.isEmpty(sentinelMasterId)) {
+            return super.uriBuilder(host, port);
+        }
+        RedisURI.Builder builder = RedisURI.Builder.sentinel(host, port, sentinelMasterId);
+        if (null != additionalNodes) {
+            additionalNodes.forEach(node -> builder.withSentinel(node.getHost(), node.getPort()));
+        }
+        return builder;
+    }
+
+    @Override
+    protected void initialiseClient(RedisURI uri) {
+        this.nodes = new ArrayList<>();
+        this.nodes.add(uri);
+        if (StringUtils.isEmpty(sentinelMasterId) && null != additionalNodes) {
+            additionalNodes.forEach(node -> nodes.add(RedisURI.builder(uri)
+                    .withHost(node.getHost())
+                    .withPort(node.getPort())
+                    .build()));
+        }
+        this.redisClient = RedisClient.create(clientResources);
+        this.redisClient.setOptions(clientOptions(ClientOptions.builder()).build());
+    }
+
+    @Override
+    protected StatefulConnection<String, String> connectStripe() {
+        StatefulRedisMasterReplicaConnection<String, String> connection = connectMasterReplica();
+        connection.setReadFrom(readFrom.getLettuceReadFrom());
+        return connection;
+    }
+
+    @Override
+    protected StatefulConnection<String, String> connectScan() {
+        // each read of the stripes may be sent to a different node, which cursors of another node mean nothing to
+        StatefulRedisMasterReplicaConnection<String, String> connection = connectMasterReplica();
+        connection.setReadFrom(new PinnedReadFrom(readFrom.getLettuceReadFrom()));
+        return connection;
+    }
+
+    @Override
+    protected CompletionStage<? extends StatefulConnection<String, String>> connectDedicated() {
+        CompletionStage<StatefulRedisMasterReplicaConnection<String, String>> connection = nodes.size() == 1
+                ? MasterReplica.connectAsync(redisClient, StringCodec.UTF8, nodes.get(0))
+                : MasterReplica.connectAsync(redisClient, StringCodec.UTF8, nodes);
+        return connection.thenApply(c -> {
+            c.setReadFrom(readFrom.getLettuceReadFrom());
+            return c;
+        });
+    }
+
+    private StatefulRedisMasterReplicaConnection<String, String> connectMasterReplica() {
+        // a single uri is either a sentinel or a master to discover the replicas from, several are a static topology
+        return nodes.size() == 1
+                ? MasterReplica.connect(redisClient, StringCodec.UTF8, nodes.get(0))
+                : MasterReplica.connect(redisClient, StringCodec.UTF8, nodes);
+    }
+}
@@ -1,20 +1,30 @@
 package cloud.anypoint.redis.internal.connection;
 
-import io.lettuce.core.RedisClient;
 import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import io.lettuce.core.pubsub.api.reactive.RedisPubSubReactiveCommands;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
 
 public class LettuceRedisPubSubConnection {
     private StatefulRedisPubSubConnection<String, String> connection;
+    private HealthProbe health;
 
-    public LettuceRedisPubSubConnection(RedisClient client) {
-        connection = client.connectPubSub();
+    public LettuceRedisPubSubConnection(StatefulRedisPubSubConnection<String, String> connection, HealthProbe health) {
+        this.connection = connection;
+        this.health = health;
     }
 
     public void invalidate() {
+        health.stop();
         connection.close();
     }
 
+    /**
+     * The outcome of the last health probe, without waiting on the server.
+     */
+    public ConnectionValidationResult validate() {
+        return health.validate();
+    }
+
     public RedisPubSubReactiveCommands<String, String> commands() {
         return connection.reactive();
     }
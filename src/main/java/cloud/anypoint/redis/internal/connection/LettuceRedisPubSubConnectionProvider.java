@@ -1,16 +1,19 @@
 package cloud.anypoint.redis.internal.connection;
 
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.extension.api.annotation.Alias;
-import reactor.core.publisher.Mono;
+
+import java.util.Collections;
 
 @Alias("pubsub")
 public class LettuceRedisPubSubConnectionProvider extends BaseLettuceConnectionProvider<LettuceRedisPubSubConnection> implements Disposable {
     @Override
     public LettuceRedisPubSubConnection connect() throws ConnectionException {
-        return new LettuceRedisPubSubConnection(redisClient);
+        StatefulRedisPubSubConnection<String, String> connection = redisClient.connectPubSub();
+        return new LettuceRedisPubSubConnection(connection, healthProbe(Collections.singletonList(() -> connection.reactive().ping())));
     }
 
     @Override
@@ -20,12 +23,6 @@ public class LettuceRedisPubSubConnectionProvider extends BaseLettuceConnectionP
 
     @Override
     public ConnectionValidationResult validate(LettuceRedisPubSubConnection connection) {
-        return connection.commands().ping()
-            .map((r) -> ConnectionValidationResult.success())
-            .onErrorResume((t) ->
-                Mono.just(ConnectionValidationResult.failure(
-                    t.getMessage(),
-                    new Exception(t))))
-            .block();
+        return connection.validate();
     }
 }
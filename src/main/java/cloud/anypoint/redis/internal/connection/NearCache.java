@@ -0,0 +1,160 @@
+package cloud.anypoint.redis.internal.connection;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded local cache of read replies, kept consistent by the server: connections it tracks send CLIENT TRACKING,
+ * and the server pushes an invalidation for every key read through them once it is modified. Replies are only
+ * cached when no invalidation of their key was received while they were in flight, and the whole cache is dropped
+ * whenever a tracked connection disconnects or reconnects, since invalidations may have been missed. Other connections
+ * of the client, such as dedicated connections, leave the cache as it is.
+ */
+final class NearCache implements RedisConnectionStateListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCache.class);
+
+    private final long ttlNanos;
+    private final Map<String, Map<String, Entry>> keys;
+    private final Set<StatefulRedisConnection<String, String>> tracked = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+    // the reads of each key in flight, dropped when the key is invalidated so that their replies are not cached
+    private final Map<String, Object> pending = new HashMap<>();
+
+    NearCache(int maxKeys, long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.keys = new LinkedHashMap<String, Map<String, Entry>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Entry>> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Enables tracking on a connection, whose reads may then be cached.
+     */
+    void track(StatefulRedisConnection<String, String> connection) {
+        connection.addListener(this::onPushMessage);
+        connection.sync().clientTracking(TrackingArgs.Builder.enabled());
+        tracked.add(connection);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> get(String key, String entry, Supplier<Mono<T>> command) {
+        return Mono.defer(() -> {
+            Object cached = lookup(key, entry);
+            if (null != cached) {
+                return Mono.just((T) cached);
+            }
+            Object read = pending(key);
+            return command.get()
+                .doOnNext(value -> store(key, entry, value, read))
+                .doFinally(signal -> done(key, read));
+        });
+    }
+
+    private synchronized Object pending(String key) {
+        return pending.computeIfAbsent(key, k -> new Object());
+    }
+
+    private synchronized void done(String key, Object read) {
+        pending.remove(key, read);
+    }
+
+    private synchronized Object lookup(String key, String entry) {
+        Map<String, Entry> entries = keys.get(key);
+        if (null == entries) {
+            return null;
+        }
+        Entry cached = entries.get(entry);
+        if (null == cached) {
+            return null;
+        }
+        if (cached.expiresAt - System.nanoTime() < 0) {
+            entries.remove(entry);
+            if (entries.isEmpty()) {
+                keys.remove(key);
+            }
+            return null;
+        }
+        return cached.value;
+    }
+
+    private synchronized void store(String key, String entry, Object value, Object read) {
+        if (read == pending.get(key)) {
+            keys.computeIfAbsent(key, k -> new HashMap<>()).put(entry, new Entry(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    private synchronized void invalidate(String key) {
+        pending.remove(key);
+        keys.remove(key);
+    }
+
+    private synchronized void clear() {
+        pending.clear();
+        keys.clear();
+    }
+
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object invalidated = content.size() > 1 ? content.get(1) : null;
+        if (invalidated instanceof List) {
+            ((List<?>) invalidated).forEach(key -> invalidate(String.valueOf(key)));
+        } else {
+            // a nil key list is sent when the server flushes its databases
+            clear();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onRedisConnected(RedisChannelHandler<?, ?> connection, SocketAddress socketAddress) {
+        // the listener is registered on the client, and so is notified of every connection it opens
+        if (tracked.contains(connection)) {
+            clear();
+            LOGGER.debug("Enabling tracking again on reconnected {}", socketAddress);
+            ((StatefulRedisConnection<String, String>) connection).async().clientTracking(TrackingArgs.Builder.enabled());
+        }
+    }
+
+    @Override
+    public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+        if (tracked.contains(connection)) {
+            clear();
+        }
+    }
+
+    @Override
+    public void onRedisExceptionCaught(RedisChannelHandler<?, ?> connection, Throwable cause) {
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package cloud.anypoint.redis.internal.connection;
+
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.models.role.RedisNodeDescription;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads from the first node selected by a read from policy, and keeps reading from it while the policy still selects
+ * it, so that every page of a scan is read from the node its cursor belongs to. Policies such as ANY or LOWEST_LATENCY
+ * may otherwise read each page from a different node, skipping or repeating keys.
+ */
+final class PinnedReadFrom extends ReadFrom {
+    private final ReadFrom readFrom;
+    private volatile String pinned;
+
+    PinnedReadFrom(ReadFrom readFrom) {
+        this.readFrom = readFrom;
+    }
+
+    @Override
+    public List<RedisNodeDescription> select(Nodes nodes) {
+        List<RedisNodeDescription> selected = readFrom.select(nodes);
+        if (selected.isEmpty()) {
+            return selected;
+        }
+        for (RedisNodeDescription node : selected) {
+            if (address(node).equals(pinned)) {
+                return Collections.singletonList(node);
+            }
+        }
+        // no node is pinned yet, or the node pinned is no longer selected, e.g. after a failover
+        RedisNodeDescription node = selected.get(0);
+        pinned = address(node);
+        return Collections.singletonList(node);
+    }
+
+    @Override
+    protected boolean isOrderSensitive() {
+        return true;
+    }
+
+    private static String address(RedisNodeDescription node) {
+        return node.getUri().getHost() + ":" + node.getUri().getPort();
+    }
+}
@@ -0,0 +1,63 @@
+package cloud.anypoint.redis.internal.connection;
+
+import io.lettuce.core.RedisCommandTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sends read only and idempotent commands again when they time out or their connection fails, waiting an exponential
+ * backoff with jitter between attempts. Commands are sent again by resubscribing to them within the operation, so a
+ * retry costs no more than the command itself.
+ * <p>
+ * Commands rejected without being sent, including by an open circuit breaker, and error replies are not retried.
+ * Commands whose reply changes once they were applied, such as SET NX, SET with GET, EXPIRE GT, PERSIST or HSET, which
+ * counts the fields it added, are not retried by default; operations tell them apart by their command text.
+ */
+final class RetryPolicy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryPolicy.class);
+    private static final Set<String> IDEMPOTENT_COMMANDS = new HashSet<>(Arrays.asList(
+        "PING",
+        "GET", "MGET", "SET", "MSET", "TTL", "PTTL", "EXPIRE", "PEXPIRE", "SCAN",
+        "HGET", "HGETALL", "HMGET", "HEXISTS", "HLEN", "HSCAN",
+        "SMEMBERS", "SISMEMBER", "SMISMEMBER", "SCARD", "SDIFF", "SSCAN",
+        "ZSCORE", "ZRANK", "ZSCAN",
+        "GEOPOS", "GEODIST", "GEOSEARCH",
+        "XRANGE"));
+
+    private final Set<String> commands;
+    private final RetryBackoffSpec retry;
+
+    RetryPolicy(int maxAttempts, Duration firstBackoff, Duration maxBackoff, double jitter, Collection<String> commands) {
+        this.commands = null == commands || commands.isEmpty()
+            ? IDEMPOTENT_COMMANDS
+            : commands.stream().map(String::toUpperCase).collect(Collectors.toSet());
+        this.retry = Retry.backoff(maxAttempts - 1, firstBackoff)
+            .maxBackoff(maxBackoff)
+            .jitter(jitter)
+            .filter(RetryPolicy::isRetryable)
+            .doBeforeRetry(signal -> LOGGER.debug("Retrying command, attempt {} failed", signal.totalRetries() + 1, signal.failure()))
+            // the last failure is mapped to an error type like any other, rather than wrapped
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    <T> Mono<T> apply(String commandText, Mono<T> command) {
+        if (!commands.contains(commandText)) {
+            return command;
+        }
+        return command.retryWhen(retry);
+    }
+
+    private static boolean isRetryable(Throwable t) {
+        return t instanceof RedisCommandTimeoutException || ConnectionErrors.isConnectionError(t);
+    }
+}
@@ -0,0 +1,102 @@
+package cloud.anypoint.redis.internal.connection;
+
+import io.lettuce.core.event.DefaultEventBus;
+import io.lettuce.core.event.DefaultEventPublisherOptions;
+import io.lettuce.core.event.Event;
+import io.lettuce.core.event.jfr.EventRecorder;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reference counted lettuce {@link ClientResources} shared by every connection provider of the application, so that
+ * event loops, computation threads and timers are created once instead of once per config. Providers asking for the
+ * same thread pool sizes share the same instance.
+ * <p>
+ * Lettuce's own flight recorder events fail to load in the plugin class loader, similar to
+ * https://github.com/redis/lettuce/issues/1767, so the event bus of these resources records no flight recorder
+ * events, leaving other lettuce users of the JVM as they are. The connector records its own events instead.
+ */
+final class SharedClientResources {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedClientResources.class);
+    private static final Map<String, SharedClientResources> SHARED = new HashMap<>();
+
+    private final ClientResources resources;
+    private int references;
+
+    private SharedClientResources(ClientResources resources) {
+        this.resources = resources;
+    }
+
+    static synchronized ClientResources acquire(Integer ioThreadPoolSize, Integer computationThreadPoolSize) {
+        String key = ioThreadPoolSize + ":" + computationThreadPoolSize;
+        SharedClientResources shared = SHARED.get(key);
+        if (null == shared) {
+            DefaultClientResources.Builder builder = DefaultClientResources.builder()
+                .eventBus(new DefaultEventBus(Schedulers.boundedElastic(), NoFlightRecorder.INSTANCE));
+            if (null != ioThreadPoolSize) {
+                builder.ioThreadPoolSize(ioThreadPoolSize);
+            }
+            if (null != computationThreadPoolSize) {
+                builder.computationThreadPoolSize(computationThreadPoolSize);
+            }
+            shared = new SharedClientResources(builder.build());
+            SHARED.put(key, shared);
+            LOGGER.debug("Created client resources {}", key);
+        }
+        shared.references++;
+        return shared.resources;
+    }
+
+    /**
+     * Resources of a single client recording the latency of its commands, on the event loops, computation threads,
+     * timer and event bus of shared resources. They own no threads of their own, so they are never shut down: shutting
+     * them down would leave the shared threads running, and releasing the shared resources stops them.
+     */
+    static ClientResources recordingLatencies(ClientResources shared, CommandLatencyRecorder recorder) {
+        return DefaultClientResources.builder()
+            .eventLoopGroupProvider(shared.eventLoopGroupProvider())
+            .eventExecutorGroup(shared.eventExecutorGroup())
+            .timer(shared.timer())
+            .eventBus(shared.eventBus())
+            .commandLatencyRecorder(recorder)
+            .commandLatencyPublisherOptions(DefaultEventPublisherOptions.disabled())
+            .build();
+    }
+
+    static synchronized void release(ClientResources resources) {
+        Iterator<SharedClientResources> iterator = SHARED.values().iterator();
+        while (iterator.hasNext()) {
+            SharedClientResources shared = iterator.next();
+            if (shared.resources == resources && --shared.references == 0) {
+                iterator.remove();
+                LOGGER.debug("Shutting down client resources");
+                shared.resources.shutdown();
+            }
+        }
+    }
+
+    private enum NoFlightRecorder implements EventRecorder, EventRecorder.RecordableEvent {
+        INSTANCE;
+
+        @Override
+        public void record(Event event) {
+        }
+
+        @Override
+        public RecordableEvent start(Event event) {
+            return this;
+        }
+
+        @Override
+        public void record() {
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package cloud.anypoint.redis.internal.connection;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a read of a key is in flight, the same read of the same key subscribes
+ * to it instead of sending another request, and receives the same reply.
+ */
+final class SingleFlight {
+    private final Map<List<String>, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> get(String key, String entry, Supplier<Mono<T>> command) {
+        return Mono.defer(() -> {
+            List<String> id = Arrays.asList(key, entry);
+            return (Mono<T>) inFlight.computeIfAbsent(id, k -> command.get()
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+        });
+    }
+}
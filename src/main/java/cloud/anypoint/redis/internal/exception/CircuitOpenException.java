@@ -0,0 +1,11 @@
+package cloud.anypoint.redis.internal.exception;
+
+import org.mule.runtime.extension.api.exception.ModuleException;
+
+import static cloud.anypoint.redis.api.error.ConnectorError.CIRCUIT_OPEN;
+
+public class CircuitOpenException extends ModuleException {
+    public CircuitOpenException(String configName, String command) {
+        super(command + " was not sent, the circuit breaker of config '" + configName + "' is open", CIRCUIT_OPEN);
+    }
+}
@@ -0,0 +1,11 @@
+package cloud.anypoint.redis.internal.exception;
+
+import cloud.anypoint.redis.api.error.ConnectorError;
+import org.mule.runtime.extension.api.exception.ModuleException;
+
+public class RejectedException extends ModuleException {
+
+    public RejectedException(Throwable cause) {
+        super(cause.getMessage(), ConnectorError.REJECTED, cause);
+    }
+}
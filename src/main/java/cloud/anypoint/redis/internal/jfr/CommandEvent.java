@@ -0,0 +1,30 @@
+package cloud.anypoint.redis.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("cloud.anypoint.redis.Command")
+@Label("Redis Command")
+@Description("A command sent by a connector operation, until its reply is received")
+@Category("Redis")
+final class CommandEvent extends Event implements Recording {
+    @Label("Config")
+    String config;
+    @Label("Command")
+    String command;
+    @Label("Error")
+    String error;
+
+    @Override
+    public void error(Throwable error) {
+        this.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+
+    @Override
+    public void finish() {
+        commit();
+    }
+}
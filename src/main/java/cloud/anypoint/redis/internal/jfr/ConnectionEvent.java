@@ -0,0 +1,20 @@
+package cloud.anypoint.redis.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("cloud.anypoint.redis.Connection")
+@Label("Redis Connection")
+@Description("A connection to a redis server connected, reconnected or disconnected")
+@Category("Redis")
+final class ConnectionEvent extends Event {
+    @Label("Config")
+    String config;
+    @Label("State")
+    String state;
+    @Label("Address")
+    String address;
+}
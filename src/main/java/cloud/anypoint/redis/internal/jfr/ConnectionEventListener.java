@@ -0,0 +1,31 @@
+package cloud.anypoint.redis.internal.jfr;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisConnectionStateListener;
+
+import java.net.SocketAddress;
+
+/**
+ * Records connection events of the connections of a client.
+ */
+public class ConnectionEventListener implements RedisConnectionStateListener {
+    private final String config;
+
+    public ConnectionEventListener(String config) {
+        this.config = config;
+    }
+
+    @Override
+    public void onRedisConnected(RedisChannelHandler<?, ?> connection, SocketAddress socketAddress) {
+        ConnectorEvents.getInstance().connection(config, "CONNECTED", String.valueOf(socketAddress));
+    }
+
+    @Override
+    public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+        ConnectorEvents.getInstance().connection(config, "DISCONNECTED", null);
+    }
+
+    @Override
+    public void onRedisExceptionCaught(RedisChannelHandler<?, ?> connection, Throwable cause) {
+    }
+}
@@ -0,0 +1,22 @@
+package cloud.anypoint.redis.internal.jfr;
+
+/**
+ * JDK Flight Recorder events of the connector, or no events at all when the event classes cannot be loaded.
+ */
+public interface ConnectorEvents {
+    static ConnectorEvents getInstance() {
+        return ConnectorEventsHolder.INSTANCE;
+    }
+
+    /**
+     * Starts recording a command, from the subscription to its reply.
+     */
+    Recording command(String config, String command);
+
+    void connection(String config, String state, String address);
+
+    /**
+     * Starts recording the delivery of a pub/sub message to a flow. The pattern is null for channel subscriptions.
+     */
+    Recording message(String channel, String pattern);
+}
@@ -0,0 +1,24 @@
+package cloud.anypoint.redis.internal.jfr;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class ConnectorEventsHolder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorEventsHolder.class);
+
+    static final ConnectorEvents INSTANCE = create();
+
+    private ConnectorEventsHolder() {
+    }
+
+    private static ConnectorEvents create() {
+        // the jdk.jfr module is not visible to every class loader, in which case the events are not recorded
+        try {
+            Class.forName("jdk.jfr.Event", false, ConnectorEventsHolder.class.getClassLoader());
+            return new JfrConnectorEvents();
+        } catch (ClassNotFoundException | LinkageError | SecurityException e) {
+            LOGGER.debug("Flight recorder events are not available", e);
+            return new NoopConnectorEvents();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package cloud.anypoint.redis.internal.jfr;
+
+final class JfrConnectorEvents implements ConnectorEvents {
+    JfrConnectorEvents() {
+        // load every event class now, so that a class loader unable to load them is detected up front
+        new CommandEvent();
+        new ConnectionEvent();
+        new MessageEvent();
+    }
+
+    @Override
+    public Recording command(String config, String command) {
+        CommandEvent event = new CommandEvent();
+        if (!event.isEnabled()) {
+            return Recording.NOOP;
+        }
+        event.config = config;
+        event.command = command;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void connection(String config, String state, String address) {
+        ConnectionEvent event = new ConnectionEvent();
+        if (event.shouldCommit()) {
+            event.config = config;
+            event.state = state;
+            event.address = address;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Recording message(String channel, String pattern) {
+        MessageEvent event = new MessageEvent();
+        if (!event.isEnabled()) {
+            return Recording.NOOP;
+        }
+        event.channel = channel;
+        event.pattern = pattern;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,30 @@
+package cloud.anypoint.redis.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("cloud.anypoint.redis.Message")
+@Label("Redis Pub/Sub Message")
+@Description("A pub/sub message handed to a flow by a subscribe source")
+@Category("Redis")
+final class MessageEvent extends Event implements Recording {
+    @Label("Channel")
+    String channel;
+    @Label("Pattern")
+    String pattern;
+    @Label("Error")
+    String error;
+
+    @Override
+    public void error(Throwable error) {
+        this.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+
+    @Override
+    public void finish() {
+        commit();
+    }
+}
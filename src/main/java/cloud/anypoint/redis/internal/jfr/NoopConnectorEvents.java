@@ -0,0 +1,17 @@
+package cloud.anypoint.redis.internal.jfr;
+
+final class NoopConnectorEvents implements ConnectorEvents {
+    @Override
+    public Recording command(String config, String command) {
+        return Recording.NOOP;
+    }
+
+    @Override
+    public void connection(String config, String state, String address) {
+    }
+
+    @Override
+    public Recording message(String channel, String pattern) {
+        return Recording.NOOP;
+    }
+}
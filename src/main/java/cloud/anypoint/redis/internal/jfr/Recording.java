@@ -0,0 +1,20 @@
+package cloud.anypoint.redis.internal.jfr;
+
+/**
+ * An event in progress, committed when finished.
+ */
+public interface Recording {
+    Recording NOOP = new Recording() {
+        @Override
+        public void error(Throwable error) {
+        }
+
+        @Override
+        public void finish() {
+        }
+    };
+
+    void error(Throwable error);
+
+    void finish();
+}
@@ -14,6 +14,8 @@ public class AllCommandsErrorTypeProvider implements ErrorTypeProvider {
         errorTypes.add(ConnectorError.COMMAND);
         errorTypes.add(ConnectorError.TIMEOUT);
         errorTypes.add(ConnectorError.SYNTAX);
+        errorTypes.add(ConnectorError.REJECTED);
+        errorTypes.add(ConnectorError.CIRCUIT_OPEN);
         return errorTypes;
     }
 }
@@ -0,0 +1,83 @@
+package cloud.anypoint.redis.internal.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class CommandMetrics implements CommandMetricsMXBean {
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final AtomicLong inFlight = new AtomicLong();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    void completed(long latencyNanos) {
+        inFlight.decrementAndGet();
+        latencyMicros.recordValue(Math.max(0, latencyNanos / 1000));
+    }
+
+    void cancelled() {
+        inFlight.decrementAndGet();
+    }
+
+    void failed(String errorType) {
+        errors.computeIfAbsent(errorType, type -> new LongAdder()).increment();
+    }
+
+    /**
+     * Latency at a percentile, in milliseconds.
+     */
+    public double percentile(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    @Override
+    public long getCount() {
+        return latencyMicros.getTotalCount();
+    }
+
+    @Override
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public double getP50Millis() {
+        return percentile(50);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return percentile(99);
+    }
+
+    @Override
+    public double getP999Millis() {
+        return percentile(99.9);
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+
+    @Override
+    public Map<String, Long> getErrors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+        latencyMicros.reset();
+        errors.clear();
+    }
+}
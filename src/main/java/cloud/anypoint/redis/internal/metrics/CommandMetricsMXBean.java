@@ -0,0 +1,27 @@
+package cloud.anypoint.redis.internal.metrics;
+
+import java.util.Map;
+
+/**
+ * Latency, error and concurrency statistics of one redis command of one config, since start or the last reset.
+ */
+public interface CommandMetricsMXBean {
+    long getCount();
+
+    long getInFlight();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    /**
+     * Number of failed commands by connector error type.
+     */
+    Map<String, Long> getErrors();
+
+    void reset();
+}
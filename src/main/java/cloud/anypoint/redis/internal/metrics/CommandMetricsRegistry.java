@@ -0,0 +1,137 @@
+package cloud.anypoint.redis.internal.metrics;
+
+import cloud.anypoint.redis.internal.jfr.ConnectorEvents;
+import cloud.anypoint.redis.internal.jfr.Recording;
+import io.lettuce.core.protocol.CommandType;
+import org.mule.runtime.extension.api.exception.ModuleException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The command metrics of a config, each published as an MBean named
+ * {@code cloud.anypoint.redis:type=CommandMetrics,config=<config>,command=<command>} once the command is first sent.
+ * Commands are named without their options, so that e.g. SET, SET NX and SET GET share their metrics.
+ */
+public final class CommandMetricsRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandMetricsRegistry.class);
+    public static final String DYNAMIC = "DYNAMIC";
+    private static final Set<String> KNOWN_COMMANDS = Arrays.stream(CommandType.values())
+        .map(Enum::name)
+        .collect(Collectors.toSet());
+    private static final Set<String> OPTIONS = new HashSet<>(Arrays.asList("NX", "XX", "GT", "LT", "GET"));
+
+    private final String configName;
+    private final Map<String, CommandMetrics> commands = new ConcurrentHashMap<>();
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public CommandMetricsRegistry(String configName) {
+        this.configName = configName;
+    }
+
+    /**
+     * The name the metrics of a command sent by name are recorded under: the command in upper case if it is a command
+     * known to lettuce, else {@value #DYNAMIC}, so that arbitrary command names do not each publish an MBean.
+     */
+    public static String dynamic(String command) {
+        String name = command.toUpperCase(Locale.ROOT);
+        return KNOWN_COMMANDS.contains(name) ? name : DYNAMIC;
+    }
+
+    /**
+     * The name of a command, without the options its command text may end with, such as NX or GET.
+     */
+    public static String name(String commandText) {
+        String name = commandText;
+        int option = name.lastIndexOf(' ');
+        while (option > 0 && OPTIONS.contains(name.substring(option + 1))) {
+            name = name.substring(0, option);
+            option = name.lastIndexOf(' ');
+        }
+        return name;
+    }
+
+    public CommandMetrics metrics(String command) {
+        return commands.computeIfAbsent(name(command), this::register);
+    }
+
+    /**
+     * The metrics of a command, if it was sent, without publishing them otherwise.
+     */
+    public CommandMetrics find(String command) {
+        return commands.get(name(command));
+    }
+
+    /**
+     * Records the latency of one attempt of a command when subscribed, counting it as in flight until it terminates,
+     * and records it as a flight recorder event. Attempts of a retried command are each recorded on their own.
+     */
+    public <T> Mono<T> record(String command, Mono<T> cmd) {
+        CommandMetrics metrics = metrics(command);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            metrics.started();
+            Recording recording = ConnectorEvents.getInstance().command(configName, command);
+            return cmd
+                .doOnError(recording::error)
+                .doFinally(signal -> {
+                    recording.finish();
+                    if (SignalType.CANCEL == signal) {
+                        metrics.cancelled();
+                    } else {
+                        metrics.completed(System.nanoTime() - start);
+                    }
+                });
+        });
+    }
+
+    /**
+     * Counts the error a command fails with, once its attempts are over, by connector error type.
+     */
+    public <T> Mono<T> countErrors(String command, Mono<T> cmd) {
+        CommandMetrics metrics = metrics(command);
+        return cmd.doOnError(t -> metrics.failed(t instanceof ModuleException
+            ? ((ModuleException) t).getType().getType()
+            : t.getClass().getSimpleName()));
+    }
+
+    public void dispose() {
+        commands.keySet().forEach(command -> {
+            try {
+                mBeanServer.unregisterMBean(objectName(command));
+            } catch (JMException e) {
+                LOGGER.debug("Could not unregister metrics of {}", command, e);
+            }
+        });
+        commands.clear();
+    }
+
+    private CommandMetrics register(String command) {
+        CommandMetrics metrics = new CommandMetrics();
+        try {
+            mBeanServer.registerMBean(metrics, objectName(command));
+        } catch (JMException e) {
+            // metrics are still recorded, they are just not published
+            LOGGER.warn("Could not publish metrics of {} for config {}", command, configName, e);
+        }
+        return metrics;
+    }
+
+    private ObjectName objectName(String command) throws JMException {
+        return new ObjectName("cloud.anypoint.redis:type=CommandMetrics,config=" + ObjectName.quote(configName)
+                + ",command=" + ObjectName.quote(command));
+    }
+}
@@ -0,0 +1,215 @@
+package cloud.anypoint.redis.internal.operation;
+
+import cloud.anypoint.redis.api.bulk.BatchResult;
+import cloud.anypoint.redis.api.bulk.BulkCommand;
+import cloud.anypoint.redis.api.bulk.BulkWriteResult;
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import cloud.anypoint.redis.internal.exception.ArgumentException;
+import cloud.anypoint.redis.internal.metadata.AllCommandsErrorTypeProvider;
+import cloud.anypoint.redis.internal.metadata.ArgumentErrorTypeProvider;
+import io.lettuce.core.KeyScanArgs;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.reactive.RedisClusterReactiveCommands;
+import org.mule.runtime.core.api.util.StringUtils;
+import org.mule.runtime.extension.api.annotation.error.Throws;
+import org.mule.runtime.extension.api.annotation.param.Connection;
+import org.mule.runtime.extension.api.annotation.param.Content;
+import org.mule.runtime.extension.api.annotation.param.MediaType;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static cloud.anypoint.redis.internal.util.ErrorDecorator.mapErrors;
+
+public class BulkOperations {
+    private static final int UNLINKS_IN_FLIGHT = 4;
+    private final Logger LOGGER = LoggerFactory.getLogger(BulkOperations.class);
+
+    @DisplayName("Bulk Write")
+    @Summary("Writes a stream of records with SET, HSET, ZADD or XADD, pipelined in batches on a dedicated connection. Records are read as batches are sent, so that the stream is never held in memory.")
+    @MediaType(value = "application/java", strict = true)
+    @Throws({AllCommandsErrorTypeProvider.class, ArgumentErrorTypeProvider.class})
+    public void bulkWrite(@Connection LettuceRedisConnection connection,
+                          BulkCommand command,
+                          @Content
+                          @Summary("Records with a key, and a value for SET, fields for HSET and XADD, a score and member for ZADD, and optionally an id for XADD.")
+                          Iterable<Map<String, Object>> records,
+                          @Optional(defaultValue = "1000") @Summary("Number of commands sent in a single network flush.") int batchSize,
+                          @Optional(defaultValue = "10000") @Summary("Maximum number of commands sent and not yet replied to.") int maxInFlight,
+                          CompletionCallback<BulkWriteResult, Void> callback) {
+        LOGGER.debug("bulk write with {}", command);
+        if (batchSize < 1 || maxInFlight < batchSize) {
+            callback.error(new ArgumentException("BULK WRITE",
+                new IllegalArgumentException("BULK WRITE requires a batch size of at least 1, and at most the maximum in flight")));
+            return;
+        }
+        // batches of records take long by design, and are never a slow call of the circuit breaker
+        mapErrors(connection, writeBatches(connection, command, records, batchSize, maxInFlight), "BULK WRITE", true)
+            .subscribe(
+                result -> callback.success(
+                    Result.<BulkWriteResult, Void>builder()
+                        .output(result)
+                        .build()),
+                callback::error);
+    }
+
+    Mono<BulkWriteResult> writeBatches(LettuceRedisConnection connection,
+                                       BulkCommand command,
+                                       Iterable<Map<String, Object>> records,
+                                       int batchSize,
+                                       int maxInFlight) {
+        // a dedicated connection, so that other commands are not held up behind the batches
+        return connection.dedicatedConnection(dedicated -> {
+            RedisClusterReactiveCommands<String, String> commands = LettuceRedisConnection.reactive(dedicated);
+            return Flux.fromIterable(records)
+                // records may be read from a stream, so they are not read on the event loop completing the batches
+                .subscribeOn(Schedulers.boundedElastic())
+                .buffer(batchSize)
+                .index()
+                .flatMapSequential(batch -> writeBatch(dedicated, commands, command, batch.getT2(), batch.getT1().intValue()),
+                    maxInFlight / batchSize)
+                .collectList()
+                .map(batches -> new BulkWriteResult(
+                    batches.stream().mapToLong(BatchResult::getWritten).sum(),
+                    batches.stream().mapToLong(BatchResult::getFailed).sum(),
+                    batches))
+                .doFirst(() -> dedicated.setAutoFlushCommands(false))
+                // restored before the connection is released to the pool
+                .doOnTerminate(() -> dedicated.setAutoFlushCommands(true))
+                .doOnCancel(() -> dedicated.setAutoFlushCommands(true));
+        });
+    }
+
+    @DisplayName("Delete Keys")
+    @Summary("Deletes every key matching the arguments with UNLINK, so that the server frees their memory in the background. Pages of keys found by SCAN are unlinked while the next pages are scanned. Returns the number of keys deleted.")
+    @Throws(AllCommandsErrorTypeProvider.class)
+    public void deleteKeys(@Connection LettuceRedisConnection connection,
+                           String match,
+                           @Optional String type,
+                           @Optional(defaultValue = "1000") @Summary("COUNT hint of each SCAN.") int pageSizeHint,
+                           @Optional @Summary("Maximum number of keys deleted per second. Unlimited by default.") Integer maxKeysPerSecond,
+                           CompletionCallback<Long, Void> callback) {
+        LOGGER.debug("Delete keys matching {} with SCAN and UNLINK", match);
+        KeyScanArgs args = new KeyScanArgs();
+        args.match(match);
+        args.limit(pageSizeHint);
+        if (!StringUtils.isEmpty(type)) {
+            args.type(type);
+        }
+        // the same commands for every page, cluster scan cursors are tied to the connection that returned them
+        RedisClusterReactiveCommands<String, String> commands = connection.scans(null);
+        AtomicLong nextPermit = new AtomicLong(System.nanoTime());
+        mapErrors(connection, commands.scan(args), "SCAN")
+            .expand(cursor -> cursor.isFinished()
+                ? Mono.empty()
+                : mapErrors(connection, commands.scan(cursor, args), "SCAN"))
+            .map(KeyScanCursor::getKeys)
+            .filter(keys -> !keys.isEmpty())
+            .delayUntil(keys -> null == maxKeysPerSecond ? Mono.<Long>empty() : pace(nextPermit, keys.size(), maxKeysPerSecond))
+            .flatMap(keys -> mapErrors(connection, commands.unlink(keys.toArray(new String[0])), "UNLINK"), UNLINKS_IN_FLIGHT)
+            .reduce(0L, Long::sum)
+            .subscribe(
+                result -> callback.success(Result.<Long, Void>builder()
+                    .output(result)
+                    .build()),
+                callback::error);
+    }
+
+    /**
+     * Waits until the given number of keys may be deleted, each key taking up 1 / maxKeysPerSecond of a second.
+     */
+    private static Mono<Long> pace(AtomicLong nextPermit, int keys, int maxKeysPerSecond) {
+        long cost = keys * TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxKeysPerSecond);
+        long now = System.nanoTime();
+        long permit = nextPermit.getAndAccumulate(now, (next, time) -> Math.max(next, time) + cost);
+        long wait = permit - now;
+        return wait > 0 ? Mono.delay(Duration.ofNanos(wait)) : Mono.<Long>empty();
+    }
+
+    private Mono<BatchResult> writeBatch(StatefulConnection<String, String> dedicated,
+                                         RedisClusterReactiveCommands<String, String> commands,
+                                         BulkCommand command,
+                                         List<Map<String, Object>> records,
+                                         int index) {
+        List<CompletableFuture<?>> replies = records.stream()
+            // subscribing sends the command, to be flushed with the rest of the batch
+            .map(record -> write(commands, command, record).toFuture())
+            .collect(Collectors.toList());
+        dedicated.flushCommands();
+        return Mono.fromFuture(CompletableFuture.allOf(replies.toArray(new CompletableFuture[0])))
+            .onErrorResume(t -> Mono.empty())
+            .then(Mono.fromCallable(() -> {
+                int failed = 0;
+                String error = null;
+                for (CompletableFuture<?> reply : replies) {
+                    try {
+                        reply.join();
+                    } catch (CompletionException e) {
+                        failed++;
+                        if (null == error) {
+                            error = e.getCause().getMessage();
+                        }
+                    }
+                }
+                return new BatchResult(index, records.size() - failed, failed, error);
+            }));
+    }
+
+    private Mono<?> write(RedisClusterReactiveCommands<String, String> commands, BulkCommand command, Map<String, Object> record) {
+        // invalid records fail on their own rather than the whole batch
+        return Mono.defer(() -> dispatch(commands, command, record));
+    }
+
+    private Mono<?> dispatch(RedisClusterReactiveCommands<String, String> commands, BulkCommand command, Map<String, Object> record) {
+        Object key = record.get("key");
+        if (null == key) {
+            return Mono.error(new IllegalArgumentException("Record has no key"));
+        }
+        switch (command) {
+            case HSET:
+                return commands.hset(key.toString(), strings(record.get("fields")));
+            case ZADD:
+                Object score = record.get("score");
+                if (!(score instanceof Number)) {
+                    return Mono.error(new IllegalArgumentException("Record of " + key + " has no numeric score"));
+                }
+                return commands.zadd(key.toString(), ((Number) score).doubleValue(), String.valueOf(record.get("member")));
+            case XADD:
+                XAddArgs args = new XAddArgs();
+                if (null != record.get("id")) {
+                    args.id(record.get("id").toString());
+                }
+                return commands.xadd(key.toString(), args, strings(record.get("fields")));
+            default:
+                return commands.set(key.toString(), String.valueOf(record.get("value")));
+        }
+    }
+
+    private static Map<String, String> strings(Object fields) {
+        if (!(fields instanceof Map)) {
+            throw new IllegalArgumentException("Record has no fields");
+        }
+        Map<String, String> strings = new LinkedHashMap<>();
+        ((Map<?, ?>) fields).forEach((field, value) -> strings.put(String.valueOf(field), String.valueOf(value)));
+        return strings;
+    }
+}
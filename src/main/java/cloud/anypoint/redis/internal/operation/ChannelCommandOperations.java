@@ -21,7 +21,7 @@ public class ChannelCommandOperations {
                         String message,
                         CompletionCallback<Long, Void> callback) {
         LOGGER.debug("PUBLISH {}", channel);
-        mapErrors(connection.commands().publish(channel, message), "PUBLISH", channel)
+        mapErrors(connection, connection.commands().publish(channel, message), "PUBLISH", channel)
             .subscribe(
                 result -> callback.success(Result.<Long, Void>builder()
                     .output(result)
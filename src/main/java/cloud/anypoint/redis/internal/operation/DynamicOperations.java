@@ -3,22 +3,33 @@ package cloud.anypoint.redis.internal.operation;
 import static cloud.anypoint.redis.internal.util.ErrorDecorator.mapErrors;
 import cloud.anypoint.redis.internal.exception.NilValueException;
 import cloud.anypoint.redis.api.CommandReturnType;
+import cloud.anypoint.redis.api.command.QueuedCommand;
+import cloud.anypoint.redis.internal.exception.ArgumentException;
 import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
 import cloud.anypoint.redis.internal.metadata.DynamicCommandOutputTypeResolver;
 import cloud.anypoint.redis.internal.metadata.NilErrorTypeProvider;
 import cloud.anypoint.redis.internal.metadata.AllCommandsErrorTypeProvider;
+import cloud.anypoint.redis.internal.metadata.ArgumentErrorTypeProvider;
 import cloud.anypoint.redis.internal.metadata.WrongTypeErrorTypeProvider;
+import cloud.anypoint.redis.internal.metrics.CommandMetricsRegistry;
 import org.mule.runtime.extension.api.annotation.error.Throws;
 import org.mule.runtime.extension.api.annotation.metadata.MetadataKeyId;
 import org.mule.runtime.extension.api.annotation.metadata.OutputResolver;
 import org.mule.runtime.extension.api.annotation.param.*;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 public class DynamicOperations {
@@ -33,9 +44,11 @@ public class DynamicOperations {
                             @MetadataKeyId CommandReturnType returnType,
                             CompletionCallback<Object, Void> callback) {
         LOGGER.debug("dynamic command {} with args {}", command, arguments);
-        mapErrors(connection.customCommands().dynamic(command, arguments, returnType), command, String.join(" ", arguments))
+        String commandText = command.toUpperCase(Locale.ROOT);
+        mapErrors(connection, connection.customCommands().dynamic(command, arguments, returnType), commandText, String.join(" ", arguments),
+            CommandMetricsRegistry.dynamic(commandText))
             // TODO: add validator parameter to control whether we throw NilValueException
-            .switchIfEmpty(Mono.error(new NilValueException(command)))
+            .switchIfEmpty(Mono.error(new NilValueException(commandText)))
             .subscribe(
                 result -> callback.success(
                     Result.<Object, Void>builder()
@@ -43,4 +56,42 @@ public class DynamicOperations {
                         .build()),
                 callback::error);
     }
+
+    @DisplayName("Pipeline")
+    @Summary("Sends all commands in a single network flush and returns their replies in order. Nil replies are returned as null. Every command is sent even if another one fails, in which case the pipeline fails with the error of the first command that failed.")
+    @MediaType(value = "application/java", strict = false)
+    @Throws({WrongTypeErrorTypeProvider.class, AllCommandsErrorTypeProvider.class, ArgumentErrorTypeProvider.class})
+    public void pipeline(@Connection LettuceRedisConnection connection,
+                         List<QueuedCommand> commands,
+                         CompletionCallback<List<Object>, Void> callback) {
+        LOGGER.debug("pipeline of {} commands", commands.size());
+        if (commands.isEmpty()) {
+            callback.error(new ArgumentException("PIPELINE", new IllegalArgumentException("PIPELINE requires at least one command")));
+            return;
+        }
+        // written at once to a multiplexed connection, so that no other command is written in between the pipelined ones
+        Mono<List<Object>> cmd = Mono.defer(() -> {
+            List<CompletableFuture<Object>> replies = connection.customCommands().pipeline(commands);
+            return Mono.fromFuture(CompletableFuture.allOf(replies.toArray(new CompletableFuture[0])))
+                .onErrorResume(t -> Mono.empty())
+                .then(Mono.fromCallable(() -> {
+                    List<Object> results = new ArrayList<>();
+                    for (CompletableFuture<Object> reply : replies) {
+                        try {
+                            results.add(reply.join());
+                        } catch (CompletionException e) {
+                            throw Exceptions.propagate(e.getCause());
+                        }
+                    }
+                    return results;
+                }));
+        });
+        mapErrors(connection, cmd, "PIPELINE")
+            .subscribe(
+                result -> callback.success(
+                    Result.<List<Object>, Void>builder()
+                        .output(result)
+                        .build()),
+                callback::error);
+    }
 }
@@ -55,8 +55,8 @@ public class GeoCommandOperations {
         if (ch) args = args.ch();
         Stream<GeoValue<String>> geoValues = items.stream()
                 .map(item -> GeoValue.just(item.getLongitude(), item.getLatitude(), item.getName()));
-        Mono<Long> cmd = connection.commands().geoadd(key, args, geoValues.toArray(GeoValue[]::new));
-        mapErrors(cmd, "GEOADD", key).subscribe(
+        Mono<Long> cmd = connection.commands(key).geoadd(key, args, geoValues.toArray(GeoValue[]::new));
+        mapErrors(connection, cmd, "GEOADD", key).subscribe(
             result -> callback.success(Result.<Long, Void>builder()
                 .output(result)
                 .build()),
@@ -70,11 +70,11 @@ public class GeoCommandOperations {
                        @Content List<String> members,
                        CompletionCallback<List<GeoLocation>, Void> callback) {
         LOGGER.debug("GEOPOS {} {}", key, members);
-        Flux<Value<GeoCoordinates>> baseCommand = connection.commands().geopos(key, members.stream().toArray(String[]::new));
+        Flux<Value<GeoCoordinates>> baseCommand = connection.commands(key).geopos(key, members.stream().toArray(String[]::new));
         Mono<List<GeoLocation>> cmd = baseCommand
                 .map(v -> v.map(coords -> new GeoLocation(coords.getX().doubleValue(), coords.getY().doubleValue())).getValueOrElse(null))
                 .collectList();
-        mapErrors(cmd, "GEOPOS").subscribe(
+        mapErrors(connection, cmd, "GEOPOS").subscribe(
             result -> callback.success(Result.<List<GeoLocation>, Void>builder()
                 .output(result)
                 .build()),
@@ -104,8 +104,8 @@ public class GeoCommandOperations {
             case FT:
                 unitArg = GeoArgs.Unit.ft;
         }
-        Mono<Double> cmd = connection.commands().geodist(key, member1, member2, unitArg);
-        mapErrors(cmd, "GEODIST", key).subscribe(
+        Mono<Double> cmd = connection.commands(key).geodist(key, member1, member2, unitArg);
+        mapErrors(connection, cmd, "GEODIST", key).subscribe(
             result -> callback.success(Result.<Double, Void>builder()
                 .output(result)
                 .build()),
@@ -147,7 +147,7 @@ public class GeoCommandOperations {
         if (searchResultOptions.isWithHash()) {
             args = args.withHash();
         }
-        Flux<GeoWithin<String>> baseCmd = connection.commands().geosearch(key, searchCenter.reference(), searchBy.getPredicate(), args);
+        Flux<GeoWithin<String>> baseCmd = connection.commands(key).geosearch(key, searchCenter.reference(), searchBy.getPredicate(), args);
         Flux<Object> cmd = baseCmd.map( result -> {
             if (searchResultOptions.hasDetails()) {
                 Map<String, Object> details = new HashMap<>();
@@ -167,7 +167,7 @@ public class GeoCommandOperations {
                 return result.getMember();
             }
         });
-        mapErrors(cmd.collectList(), "GEOSEARCH", key).subscribe(
+        mapErrors(connection, cmd.collectList(), "GEOSEARCH", key).subscribe(
             result -> callback.success(Result.<List, Void>builder()
                 .output(result)
                 .build()),
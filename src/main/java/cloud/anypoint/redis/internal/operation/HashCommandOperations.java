@@ -22,9 +22,9 @@ import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -37,9 +37,10 @@ public class HashCommandOperations {
                         String key,
                         CompletionCallback<Map<String, String>, Void> callback) {
         LOGGER.debug("HGETALL {}", key);
-        Mono<Map<String, String>> cmd = connection.commands().hgetall(key)
-                .collectMap(KeyValue::getKey, Value::getValue);
-        mapErrors(cmd, "HGETALL", key)
+        Mono<Map<String, String>> cmd = connection.read(key, "HGETALL", () -> connection.commands(key).hgetall(key)
+                .collectMap(KeyValue::getKey, Value::getValue)
+                .map(Collections::unmodifiableMap));
+        mapErrors(connection, cmd, "HGETALL", key)
             .subscribe(
                 result -> callback.success(Result.<Map<String, String>, Void>builder()
                     .output(result)
@@ -54,7 +55,7 @@ public class HashCommandOperations {
                         String field,
                         CompletionCallback<Boolean, Void> callback) {
         LOGGER.debug("HEXISTS {} {}", key, field);
-        mapErrors(connection.commands().hexists(key, field), "HEXISTS", field)
+        mapErrors(connection, connection.commands(key).hexists(key, field), "HEXISTS", field)
             .subscribe(
                 result -> callback.success(Result.<Boolean, Void>builder()
                     .output(result)
@@ -70,7 +71,7 @@ public class HashCommandOperations {
                      String field,
                      CompletionCallback<String, Void> callback) {
         LOGGER.debug("HGET {} {}", key, field);
-        mapErrors(connection.commands().hget(key, field), "HGET", key)
+        mapErrors(connection, connection.read(key, "HGET " + field, () -> connection.commands(key).hget(key, field)), "HGET", key)
             // TODO: Add validator parameter to make this optional
             .switchIfEmpty(Mono.error(new NilValueException("HGET", key)))
             .subscribe(
@@ -90,8 +91,11 @@ public class HashCommandOperations {
         if (fieldNames.isEmpty()) {
             callback.error(new ArgumentException("HMGET", new IllegalArgumentException("at least one field is required")));
         } else {
-            Flux<KeyValue<String, String>> cmd = connection.commands().hmget(key, fieldNames.stream().toArray(String[]::new));
-            mapErrors(cmd.map(kv -> kv.getValue()).collectList(), "HMGET", key)
+            Mono<List<String>> cmd = connection.read(key, "HMGET " + fieldNames, () -> connection.commands(key).hmget(key, fieldNames.stream().toArray(String[]::new))
+                .map(kv -> kv.getValue())
+                .collectList()
+                .map(Collections::unmodifiableList));
+            mapErrors(connection, cmd, "HMGET", key)
                 .subscribe(
                     result -> callback.success(Result.<List<String>, Void>builder()
                         .output(result)
@@ -106,7 +110,7 @@ public class HashCommandOperations {
                      String key,
                      CompletionCallback<Long, Void> callback) {
         LOGGER.debug("HLEN {}", key);
-        mapErrors(connection.commands().hlen(key), "HLEN", key)
+        mapErrors(connection, connection.commands(key).hlen(key), "HLEN", key)
             .subscribe(
                 result -> callback.success(Result.<Long, Void>builder()
                     .output(result)
@@ -124,7 +128,7 @@ public class HashCommandOperations {
         if (null == fields || fields.size() == 0) {
             callback.error(new ArgumentException("HSET", new IllegalArgumentException("fields object must not be empty")));
         } else {
-            mapErrors(connection.commands().hset(key, fields), "HSET", key)
+            mapErrors(connection, connection.commands(key).hset(key, fields), "HSET", key)
                 .subscribe(
                     result -> callback.success(Result.<Long, Void>builder()
                         .output(result)
@@ -149,8 +153,8 @@ public class HashCommandOperations {
             args.limit(count);
         }
         LOGGER.debug("HSCAN {} {}", key, cursor);
-        Mono<MapScanCursor<String, String>> cmd = connection.commands().hscan(key, ScanCursor.of(cursor.toString()), args);
-        mapErrors(cmd, "HSCAN", key)
+        Mono<MapScanCursor<String, String>> cmd = connection.scans(key).hscan(key, ScanCursor.of(cursor.toString()), args);
+        mapErrors(connection, cmd, "HSCAN", key)
                 .subscribe(
                         result -> callback.success(
                                 Result.<Map<String, String>, ScanAttributes>builder()
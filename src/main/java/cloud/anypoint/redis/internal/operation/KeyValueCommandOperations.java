@@ -64,11 +64,12 @@ public class KeyValueCommandOperations {
         if (keepttl) {
             args = args.keepttl();
         }
-        Mono<String> cmd = connection.commands().set(key, value, args);
+        Mono<String> cmd = connection.commands(key).set(key, value, args);
         if (get) {
-            cmd = connection.commands().setGet(key, value, args);
+            cmd = connection.commands(key).setGet(key, value, args);
         }
-        mapErrors(cmd, "SET", key).subscribe(
+        // conditional SET and SET with GET reply differently once applied, so they are told apart from SET
+        mapErrors(connection, cmd, "SET" + (nx ? " NX" : "") + (xx ? " XX" : "") + (get ? " GET" : ""), key).subscribe(
             result -> callback.success(Result.<String, Void>builder()
                 .output(result)
                 .build()),
@@ -81,7 +82,7 @@ public class KeyValueCommandOperations {
                      @Content Map<String, String> keyValues,
                      CompletionCallback<Void, Void> callback) {
         LOGGER.debug("MSET {}", keyValues.keySet());
-        mapErrors(connection.commands().mset(keyValues), "MSET")
+        mapErrors(connection, connection.commands().mset(keyValues), "MSET")
             .subscribe(result -> callback.success(Result.<Void, Void>builder().build()),
                 callback::error);
     }
@@ -95,15 +96,15 @@ public class KeyValueCommandOperations {
                      @Optional boolean replace,
                      CompletionCallback<Boolean, Void> callback) {
         LOGGER.debug("COPY {} {}", source, destination);
-        Mono<Boolean> cmd = connection.commands().copy(source, destination);
+        Mono<Boolean> cmd = connection.commands(source).copy(source, destination);
         if (null != destinationDb || replace) {
             CopyArgs args = new CopyArgs().replace(replace);
             if (null != destinationDb) {
                 args = args.destinationDb(destinationDb);
             }
-            cmd = connection.commands().copy(source, destination, args);
+            cmd = connection.commands(source).copy(source, destination, args);
         }
-        mapErrors(cmd, "COPY").subscribe(
+        mapErrors(connection, cmd, "COPY").subscribe(
             result -> callback.success(Result.<Boolean, Void>builder()
                 .output(result)
                 .build()),
@@ -117,7 +118,7 @@ public class KeyValueCommandOperations {
                        @Content String value,
                        CompletionCallback<Long, Void> callback) {
         LOGGER.debug("APPEND {}", key);
-        mapErrors(connection.commands().append(key, value), "APPEND")
+        mapErrors(connection, connection.commands(key).append(key, value), "APPEND")
             .subscribe(
                 result -> callback.success(Result.<Long, Void>builder()
                     .output(result)
@@ -131,7 +132,7 @@ public class KeyValueCommandOperations {
                      String key,
                      CompletionCallback<Long, Void> callback) {
         LOGGER.debug("INCR {}", key);
-        mapErrors(connection.commands().incr(key), "INCR", key)
+        mapErrors(connection, connection.commands(key).incr(key), "INCR", key)
             .subscribe(
                 result -> callback.success(Result.<Long, Void>builder()
                     .output(result)
@@ -145,7 +146,7 @@ public class KeyValueCommandOperations {
                      String key,
                      CompletionCallback<Long, Void> callback) {
         LOGGER.debug("DECR {}", key);
-        mapErrors(connection.commands().decr(key), "DECR", key)
+        mapErrors(connection, connection.commands(key).decr(key), "DECR", key)
             .subscribe(
                 result -> callback.success(Result.<Long, Void>builder()
                     .output(result)
@@ -160,7 +161,7 @@ public class KeyValueCommandOperations {
                     String key,
                     CompletionCallback<String, Void> callback) {
         LOGGER.debug("GET {}", key);
-        mapErrors(connection.commands().get(key), "GET", key)
+        mapErrors(connection, connection.read(key, "GET", () -> connection.commands(key).get(key)), "GET", key)
             // TODO: Add validator parameter to make this optional
             .switchIfEmpty(Mono.error(new NilValueException("GET", key)))
             .subscribe(
@@ -182,8 +183,8 @@ public class KeyValueCommandOperations {
                          Integer end,
                          CompletionCallback<String, Void> callback) {
         LOGGER.debug("GETRANGE {} {} {}", key, start, end);
-        Mono<String> cmd = connection.commands().getrange(key, start, end);
-        mapErrors(cmd, "GETRANGE", key)
+        Mono<String> cmd = connection.commands(key).getrange(key, start, end);
+        mapErrors(connection, cmd, "GETRANGE", key)
             // TODO: Add validator parameter to make this optional
             .switchIfEmpty(Mono.error(new NilValueException("GETRANGE", key)))
             .subscribe(
@@ -200,8 +201,8 @@ public class KeyValueCommandOperations {
                        String key,
                        CompletionCallback<String, Void> callback) {
         LOGGER.debug("GETDEL {}", key);
-        Mono<String> cmd = connection.commands().getdel(key);
-        mapErrors(cmd, "GETDEL", key)
+        Mono<String> cmd = connection.commands(key).getdel(key);
+        mapErrors(connection, cmd, "GETDEL", key)
             // TODO: Add validator parameter to make this optional
             .switchIfEmpty(Mono.error(new NilValueException("GETDEL", key)))
             .subscribe(
@@ -251,8 +252,8 @@ public class KeyValueCommandOperations {
             return;
         }
 
-        Mono<String> cmd = connection.commands().getex(key, args);
-        mapErrors(cmd, "GETEX", key)
+        Mono<String> cmd = connection.commands(key).getex(key, args);
+        mapErrors(connection, cmd, "GETEX", key)
             // TODO: Add validator parameter to make this optional
             .switchIfEmpty(Mono.error(new NilValueException("GETEX", key)))
             .subscribe(
@@ -272,7 +273,7 @@ public class KeyValueCommandOperations {
             Mono<List<String>> cmd = connection.commands().mget(keys.stream().toArray(String[]::new))
                 .map(kv -> kv.getValueOrElse(null))
                 .collectList();
-            mapErrors(cmd, "MGET").subscribe(
+            mapErrors(connection, cmd, "MGET").subscribe(
                 result -> callback.success(Result.<List<String>, Void>builder()
                     .output(result)
                     .build()),
@@ -289,7 +290,7 @@ public class KeyValueCommandOperations {
                       CompletionCallback<Void, Void> callback) {
         try {
             Mono<Long> cmd = connection.commands().touch(keys.stream().toArray(String[]::new));
-            mapErrors(cmd, "TOUCH")
+            mapErrors(connection, cmd, "TOUCH")
                 .subscribe(result -> callback.success(Result.<Void, Void>builder().build()),
                     callback::error);
         } catch (IllegalArgumentException e) {
@@ -305,7 +306,7 @@ public class KeyValueCommandOperations {
                        @Content String value,
                        CompletionCallback<String, Void> callback) {
         LOGGER.debug("GETSET {}", key);
-        mapErrors(connection.commands().getset(key, value), "GETSET", key)
+        mapErrors(connection, connection.commands(key).getset(key, value), "GETSET", key)
                 .subscribe(
                         result -> callback.success(Result.<String, Void>builder()
                                 .output(result)
@@ -320,7 +321,7 @@ public class KeyValueCommandOperations {
                     List<String> keys,
                     CompletionCallback<Long, Void> callback) {
         LOGGER.debug("DEL {}", keys);
-        mapErrors(connection.commands().del(keys.stream().toArray(String[]::new)), "DEL")
+        mapErrors(connection, connection.commands().del(keys.stream().toArray(String[]::new)), "DEL")
             .subscribe(
                 result -> callback.success(Result.<Long, Void>builder()
                     .output(result)
@@ -335,7 +336,7 @@ public class KeyValueCommandOperations {
                     String key,
                     CompletionCallback<Long, Void> callback) {
         LOGGER.debug("TTL {}", key);
-        mapErrors(connection.commands().ttl(key), "TTL", key)
+        mapErrors(connection, connection.commands(key).ttl(key), "TTL", key)
             .subscribe(
                 result -> callback.success(Result.<Long, Void>builder()
                     .output(result)
@@ -349,7 +350,7 @@ public class KeyValueCommandOperations {
                     String key,
                     CompletionCallback<Long, Void> callback) {
         LOGGER.debug("PTTL {}", key);
-        mapErrors(connection.commands().pttl(key), "PTTL", key)
+        mapErrors(connection, connection.commands(key).pttl(key), "PTTL", key)
             .subscribe(
                 result -> callback.success(Result.<Long, Void>builder()
                     .output(result)
@@ -377,7 +378,7 @@ public class KeyValueCommandOperations {
         if (xx) { args = args.xx(); }
         if (gt) { args = args.gt(); }
         if (lt) { args = args.lt(); }
-        mapErrors(connection.commands().expire(key, seconds, args), "EXPIRE", key)
+        mapErrors(connection, connection.commands(key).expire(key, seconds, args), conditional("EXPIRE", nx, xx, gt, lt), key)
             .subscribe(
                 result -> callback.success(Result.<Boolean, Void>builder()
                     .output(result)
@@ -405,7 +406,7 @@ public class KeyValueCommandOperations {
         if (xx) { args = args.xx(); }
         if (gt) { args = args.gt(); }
         if (lt) { args = args.lt(); }
-        mapErrors(connection.commands().pexpire(key, milliseconds, args), "PEXPIRE", key)
+        mapErrors(connection, connection.commands(key).pexpire(key, milliseconds, args), conditional("PEXPIRE", nx, xx, gt, lt), key)
             .subscribe(
                 result -> callback.success(Result.<Boolean, Void>builder()
                     .output(result)
@@ -419,7 +420,7 @@ public class KeyValueCommandOperations {
                         String key,
                         CompletionCallback<Boolean, Void> callback) {
         LOGGER.debug("PERSIST {}", key);
-        mapErrors(connection.commands().persist(key), "PERSIST", key)
+        mapErrors(connection, connection.commands(key).persist(key), "PERSIST", key)
             .subscribe(
                 result -> callback.success(Result.<Boolean, Void>builder()
                     .output(result)
@@ -446,7 +447,7 @@ public class KeyValueCommandOperations {
             args.type(type);
         }
         LOGGER.debug("SCAN {}", cursor);
-        mapErrors(connection.commands().scan(ScanCursor.of(cursor.toString()), args), "SCAN")
+        mapErrors(connection, connection.scans(null).scan(ScanCursor.of(cursor.toString()), args), "SCAN")
             .subscribe(
                 result -> callback.success(
                     Result.<List<String>, ScanAttributes>builder()
@@ -460,5 +461,11 @@ public class KeyValueCommandOperations {
             );
     }
 
-
+    /**
+     * The text of an expiry command with its conditions, which may reply differently once applied, so that they are
+     * told apart from the unconditional command.
+     */
+    private static String conditional(String command, boolean nx, boolean xx, boolean gt, boolean lt) {
+        return command + (nx ? " NX" : "") + (xx ? " XX" : "") + (gt ? " GT" : "") + (lt ? " LT" : "");
+    }
 }
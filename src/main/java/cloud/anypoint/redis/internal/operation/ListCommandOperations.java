@@ -39,7 +39,7 @@ public class ListCommandOperations {
                       CompletionCallback<Long, Void> callback) {
         LOGGER.debug("LPUSH {}", key);
         try {
-            mapErrors(connection.commands().lpush(key, members.stream().toArray(String[]::new)), "LPUSH", key)
+            mapErrors(connection, connection.commands(key).lpush(key, members.stream().toArray(String[]::new)), "LPUSH", key)
                 .subscribe(
                     result -> callback.success(Result.<Long, Void>builder()
                         .output(result)
@@ -59,7 +59,7 @@ public class ListCommandOperations {
                       CompletionCallback<Long, Void> callback) {
         LOGGER.debug("RPUSH {}", key);
         try {
-            mapErrors(connection.commands().rpush(key, members.stream().toArray(String[]::new)), "RPUSH", key)
+            mapErrors(connection, connection.commands(key).rpush(key, members.stream().toArray(String[]::new)), "RPUSH", key)
                 .subscribe(
                     result -> callback.success(Result.<Long, Void>builder()
                         .output(result)
@@ -79,11 +79,11 @@ public class ListCommandOperations {
                      @MetadataKeyId @Optional Integer count,
                      CompletionCallback<Object, Void> callback) {
         LOGGER.debug("LPOP {}", key);
-        Mono<Object> cmd = connection.commands().lpop(key).map(val -> Arrays.asList(val));
+        Mono<Object> cmd = connection.commands(key).lpop(key).map(val -> Arrays.asList(val));
         if (null != count) {
-            cmd = connection.commands().lpop(key, count).collectList().map(Function.identity());
+            cmd = connection.commands(key).lpop(key, count).collectList().map(Function.identity());
         }
-        mapErrors(cmd, "LPOP", key).subscribe(
+        mapErrors(connection, cmd, "LPOP", key).subscribe(
             result -> callback.success(Result.<Object, Void>builder()
                 .output(result)
                 .build()),
@@ -99,11 +99,11 @@ public class ListCommandOperations {
                      @MetadataKeyId @Optional Integer count,
                      CompletionCallback<Object, Void> callback) {
         LOGGER.debug("RPOP {}", key);
-        Mono<Object> cmd = connection.commands().rpop(key).map(val -> Arrays.asList(val));
+        Mono<Object> cmd = connection.commands(key).rpop(key).map(val -> Arrays.asList(val));
         if (null != count) {
-            cmd = connection.commands().rpop(key, count).collectList().map(Function.identity());
+            cmd = connection.commands(key).rpop(key, count).collectList().map(Function.identity());
         }
-        mapErrors(cmd, "RPOP", key).subscribe(
+        mapErrors(connection, cmd, "RPOP", key).subscribe(
             result -> callback.success(Result.<Object, Void>builder()
                 .output(result)
                 .build()),
@@ -121,9 +121,9 @@ public class ListCommandOperations {
             callback.error(new ArgumentException("BLPOP", new IllegalArgumentException("BLPOP requires at least one key")));
             return;
         }
-        Mono<Map<String, String>> cmd = connection.commands().blpop(timeoutSeconds, keys.stream().toArray(String[]::new))
+        Mono<Map<String, String>> cmd = connection.dedicated(commands -> commands.blpop(timeoutSeconds, keys.stream().toArray(String[]::new)))
                 .map(kv -> Collections.singletonMap(kv.getKey(), kv.getValue()));
-        mapErrors(cmd, "BLPOP")
+        mapErrors(connection, cmd, "BLPOP")
             .switchIfEmpty(Mono.error(new TimeoutException("BLPOP", timeoutSeconds)))
             .subscribe(
                 result -> callback.success(Result.<Map<String, String>, Void>builder()
@@ -143,9 +143,9 @@ public class ListCommandOperations {
             callback.error(new ArgumentException("BRPOP", new IllegalArgumentException("BRPOP requires at least one key")));
             return;
         }
-        Mono<Map<String, String>> cmd = connection.commands().brpop(timeoutSeconds, keys.stream().toArray(String[]::new))
+        Mono<Map<String, String>> cmd = connection.dedicated(commands -> commands.brpop(timeoutSeconds, keys.stream().toArray(String[]::new)))
                 .map(kv -> Collections.singletonMap(kv.getKey(), kv.getValue()));
-        mapErrors(cmd, "BRPOP")
+        mapErrors(connection, cmd, "BRPOP")
             .switchIfEmpty(Mono.error(new TimeoutException("BRPOP", timeoutSeconds)))
             .subscribe(
                 result -> callback.success(Result.<Map<String, String>, Void>builder()
@@ -162,8 +162,8 @@ public class ListCommandOperations {
                      @Content String element,
                      CompletionCallback<Void, Void> callback) {
         LOGGER.debug("LSET {}", key);
-        Mono<String> cmd = connection.commands().lset(key, index, element);
-        mapErrors(cmd, "LSET", key)
+        Mono<String> cmd = connection.commands(key).lset(key, index, element);
+        mapErrors(connection, cmd, "LSET", key)
             .onErrorMap(RedisCommandExecutionException.class, OutOfRangeException::new)
             .subscribe(
                 result -> callback.success(Result.<Void, Void>builder().build()),
@@ -181,8 +181,8 @@ public class ListCommandOperations {
                       CompletionCallback<String, Void> callback) {
         LOGGER.debug("LMOVE {} {}", source, destination);
         LMoveArgs args = getCommandArgsLMove(whereFrom, whereTo);
-        Mono<String> cmd = connection.commands().lmove(source, destination, args);
-        mapErrors(cmd, "LMOVE").subscribe(
+        Mono<String> cmd = connection.commands(source).lmove(source, destination, args);
+        mapErrors(connection, cmd, "LMOVE").subscribe(
             result -> callback.success(Result.<String, Void>builder()
                 .output(result)
                 .build()),
@@ -201,8 +201,8 @@ public class ListCommandOperations {
                       CompletionCallback<String, Void> callback) {
         LOGGER.debug("BLMOVE {} {}", source, destination);
         LMoveArgs args = getCommandArgsLMove(whereFrom, whereTo);
-        Mono<String> cmd = connection.commands().blmove(source, destination, args, timeout);
-        mapErrors(cmd, "BLMOVE").subscribe(
+        Mono<String> cmd = connection.dedicated(commands -> commands.blmove(source, destination, args, timeout));
+        mapErrors(connection, cmd, "BLMOVE").subscribe(
                 result -> callback.success(Result.<String, Void>builder()
                         .output(result)
                         .build()),
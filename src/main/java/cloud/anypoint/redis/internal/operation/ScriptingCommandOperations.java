@@ -0,0 +1,143 @@
+package cloud.anypoint.redis.internal.operation;
+
+import static cloud.anypoint.redis.internal.util.ErrorDecorator.mapErrors;
+import cloud.anypoint.redis.api.CommandReturnType;
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import cloud.anypoint.redis.internal.exception.NilValueException;
+import cloud.anypoint.redis.internal.metadata.AllCommandsErrorTypeProvider;
+import cloud.anypoint.redis.internal.metadata.DynamicCommandOutputTypeResolver;
+import cloud.anypoint.redis.internal.metadata.NilErrorTypeProvider;
+import cloud.anypoint.redis.internal.metadata.WrongTypeErrorTypeProvider;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.cluster.api.reactive.RedisClusterReactiveCommands;
+import org.mule.runtime.extension.api.annotation.error.Throws;
+import org.mule.runtime.extension.api.annotation.metadata.MetadataKeyId;
+import org.mule.runtime.extension.api.annotation.metadata.OutputResolver;
+import org.mule.runtime.extension.api.annotation.param.Connection;
+import org.mule.runtime.extension.api.annotation.param.MediaType;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ScriptingCommandOperations {
+    private final Logger LOGGER = LoggerFactory.getLogger(ScriptingCommandOperations.class);
+
+    @DisplayName("EVAL")
+    @Summary("Runs a Lua script. Only the SHA1 digest of the script is sent, the script itself is sent once to load it when the server does not know it yet.")
+    @OutputResolver(output = DynamicCommandOutputTypeResolver.class)
+    @MediaType(value = "application/java", strict = false)
+    @Throws({NilErrorTypeProvider.class, WrongTypeErrorTypeProvider.class, AllCommandsErrorTypeProvider.class})
+    public void eval(@Connection LettuceRedisConnection connection,
+                     String script,
+                     @Optional List<String> keys,
+                     @Optional List<String> arguments,
+                     @MetadataKeyId CommandReturnType returnType,
+                     CompletionCallback<Object, Void> callback) {
+        String digest = connection.scripts().register(script);
+        LOGGER.debug("EVALSHA {} {}", digest, keys);
+        evalsha(connection, digest, script, keys, arguments, returnType, callback);
+    }
+
+    @DisplayName("EVALSHA")
+    @Summary("Runs a Lua script by its SHA1 digest. Scripts preloaded by the config or recently run by EVAL are loaded again when the server does not know them.")
+    @OutputResolver(output = DynamicCommandOutputTypeResolver.class)
+    @MediaType(value = "application/java", strict = false)
+    @Throws({NilErrorTypeProvider.class, WrongTypeErrorTypeProvider.class, AllCommandsErrorTypeProvider.class})
+    public void evalsha(@Connection LettuceRedisConnection connection,
+                        String sha1,
+                        @Optional List<String> keys,
+                        @Optional List<String> arguments,
+                        @MetadataKeyId CommandReturnType returnType,
+                        CompletionCallback<Object, Void> callback) {
+        LOGGER.debug("EVALSHA {} {}", sha1, keys);
+        evalsha(connection, sha1, connection.scripts().script(sha1), keys, arguments, returnType, callback);
+    }
+
+    /**
+     * Runs a script by its digest, loading the script given, if any, when the server does not know it.
+     */
+    private void evalsha(LettuceRedisConnection connection,
+                         String sha1,
+                         String script,
+                         List<String> keys,
+                         List<String> arguments,
+                         CommandReturnType returnType,
+                         CompletionCallback<Object, Void> callback) {
+        String[] keyArray = null == keys ? new String[0] : keys.toArray(new String[0]);
+        String[] argArray = null == arguments ? new String[0] : arguments.toArray(new String[0]);
+        RedisClusterReactiveCommands<String, String> commands = connection.commands(keyArray.length == 0 ? null : keyArray[0]);
+        Mono<Object> cmd = commands.<Object>evalsha(sha1, returnType.getScriptOutputType(), keyArray, argArray).next()
+            .onErrorResume(RedisNoScriptException.class, e -> {
+                if (null == script) {
+                    return Mono.error(e);
+                }
+                LOGGER.debug("SCRIPT LOAD {}", sha1);
+                return commands.scriptLoad(script)
+                    .then(commands.<Object>evalsha(sha1, returnType.getScriptOutputType(), keyArray, argArray).next());
+            });
+        mapErrors(connection, cmd, "EVALSHA", String.join(" ", null == keys ? Collections.emptyList() : keys))
+            .switchIfEmpty(Mono.error(new NilValueException("EVALSHA")))
+            .subscribe(
+                result -> callback.success(
+                    Result.<Object, Void>builder()
+                        .output(result)
+                        .build()),
+                callback::error);
+    }
+
+    @DisplayName("FUNCTION LOAD")
+    @MediaType(value = "text/plain", strict = true)
+    @Throws(AllCommandsErrorTypeProvider.class)
+    public void functionLoad(@Connection LettuceRedisConnection connection,
+                             String library,
+                             @Optional(defaultValue = "false") boolean replace,
+                             CompletionCallback<String, Void> callback) {
+        LOGGER.debug("FUNCTION LOAD");
+        mapErrors(connection, connection.commands().functionLoad(library, replace), "FUNCTION LOAD")
+            .subscribe(
+                result -> callback.success(
+                    Result.<String, Void>builder()
+                        .output(result)
+                        .build()),
+                callback::error);
+    }
+
+    @DisplayName("FCALL")
+    @Summary("Calls a function of a loaded library. Read only calls are sent as FCALL_RO, which the read from policy of the config may route to replicas.")
+    @OutputResolver(output = DynamicCommandOutputTypeResolver.class)
+    @MediaType(value = "application/java", strict = false)
+    @Throws({NilErrorTypeProvider.class, WrongTypeErrorTypeProvider.class, AllCommandsErrorTypeProvider.class})
+    public void fcall(@Connection LettuceRedisConnection connection,
+                      String function,
+                      @Optional List<String> keys,
+                      @Optional List<String> arguments,
+                      @Optional(defaultValue = "false") boolean readOnly,
+                      @MetadataKeyId CommandReturnType returnType,
+                      CompletionCallback<Object, Void> callback) {
+        LOGGER.debug("FCALL {} {}", function, keys);
+        String[] keyArray = null == keys ? new String[0] : keys.toArray(new String[0]);
+        String[] argArray = null == arguments ? new String[0] : arguments.toArray(new String[0]);
+        RedisClusterReactiveCommands<String, String> commands = connection.commands(keyArray.length == 0 ? null : keyArray[0]);
+        Mono<Object> cmd = Flux.<Object>from(readOnly
+                ? commands.fcallReadOnly(function, returnType.getScriptOutputType(), keyArray, argArray)
+                : commands.fcall(function, returnType.getScriptOutputType(), keyArray, argArray))
+            .next();
+        mapErrors(connection, cmd, readOnly ? "FCALL_RO" : "FCALL", String.join(" ", null == keys ? Collections.emptyList() : keys))
+            .switchIfEmpty(Mono.error(new NilValueException(readOnly ? "FCALL_RO" : "FCALL")))
+            .subscribe(
+                result -> callback.success(
+                    Result.<Object, Void>builder()
+                        .output(result)
+                        .build()),
+                callback::error);
+    }
+}
@@ -2,6 +2,7 @@ package cloud.anypoint.redis.internal.operation;
 
 import cloud.anypoint.redis.api.paging.LettuceKeyPagingProvider;
 import cloud.anypoint.redis.api.paging.LettuceMapPagingProvider;
+import cloud.anypoint.redis.api.paging.LettuceParallelKeyPagingProvider;
 import cloud.anypoint.redis.api.paging.LettuceScoredValuePagingProvider;
 import cloud.anypoint.redis.api.paging.LettuceValuePagingProvider;
 import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
@@ -31,7 +32,9 @@ public class SearchOperations {
     public PagingProvider<LettuceRedisConnection, String> searchKeys(
             @Optional String match,
             @Optional String type,
-            @Optional Integer pageSizeHint) {
+            @Optional Integer pageSizeHint,
+            @Optional(defaultValue = "0") @Summary("Number of pages fetched ahead while the flow processes the current page.") int prefetchPages,
+            @Optional(defaultValue = "1") @Summary("Number of cluster master nodes scanned concurrently, each with a cursor of its own. With 1, nodes are scanned one after the other.") int parallelism) {
         LOGGER.debug("Search keys with SCAN");
         KeyScanArgs args = new KeyScanArgs();
         if (!StringUtils.isEmpty(match)) {
@@ -44,8 +47,12 @@ public class SearchOperations {
             args.type(type);
         }
 
+        if (parallelism > 1) {
+            return new LettuceParallelKeyPagingProvider((connection, node, cursor) ->
+                    mapErrors(connection, node.scan(cursor, args), "SCAN"), parallelism, Math.max(parallelism, prefetchPages));
+        }
         return new LettuceKeyPagingProvider<String>((connection, cursor) ->
-                mapErrors(connection.commands().scan(KeyScanCursor.of(cursor), args), "SCAN"));
+                mapErrors(connection, connection.scans(null).scan(cursor, args), "SCAN"), prefetchPages);
     }
 
     @Summary("Uses the SSCAN command repeatedly to retrieve all set members that match the arguments, streaming the results and automatically handling the cursor returned from redis.")
@@ -54,7 +61,8 @@ public class SearchOperations {
     public PagingProvider<LettuceRedisConnection, String> searchSetMembers(
             String key,
             @Optional String match,
-            @Optional Integer pageSizeHint) {
+            @Optional Integer pageSizeHint,
+            @Optional(defaultValue = "0") @Summary("Number of pages fetched ahead while the flow processes the current page.") int prefetchPages) {
         LOGGER.debug("Search set members with SSCAN");
         ScanArgs args = new ScanArgs();
         if (!StringUtils.isEmpty(match)) {
@@ -65,7 +73,7 @@ public class SearchOperations {
         }
 
         return new LettuceValuePagingProvider<String>((connection, cursor) ->
-                mapErrors(connection.commands().sscan(key, ValueScanCursor.of(cursor), args), "SSCAN"));
+                mapErrors(connection, connection.scans(key).sscan(key, cursor, args), "SSCAN"), prefetchPages);
     }
 
     @Summary("Uses the HSCAN command repeatedly to retrieve all hash fields that match the arguments, streaming the results and automatically handling the cursor returned from redis.")
@@ -74,7 +82,8 @@ public class SearchOperations {
     public PagingProvider<LettuceRedisConnection, Map<String, String>> searchHashFields(
             String key,
             @Optional String match,
-            @Optional Integer pageSizeHint) {
+            @Optional Integer pageSizeHint,
+            @Optional(defaultValue = "0") @Summary("Number of pages fetched ahead while the flow processes the current page.") int prefetchPages) {
         LOGGER.debug("Search set members with HSCAN");
         ScanArgs args = new ScanArgs();
         if (!StringUtils.isEmpty(match)) {
@@ -85,7 +94,7 @@ public class SearchOperations {
         }
 
         return new LettuceMapPagingProvider((connection, cursor) ->
-                mapErrors(connection.commands().hscan(key, MapScanCursor.of(cursor), args), "HSCAN"));
+                mapErrors(connection, connection.scans(key).hscan(key, cursor, args), "HSCAN"), prefetchPages);
     }
 
     @Summary("Uses the ZSCAN command repeatedly to retrieve all set members that match the arguments, streaming the results and automatically handling the cursor returned from redis.")
@@ -94,7 +103,8 @@ public class SearchOperations {
     public PagingProvider<LettuceRedisConnection, Map<String, Double>> searchSortedSetMembers(
             String key,
             @Optional String match,
-            @Optional Integer pageSizeHint) {
+            @Optional Integer pageSizeHint,
+            @Optional(defaultValue = "0") @Summary("Number of pages fetched ahead while the flow processes the current page.") int prefetchPages) {
         LOGGER.debug("Search set members with ZSCAN");
         ScanArgs args = new ScanArgs();
         if (!StringUtils.isEmpty(match)) {
@@ -105,6 +115,6 @@ public class SearchOperations {
         }
 
         return new LettuceScoredValuePagingProvider((connection, cursor) ->
-                mapErrors(connection.commands().zscan(key, ScoredValueScanCursor.of(cursor), args), "ZSCAN"));
+                mapErrors(connection, connection.scans(key).zscan(key, cursor, args), "ZSCAN"), prefetchPages);
     }
 }
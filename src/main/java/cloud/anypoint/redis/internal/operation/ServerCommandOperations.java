@@ -33,7 +33,7 @@ public class ServerCommandOperations {
                     .map(o -> o.toString());
         }
 
-        mapErrors(cmd, "PING").subscribe(
+        mapErrors(connection, cmd, "PING").subscribe(
             result -> callback.success(Result.<String, Void>builder()
                 .output(result)
                 .build()),
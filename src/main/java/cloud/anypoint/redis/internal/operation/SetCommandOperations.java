@@ -40,8 +40,8 @@ public class SetCommandOperations {
                      @Content List<String> members,
                      CompletionCallback<Long, Void> callback) {
         LOGGER.debug("SADD {} {}", key, members);
-        Mono<Long> cmd = connection.commands().sadd(key, members.stream().toArray(String[]::new));
-        mapErrors(cmd, "SADD", key)
+        Mono<Long> cmd = connection.commands(key).sadd(key, members.stream().toArray(String[]::new));
+        mapErrors(connection, cmd, "SADD", key)
                 .subscribe(
                         result -> callback.success(Result.<Long, Void>builder()
                                 .output(result)
@@ -57,8 +57,8 @@ public class SetCommandOperations {
                      @Content List<String> members,
                      CompletionCallback<Long, Void> callback) {
         LOGGER.debug("SREM {} {}", key, members);
-        Mono<Long> cmd = connection.commands().srem(key, members.stream().toArray(String[]::new));
-        mapErrors(cmd, "SREM", key)
+        Mono<Long> cmd = connection.commands(key).srem(key, members.stream().toArray(String[]::new));
+        mapErrors(connection, cmd, "SREM", key)
                 .subscribe(
                         result -> callback.success(Result.<Long, Void>builder()
                                 .output(result)
@@ -74,8 +74,8 @@ public class SetCommandOperations {
                           String member,
                           CompletionCallback<Boolean, Void> callback) {
         LOGGER.debug("SISMEMBER {} {}", key, member);
-        Mono<Boolean> cmd = connection.commands().sismember(key, member);
-        mapErrors(cmd, "SISMEMBER", key)
+        Mono<Boolean> cmd = connection.commands(key).sismember(key, member);
+        mapErrors(connection, cmd, "SISMEMBER", key)
                 .onErrorMap(RedisCommandExecutionException.class, t -> {
                     if (t.getMessage().startsWith("WRONGTYPE")) {
                         return new WrongTypeException("SISMEMBER", key, t);
@@ -97,9 +97,9 @@ public class SetCommandOperations {
                            @Content List<String> members,
                            CompletionCallback<List<Boolean>, Void> callback) {
         LOGGER.debug("SMISMEMBER {} {}", key, members);
-        Mono<List<Boolean>> cmd = connection.commands().smismember(key, members.stream().toArray(String[]::new))
+        Mono<List<Boolean>> cmd = connection.commands(key).smismember(key, members.stream().toArray(String[]::new))
                 .collectList();
-        mapErrors(cmd, "SMISMEMBER", key)
+        mapErrors(connection, cmd, "SMISMEMBER", key)
                 .subscribe(result -> callback.success(Result.<List<Boolean>, Void>builder()
                         .output(result)
                         .build()),
@@ -113,11 +113,11 @@ public class SetCommandOperations {
                             @Optional Integer count,
                             CompletionCallback<List<String>, Void> callback) {
         LOGGER.debug("SRANDMEMBER {}", key);
-        Flux<String> cmd = Flux.from(connection.commands().srandmember(key));
+        Flux<String> cmd = Flux.from(connection.commands(key).srandmember(key));
         if (null != count) {
-            cmd = connection.commands().srandmember(key, count);
+            cmd = connection.commands(key).srandmember(key, count);
         }
-        mapErrors(cmd.collectList(), "SRANDMEMBER", key)
+        mapErrors(connection, cmd.collectList(), "SRANDMEMBER", key)
                 .subscribe(
                     result -> callback.success(Result.<List<String>, Void>builder()
                         .output(result)
@@ -131,7 +131,7 @@ public class SetCommandOperations {
     public void scard(@Connection LettuceRedisConnection connection,
                       String key,
                       CompletionCallback<Long, Void> callback) {
-        mapErrors(connection.commands().scard(key), "SCARD", key)
+        mapErrors(connection, connection.commands(key).scard(key), "SCARD", key)
                 .subscribe(result -> callback.success(
                         Result.<Long, Void>builder()
                                 .output(result)
@@ -147,7 +147,7 @@ public class SetCommandOperations {
                       CompletionCallback<List<String>, Void> callback) {
         keys.add(0, key);
         Mono<List<String>> cmd = connection.commands().sdiff(keys.stream().toArray(String[]::new)).collectList();
-        mapErrors(cmd, "SDIFF", key)
+        mapErrors(connection, cmd, "SDIFF", key)
             .subscribe(
                 result -> callback.success(Result.<List<String>, Void>builder()
                     .output(result)
@@ -163,11 +163,11 @@ public class SetCommandOperations {
                      String key,
                      @MetadataKeyId @Optional Integer count,
                      CompletionCallback<Object, Void> callback) {
-        Mono<Object> cmd = connection.commands().spop(key).map(Function.identity());
+        Mono<Object> cmd = connection.commands(key).spop(key).map(Function.identity());
         if (null != count) {
-            cmd = connection.commands().spop(key, count).collectList().map(Function.identity());
+            cmd = connection.commands(key).spop(key, count).collectList().map(Function.identity());
         }
-        mapErrors(cmd, "SPOP", key)
+        mapErrors(connection, cmd, "SPOP", key)
             .subscribe(
                 result -> callback.success(Result.<Object, Void>builder()
                     .output(result)
@@ -180,8 +180,8 @@ public class SetCommandOperations {
     public void smembers(@Connection LettuceRedisConnection connection,
                          String key,
                          CompletionCallback<List<String>, Void> callback) {
-        Mono<List<String>> cmd = connection.commands().smembers(key).collectList();
-        mapErrors(cmd, "SMEMBERS", key)
+        Mono<List<String>> cmd = connection.commands(key).smembers(key).collectList();
+        mapErrors(connection, cmd, "SMEMBERS", key)
                 .subscribe(
                         result -> callback.success(Result.<List<String>, Void>builder()
                                 .output(result)
@@ -205,8 +205,8 @@ public class SetCommandOperations {
             args.limit(count);
         }
         LOGGER.debug("SSCAN {} {}", key, cursor);
-        Mono<ValueScanCursor<String>> cmd = connection.commands().sscan(key, ScanCursor.of(cursor.toString()), args);
-        mapErrors(cmd, "SSCAN", key)
+        Mono<ValueScanCursor<String>> cmd = connection.scans(key).sscan(key, ScanCursor.of(cursor.toString()), args);
+        mapErrors(connection, cmd, "SSCAN", key)
                 .subscribe(
                         result -> callback.success(
                                 Result.<List<String>, ScanAttributes>builder()
@@ -66,8 +66,8 @@ public class SortedSetCommandOperations {
         if (ch) {
             args = args.ch();
         }
-        Mono<Long> cmd = connection.commands().zadd(key, args, scoredValues);
-        mapErrors(cmd, "ZADD", key)
+        Mono<Long> cmd = connection.commands(key).zadd(key, args, scoredValues);
+        mapErrors(connection, cmd, "ZADD", key)
                 .subscribe(
                         result -> callback.success(
                                 Result.<Long, Void>builder()
@@ -83,7 +83,7 @@ public class SortedSetCommandOperations {
                        String member,
                        CompletionCallback<Double, Void> callback) {
         LOGGER.debug("ZSCORE {} {}", key, member);
-        mapErrors(connection.commands().zscore(key, member), "ZSCORE", key)
+        mapErrors(connection, connection.commands(key).zscore(key, member), "ZSCORE", key)
             .subscribe(
                 result -> callback.success(Result.<Double, Void>builder()
                         .output(result)
@@ -101,15 +101,15 @@ public class SortedSetCommandOperations {
                       @MetadataKeyId @Optional boolean withScore,
                       CompletionCallback<Object, Void> callback) {
         LOGGER.debug("ZRANK {} {}", key, member);
-        Mono<Object> cmd = connection.commands().zrank(key, member).map(Function.identity());
+        Mono<Object> cmd = connection.commands(key).zrank(key, member).map(Function.identity());
         if (withScore) {
-            cmd = connection.commands().zrankWithScore(key, member).map(scoredValue -> new HashMap<String, Object>() {{
+            cmd = connection.commands(key).zrankWithScore(key, member).map(scoredValue -> new HashMap<String, Object>() {{
                 put("rank", scoredValue.getValue());
                 put("score", scoredValue.getScore());
             }});
         }
 
-        mapErrors(cmd, "ZRANK", key)
+        mapErrors(connection, cmd, "ZRANK", key)
             .switchIfEmpty(Mono.error(new NilValueException("ZRANK", key)))
             .subscribe(
                 result -> callback.success(Result.<Object, Void>builder()
@@ -133,8 +133,8 @@ public class SortedSetCommandOperations {
             args.limit(count);
         }
         LOGGER.debug("ZSCAN {} {}", key, cursor);
-        Mono<ScoredValueScanCursor<String>> cmd = connection.commands().zscan(key, ScanCursor.of(cursor.toString()), args);
-        mapErrors(cmd, "ZSCAN", key)
+        Mono<ScoredValueScanCursor<String>> cmd = connection.scans(key).zscan(key, ScanCursor.of(cursor.toString()), args);
+        mapErrors(connection, cmd, "ZSCAN", key)
             .subscribe(
                 result -> {
                     List<Map<String, Double>> payload = result.getValues().stream()
@@ -59,7 +59,7 @@ public class StreamCommandOperations {
             id = "*";
         }
         args = args.id(id);
-        mapErrors(connection.commands().xadd(key, args, entry), "XADD", key).subscribe(
+        mapErrors(connection, connection.commands(key).xadd(key, args, entry), "XADD", key).subscribe(
             result -> callback.success(Result.<String, Void>builder()
                 .output(result)
                 .build()),
@@ -74,12 +74,12 @@ public class StreamCommandOperations {
                        String end,
                        @Optional Integer count,
                        CompletionCallback<Map<String, Map<String, String>>, Void> callback) {
-        Flux<StreamMessage<String, String>> baseCmd = connection.commands().xrange(key, Range.create(start, end));
+        Flux<StreamMessage<String, String>> baseCmd = connection.commands(key).xrange(key, Range.create(start, end));
         if (null != count) {
-            baseCmd = connection.commands().xrange(key, Range.create(start, end), Limit.from(count));
+            baseCmd = connection.commands(key).xrange(key, Range.create(start, end), Limit.from(count));
         }
         Mono<Map<String, Map<String, String>>> cmd = baseCmd.collectMap(StreamMessage::getId, StreamMessage::getBody);
-        mapErrors(cmd, "XRANGE", key)
+        mapErrors(connection, cmd, "XRANGE", key)
             .switchIfEmpty(Mono.just(new HashMap<>()))
             .subscribe(
                 result -> callback.success(Result.<Map<String, Map<String, String>>, Void>builder()
@@ -102,18 +102,21 @@ public class StreamCommandOperations {
         }
         XReadArgs args = new XReadArgs();
         if (null != count) {
-            args = args.count(count);
+            args.count(count);
         }
         if (null != block) {
-            args = args.block(block);
+            args.block(block);
         }
         XReadArgs.StreamOffset<String>[] offsets = streamWatermarks.stream()
                 .map(w -> XReadArgs.StreamOffset.from(w.getKey(), w.getId()))
                 .toArray(XReadArgs.StreamOffset[]::new);
 
-        Flux<StreamMessage<String, String>> cmd = connection.commands().xread(args, offsets);
+        Mono<List<StreamMessage<String, String>>> cmd = connection.commands().xread(args, offsets).collectList();
+        if (null != block) {
+            cmd = connection.dedicated(commands -> commands.xread(args, offsets).collectList());
+        }
 
-        mapErrors(cmd.collectList(), "XREAD").subscribe(
+        mapErrors(connection, cmd, "XREAD").subscribe(
             result -> {
                 Map<String, List<StreamEntry>> resultMap = new HashMap<>();
                 result.stream().forEach( streamMessage -> {
@@ -147,18 +150,21 @@ public class StreamCommandOperations {
         }
         XReadArgs args = new XReadArgs();
         if (null != count) {
-            args = args.count(count);
+            args.count(count);
         }
         if (null != block) {
-            args = args.block(block);
+            args.block(block);
         }
         XReadArgs.StreamOffset<String>[] offsets = streamWatermarks.stream()
                 .map(w -> XReadArgs.StreamOffset.from(w.getKey(), w.getId()))
                 .toArray(XReadArgs.StreamOffset[]::new);
 
-        Flux<StreamMessage<String, String>> cmd = connection.commands().xreadgroup(Consumer.from(group, consumer), args, offsets);
+        Mono<List<StreamMessage<String, String>>> cmd = connection.commands().xreadgroup(Consumer.from(group, consumer), args, offsets).collectList();
+        if (null != block) {
+            cmd = connection.dedicated(commands -> commands.xreadgroup(Consumer.from(group, consumer), args, offsets).collectList());
+        }
 
-        mapErrors(cmd.collectList(), "XREADGROUP").subscribe(
+        mapErrors(connection, cmd, "XREADGROUP").subscribe(
             result -> {
                 Map<String, List<StreamEntry>> resultMap = new HashMap<>();
                 result.stream().forEach( streamMessage -> {
@@ -187,8 +193,8 @@ public class StreamCommandOperations {
             callback.error(new ArgumentException("XACK", new IllegalArgumentException("XACK requires at least one entry id")));
             return;
         }
-        Mono<Long> cmd = connection.commands().xack(key, group, ids.stream().toArray(String[]::new));
-        mapErrors(cmd, "XACK", key).subscribe(
+        Mono<Long> cmd = connection.commands(key).xack(key, group, ids.stream().toArray(String[]::new));
+        mapErrors(connection, cmd, "XACK", key).subscribe(
             result -> callback.success(Result.<Long, Void>builder()
                 .output(result)
                 .build()),
@@ -207,8 +213,8 @@ public class StreamCommandOperations {
             callback.error(new ArgumentException("XDEL", new IllegalArgumentException("at least one id is required")));
             return;
         }
-        Mono<Long> cmd = connection.commands().xdel(key, ids.stream().toArray(String[]::new));
-        mapErrors(cmd, "XDEL", key).subscribe(
+        Mono<Long> cmd = connection.commands(key).xdel(key, ids.stream().toArray(String[]::new));
+        mapErrors(connection, cmd, "XDEL", key).subscribe(
             result -> callback.success(Result.<Long, Void>builder()
                 .output(result)
                 .build()),
@@ -223,8 +229,8 @@ public class StreamCommandOperations {
                       CompletionCallback<Long, Void> callback) {
         LOGGER.debug("XTRIM {}", key);
         XTrimArgs args = evictionOption.decorate(new XTrimArgs());
-        Mono<Long> cmd = connection.commands().xtrim(key, args);
-        mapErrors(cmd, "XTRIM", key).subscribe(
+        Mono<Long> cmd = connection.commands(key).xtrim(key, args);
+        mapErrors(connection, cmd, "XTRIM", key).subscribe(
             result -> callback.success(Result.<Long, Void>builder()
                 .output(result)
                 .build()),
@@ -252,8 +258,8 @@ public class StreamCommandOperations {
         if (null != entriesRead) {
             args = args.entriesRead(entriesRead);
         }
-        Mono<String> cmd = connection.commands().xgroupCreate(offset, group, args);
-        mapErrors(cmd, "XGROUP CREATE", key).subscribe(
+        Mono<String> cmd = connection.commands(key).xgroupCreate(offset, group, args);
+        mapErrors(connection, cmd, "XGROUP CREATE", key).subscribe(
             result -> callback.success(Result.<Void, Void>builder()
                 .build()),
             callback::error);
@@ -266,8 +272,8 @@ public class StreamCommandOperations {
                               String group,
                               CompletionCallback<Boolean, Void> callback) {
         LOGGER.debug("XGROUP DESTROY {} {}", key, group);
-        Mono<Boolean> cmd = connection.commands().xgroupDestroy(key, group);
-        mapErrors(cmd, "XGROUP DESTROY", key).subscribe(
+        Mono<Boolean> cmd = connection.commands(key).xgroupDestroy(key, group);
+        mapErrors(connection, cmd, "XGROUP DESTROY", key).subscribe(
             result -> callback.success(Result.<Boolean, Void>builder()
                 .output(result)
                 .build()),
@@ -281,12 +287,12 @@ public class StreamCommandOperations {
                             String key,
                             CompletionCallback<List<Map<String, Object>>, Void> callback) {
         LOGGER.debug("XINFO GROUPS {}", key);
-        Flux<Map<String, Object>> baseCmd = connection.commands().xinfoGroups(key)
+        Flux<Map<String, Object>> baseCmd = connection.commands(key).xinfoGroups(key)
             .mapNotNull(o -> (Flux.fromIterable((List<Object>) o)
                 .buffer(2)
                 .collectMap(pair -> pair.get(0).toString(), pair -> pair.get(1))
                 .block()));
-        mapErrors(baseCmd.collectList(), "XINFO GROUPS", key).subscribe(
+        mapErrors(connection, baseCmd.collectList(), "XINFO GROUPS", key).subscribe(
             result -> callback.success(Result.<List<Map<String, Object>>, Void>builder()
                 .output(result)
                 .build()),
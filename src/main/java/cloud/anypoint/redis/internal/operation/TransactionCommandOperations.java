@@ -0,0 +1,102 @@
+package cloud.anypoint.redis.internal.operation;
+
+import static cloud.anypoint.redis.internal.util.ErrorDecorator.mapErrors;
+import cloud.anypoint.redis.api.command.QueuedCommand;
+import cloud.anypoint.redis.internal.commands.CustomReactiveCommands;
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import cloud.anypoint.redis.internal.exception.ArgumentException;
+import cloud.anypoint.redis.internal.exception.NilValueException;
+import cloud.anypoint.redis.internal.metadata.AllCommandsErrorTypeProvider;
+import cloud.anypoint.redis.internal.metadata.ArgumentErrorTypeProvider;
+import cloud.anypoint.redis.internal.metadata.NilErrorTypeProvider;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.lettuce.core.codec.StringCodec;
+import org.mule.runtime.extension.api.annotation.error.Throws;
+import org.mule.runtime.extension.api.annotation.param.Connection;
+import org.mule.runtime.extension.api.annotation.param.MediaType;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TransactionCommandOperations {
+    private final Logger LOGGER = LoggerFactory.getLogger(TransactionCommandOperations.class);
+
+    @DisplayName("Transaction")
+    @Summary("Executes the commands atomically with MULTI and EXEC, and returns the EXEC reply. With watched keys, the reads are sent after WATCH, and the transaction is aborted with NIL when a read does not return its expected reply, or when a watched key is modified before EXEC, so that the commands are only executed on the values they were computed from.")
+    @MediaType(value = "application/java", strict = false)
+    @Throws({NilErrorTypeProvider.class, AllCommandsErrorTypeProvider.class, ArgumentErrorTypeProvider.class})
+    public void transaction(@Connection LettuceRedisConnection connection,
+                            @Optional List<String> watchKeys,
+                            @Optional @Summary("Commands sent once the keys are watched and before MULTI, such as GET or HGET of the watched keys.") List<QueuedCommand> reads,
+                            @Optional @Summary("Replies the reads must return, as text, for the commands to be executed, such as the values the commands were computed from. Null for a nil reply.") List<String> expectedReplies,
+                            List<QueuedCommand> commands,
+                            CompletionCallback<List<Object>, Void> callback) {
+        LOGGER.debug("MULTI of {} commands watching {}", commands.size(), watchKeys);
+        List<String> watch = null == watchKeys ? Collections.emptyList() : watchKeys;
+        List<QueuedCommand> watchedReads = null == reads ? Collections.emptyList() : reads;
+        List<String> expected = null == expectedReplies ? Collections.emptyList() : expectedReplies;
+        if (commands.isEmpty()) {
+            callback.error(new ArgumentException("MULTI", new IllegalArgumentException("MULTI requires at least one command")));
+            return;
+        }
+        if (!watchedReads.isEmpty() && watch.isEmpty()) {
+            callback.error(new ArgumentException("MULTI", new IllegalArgumentException("Reads of a transaction require watched keys")));
+            return;
+        }
+        if (watchedReads.size() != expected.size()) {
+            callback.error(new ArgumentException("MULTI", new IllegalArgumentException("Each read of a transaction requires an expected reply")));
+            return;
+        }
+        // WATCH and MULTI are connection state, so the whole transaction runs on a dedicated connection
+        Mono<List<Object>> cmd = connection.dedicatedConnection(dedicated -> {
+            if (!(dedicated instanceof StatefulRedisConnection)) {
+                return Mono.error(new ArgumentException("MULTI", new IllegalArgumentException("MULTI is not supported by cluster connections")));
+            }
+            StatefulRedisConnection<String, String> transactional = (StatefulRedisConnection<String, String>) dedicated;
+            RedisReactiveCommands<String, String> reactive = transactional.reactive();
+            CustomReactiveCommands customCommands = new CustomReactiveCommands(dedicated, StringCodec.UTF8);
+            Mono<String> watched = watch.isEmpty() ? Mono.empty() : reactive.watch(watch.toArray(new String[0]));
+            // read once the keys are watched, so that a change after the read aborts EXEC, and a change before it
+            // fails the comparison
+            Mono<Boolean> unchanged = Flux.range(0, watchedReads.size())
+                .concatMap(i -> customCommands.dynamic(watchedReads.get(i).getCommand(), watchedReads.get(i).getArguments(), watchedReads.get(i).getReturnType())
+                    .map(reply -> String.valueOf(reply).equals(expected.get(i)))
+                    .defaultIfEmpty(null == expected.get(i)))
+                .all(matches -> matches);
+            Mono<List<Object>> executed = reactive.multi()
+                .then(Mono.defer(() -> {
+                    // queued commands only reply once EXEC is received, their replies are read from the EXEC reply
+                    commands.forEach(command -> customCommands.dynamic(command.getCommand(), command.getArguments(), command.getReturnType()).toFuture());
+                    return reactive.exec();
+                }))
+                .flatMap(result -> result.wasDiscarded()
+                    ? Mono.<List<Object>>error(new NilValueException("EXEC"))
+                    : Mono.just(result.stream().collect(Collectors.toList())));
+            return watched
+                .then(unchanged)
+                .flatMap(matches -> matches ? executed : Mono.<List<Object>>error(new NilValueException("EXEC")))
+                // do not release the connection to the pool with a pending transaction or watched keys
+                .onErrorResume(e -> (transactional.isMulti() ? reactive.discard() : reactive.unwatch())
+                    .onErrorResume(discardError -> Mono.empty())
+                    .then(Mono.error(e)));
+        });
+        mapErrors(connection, cmd, "MULTI")
+            .subscribe(
+                result -> callback.success(
+                    Result.<List<Object>, Void>builder()
+                        .output(result)
+                        .build()),
+                callback::error);
+    }
+}
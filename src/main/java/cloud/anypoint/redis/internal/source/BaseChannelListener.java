@@ -2,9 +2,12 @@ package cloud.anypoint.redis.internal.source;
 
 import cloud.anypoint.redis.api.attributes.ChannelAttributes;
 import cloud.anypoint.redis.internal.connection.LettuceRedisPubSubConnection;
+import cloud.anypoint.redis.internal.jfr.ConnectorEvents;
+import cloud.anypoint.redis.internal.jfr.Recording;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.extension.api.annotation.param.Connection;
+import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.source.Source;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
 import org.slf4j.Logger;
@@ -25,4 +28,21 @@ public abstract class BaseChannelListener extends Source<String, ChannelAttribut
     public void onStop() {
         connection.invalidate();
     }
+
+    protected void deliver(SourceCallback<String, ChannelAttributes> sourceCallback, String pattern, String channel, String message) {
+        Recording recording = ConnectorEvents.getInstance().message(channel, pattern);
+        try {
+            sourceCallback.handle(Result.<String, ChannelAttributes>builder()
+                    .output(message)
+                    .attributes(new ChannelAttributes() {{
+                        setChannel(channel);
+                    }})
+                    .build());
+        } catch (RuntimeException e) {
+            recording.error(e);
+            throw e;
+        } finally {
+            recording.finish();
+        }
+    }
 }
@@ -7,7 +7,6 @@ import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.param.MediaType;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
-import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,12 +29,7 @@ public class ChannelListener extends BaseChannelListener {
         LOGGER.debug("Starting channel listener {}", channels);
         super.onStart(sourceCallback);
         subscriptionDisposer = connection.commands().observeChannels().subscribe(
-                message -> sourceCallback.handle(Result.<String, ChannelAttributes>builder()
-                        .output(message.getMessage())
-                        .attributes(new ChannelAttributes() {{
-                            setChannel(message.getChannel());
-                        }})
-                        .build()),
+                message -> deliver(sourceCallback, null, message.getChannel(), message.getMessage()),
                 e -> sourceCallback.onConnectionException(new ConnectionException(e)));
         connection.commands().subscribe(channels.stream().toArray(String[]::new))
                 .doOnError(e -> sourceCallback.onConnectionException(new ConnectionException(e)))
@@ -7,7 +7,6 @@ import org.mule.runtime.extension.api.annotation.Alias;
 import org.mule.runtime.extension.api.annotation.param.MediaType;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
-import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,12 +29,7 @@ public class ChannelPatternListener extends BaseChannelListener {
         LOGGER.debug("Starting channel pattern listener {}", patterns);
         super.onStart(sourceCallback);
         subscriptionDisposer = connection.commands().observePatterns().subscribe(
-                message -> sourceCallback.handle(Result.<String, ChannelAttributes>builder()
-                        .output(message.getMessage())
-                        .attributes(new ChannelAttributes() {{
-                            setChannel(message.getChannel());
-                        }})
-                        .build()),
+                message -> deliver(sourceCallback, message.getPattern(), message.getChannel(), message.getMessage()),
                 e -> sourceCallback.onConnectionException(new ConnectionException(e)));
         connection.commands().psubscribe(patterns.stream().toArray(String[]::new))
                 .doOnError(e -> sourceCallback.onConnectionException(new ConnectionException(e)))
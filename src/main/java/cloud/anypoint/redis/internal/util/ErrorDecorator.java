@@ -1,17 +1,30 @@
 package cloud.anypoint.redis.internal.util;
 
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
 import cloud.anypoint.redis.internal.exception.CommandException;
+import cloud.anypoint.redis.internal.exception.RejectedException;
 import cloud.anypoint.redis.internal.exception.SyntaxErrorException;
 import cloud.anypoint.redis.internal.exception.TimeoutException;
 import cloud.anypoint.redis.internal.exception.WrongTypeException;
 import io.lettuce.core.RedisCommandExecutionException;
 import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisException;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class ErrorDecorator {
 
-    public static <T> Mono<T> mapErrors(Mono<T> cmd, String commandText) {
-        return cmd
+    public static <T> Mono<T> mapErrors(LettuceRedisConnection connection, Mono<T> cmd, String commandText) {
+        return mapErrors(connection, cmd, commandText, false);
+    }
+
+    /**
+     * Maps the errors of an operation, which the circuit breaker never counts as a slow call if it is long running.
+     */
+    public static <T> Mono<T> mapErrors(LettuceRedisConnection connection, Mono<T> cmd, String commandText, boolean longRunning) {
+        return connection.complete(connection.metrics().countErrors(commandText, connection.protect(commandText, commandText, rejectedOnDispatch(cmd), longRunning)
                 .onErrorMap(RedisCommandTimeoutException.class, TimeoutException::new)
                 .onErrorMap(RedisCommandExecutionException.class, t -> {
                     if (t.getMessage().startsWith("WRONGTYPE")) {
@@ -21,10 +34,17 @@ public class ErrorDecorator {
                         return new SyntaxErrorException(commandText, t);
                     }
                     return t;
-                });
+                })));
+    }
+    public static <T> Mono<T> mapErrors(LettuceRedisConnection connection, Mono<T> cmd, String commandText, String key) {
+        return mapErrors(connection, cmd, commandText, key, commandText);
     }
-    public static <T> Mono<T> mapErrors(Mono<T> cmd, String commandText, String key) {
-        return cmd
+
+    /**
+     * Maps the errors of a command whose metrics are recorded under another name, such as a command sent by name.
+     */
+    public static <T> Mono<T> mapErrors(LettuceRedisConnection connection, Mono<T> cmd, String commandText, String key, String metricsText) {
+        return connection.complete(connection.metrics().countErrors(metricsText, connection.protect(commandText, metricsText, rejectedOnDispatch(cmd), false)
             .onErrorMap(RedisCommandTimeoutException.class, TimeoutException::new)
             .onErrorMap(RedisCommandExecutionException.class, t -> {
                 if (t.getMessage().startsWith("WRONGTYPE")) {
@@ -34,6 +54,30 @@ public class ErrorDecorator {
                     return new SyntaxErrorException(commandText, t);
                 }
                 return new CommandException(t);
+            })));
+    }
+
+    /**
+     * Commands rejected by lettuce without being sent, while disconnected when rejecting commands or when the request
+     * queue is full, fail with a plain {@link RedisException} while they are dispatched, that is within the subscription
+     * to them, whereas commands that were sent fail with one later when their connection is lost, and are mapped to a
+     * {@link RedisConnectionException}, which the circuit breaker and retry policy tell apart by its type. Dedicated
+     * connections left in the pool are rejected where they are acquired.
+     */
+    private static <T> Mono<T> rejectedOnDispatch(Mono<T> cmd) {
+        return Mono.defer(() -> {
+            AtomicBoolean dispatching = new AtomicBoolean();
+            Mono<T> mapped = cmd.onErrorMap(t -> RedisException.class == t.getClass(), t -> dispatching.get()
+                ? new RejectedException(t)
+                : new RedisConnectionException(t.getMessage(), t));
+            return Mono.<T>from(subscriber -> {
+                dispatching.set(true);
+                try {
+                    mapped.subscribe(subscriber);
+                } finally {
+                    dispatching.set(false);
+                }
             });
+        });
     }
 }
@@ -0,0 +1,134 @@
+package cloud.anypoint.redis.api.paging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.connection.TestConnection;
+import io.lettuce.core.KeyScanArgs;
+import io.lettuce.core.ScanCursor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LettuceParallelKeyPagingProviderTestCase {
+
+  private static final int NODES = 3;
+  private static final int KEYS_PER_NODE = 50;
+
+  private final List<RespServer> servers = new ArrayList<>();
+  private final List<TestConnection> nodes = new ArrayList<>();
+  private final Set<String> expected = new HashSet<>();
+  private final KeyScanArgs args = KeyScanArgs.Builder.limit(5);
+
+  @Before
+  public void startNodes() throws IOException {
+    for (int n = 0; n < NODES; n++) {
+      RespServer server = RespServer.start(0, "x");
+      servers.add(server);
+      TestConnection node = new TestConnection(server.getPort());
+      nodes.add(node);
+      for (int i = 0; i < KEYS_PER_NODE; i++) {
+        node.get().commands().set("node" + n + ":key" + i, "value").block();
+        expected.add("node" + n + ":key" + i);
+      }
+    }
+  }
+
+  @After
+  public void stopNodes() throws IOException {
+    for (TestConnection node : nodes) {
+      node.close();
+    }
+    for (RespServer server : servers) {
+      server.close();
+    }
+  }
+
+  @Test
+  public void everyKeyOfEveryNodeIsReturnedOnce() {
+    LettuceParallelKeyPagingProvider provider = provider((connection, node, cursor) -> node.scan(cursor, args), 3, 3);
+
+    List<String> keys = readAll(provider);
+
+    assertThat(keys.size(), is(expected.size()));
+    assertThat(new HashSet<>(keys), is(expected));
+  }
+
+  @Test
+  public void atMostParallelismNodesAreScannedAtOnce() {
+    AtomicInteger scanning = new AtomicInteger();
+    AtomicInteger mostScanning = new AtomicInteger();
+    LettuceParallelKeyPagingProvider provider = provider((connection, node, cursor) -> {
+      if (ScanCursor.INITIAL == cursor) {
+        mostScanning.accumulateAndGet(scanning.incrementAndGet(), Math::max);
+      }
+      return node.scan(cursor, args)
+          .delayElement(Duration.ofMillis(5))
+          .doOnNext(page -> {
+            if (page.isFinished()) {
+              scanning.decrementAndGet();
+            }
+          });
+    }, 2, 2);
+
+    assertThat(readAll(provider).size(), is(expected.size()));
+    assertThat(mostScanning.get(), is(2));
+  }
+
+  @Test
+  public void pagesAreFetchedAsTheyAreRead() throws InterruptedException {
+    AtomicInteger fetched = new AtomicInteger();
+    LettuceParallelKeyPagingProvider provider = provider((connection, node, cursor) -> {
+      fetched.incrementAndGet();
+      return node.scan(cursor, args);
+    }, 3, 4);
+
+    provider.getPage(nodes.get(0).get());
+    Thread.sleep(200);
+
+    // the pages buffered, and at most a page in flight for each node
+    assertThat(fetched.get() <= 4 + 1 + 2 * 3, is(true));
+  }
+
+  @Test
+  public void closingStopsTheScan() throws Exception {
+    AtomicInteger fetched = new AtomicInteger();
+    LettuceParallelKeyPagingProvider provider = provider((connection, node, cursor) -> {
+      fetched.incrementAndGet();
+      return node.scan(cursor, args).delayElement(Duration.ofMillis(20));
+    }, 3, 3);
+    provider.getPage(nodes.get(0).get());
+
+    provider.close(nodes.get(0).get());
+    Thread.sleep(100);
+    int afterClose = fetched.get();
+    Thread.sleep(200);
+
+    assertThat(fetched.get(), is(afterClose));
+    assertThat(provider.getPage(nodes.get(0).get()).isEmpty(), is(true));
+  }
+
+  private LettuceParallelKeyPagingProvider provider(LettuceParallelKeyPagingProvider.NodeScan scan, int parallelism, int bufferedPages) {
+    return new LettuceParallelKeyPagingProvider(connection -> Flux.fromIterable(nodes).map(node -> node.get().commands()),
+        scan, parallelism, bufferedPages);
+  }
+
+  private List<String> readAll(LettuceParallelKeyPagingProvider provider) {
+    List<String> keys = new ArrayList<>();
+    List<String> page = provider.getPage(nodes.get(0).get());
+    while (!page.isEmpty()) {
+      keys.addAll(page);
+      page = provider.getPage(nodes.get(0).get());
+    }
+    return keys;
+  }
+}
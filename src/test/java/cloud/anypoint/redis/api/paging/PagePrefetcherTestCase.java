@@ -0,0 +1,143 @@
+package cloud.anypoint.redis.api.paging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.connection.TestConnection;
+import io.lettuce.core.KeyScanArgs;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanCursor;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PagePrefetcherTestCase {
+
+  private static final int PAGES = 10;
+
+  @Test
+  public void pagesAreReadInOrder() {
+    PagePrefetcher<KeyScanCursor<String>> prefetcher = new PagePrefetcher<>((connection, cursor) -> page(cursor)
+        .delayElement(Duration.ofMillis(ThreadLocalRandom.current().nextInt(20))), 3);
+
+    List<String> keys = readAll(prefetcher);
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < PAGES; i++) {
+      expected.add("key" + i);
+    }
+    assertThat(keys, is(expected));
+  }
+
+  @Test
+  public void atMostTheDepthOfPagesIsFetchedAhead() throws InterruptedException {
+    AtomicInteger fetched = new AtomicInteger();
+    PagePrefetcher<KeyScanCursor<String>> prefetcher = new PagePrefetcher<>((connection, cursor) -> {
+      fetched.incrementAndGet();
+      return page(cursor);
+    }, 2);
+
+    prefetcher.next(null, ScanCursor.INITIAL);
+    Thread.sleep(100);
+
+    assertThat(fetched.get(), is(3));
+  }
+
+  @Test
+  public void pagesAreNotFetchedAheadWithoutDepth() {
+    AtomicInteger fetched = new AtomicInteger();
+    PagePrefetcher<KeyScanCursor<String>> prefetcher = new PagePrefetcher<>((connection, cursor) -> {
+      fetched.incrementAndGet();
+      return page(cursor);
+    }, 0);
+
+    prefetcher.next(null, ScanCursor.INITIAL);
+
+    assertThat(fetched.get(), is(1));
+  }
+
+  @Test
+  public void failedPageFailsWhenRead() {
+    PagePrefetcher<KeyScanCursor<String>> prefetcher = new PagePrefetcher<>((connection, cursor) ->
+        "2".equals(cursor.getCursor()) ? Mono.error(new IllegalStateException("page 2")) : page(cursor), 3);
+
+    KeyScanCursor<String> first = prefetcher.next(null, ScanCursor.INITIAL);
+    KeyScanCursor<String> second = prefetcher.next(null, first);
+    assertThat(second.getKeys(), is(Collections.singletonList("key1")));
+    try {
+      prefetcher.next(null, second);
+      throw new AssertionError("failed page was read");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), is("page 2"));
+    }
+  }
+
+  @Test
+  public void closingCancelsPagesInFlight() throws InterruptedException {
+    AtomicInteger cancelled = new AtomicInteger();
+    PagePrefetcher<KeyScanCursor<String>> prefetcher = new PagePrefetcher<>((connection, cursor) ->
+        ScanCursor.INITIAL == cursor ? page(cursor) : Mono.<KeyScanCursor<String>>never().doOnCancel(cancelled::incrementAndGet), 2);
+    prefetcher.next(null, ScanCursor.INITIAL);
+
+    prefetcher.close();
+
+    assertThat(cancelled.get(), is(1));
+  }
+
+  @Test
+  public void scanOfTheServerReturnsEveryKeyOnce() throws IOException {
+    try (RespServer server = RespServer.start(0, "x");
+         TestConnection connection = new TestConnection(server.getPort())) {
+      Set<String> expected = new HashSet<>();
+      for (int i = 0; i < 100; i++) {
+        connection.get().commands().set("key" + i, "value").block();
+        expected.add("key" + i);
+      }
+      KeyScanArgs args = KeyScanArgs.Builder.limit(7);
+      PagePrefetcher<KeyScanCursor<String>> prefetcher = new PagePrefetcher<>((redis, cursor) ->
+          redis.commands().scan(cursor, args), 3);
+      List<String> keys = new ArrayList<>();
+      ScanCursor cursor = ScanCursor.INITIAL;
+      do {
+        KeyScanCursor<String> page = prefetcher.next(connection.get(), cursor);
+        keys.addAll(page.getKeys());
+        cursor = page;
+      } while (!cursor.isFinished());
+
+      assertThat(keys.size(), is(expected.size()));
+      assertThat(new HashSet<>(keys), is(expected));
+    }
+  }
+
+  private static List<String> readAll(PagePrefetcher<KeyScanCursor<String>> prefetcher) {
+    List<String> keys = new ArrayList<>();
+    ScanCursor cursor = ScanCursor.INITIAL;
+    do {
+      KeyScanCursor<String> page = prefetcher.next(null, cursor);
+      keys.addAll(page.getKeys());
+      cursor = page;
+    } while (!cursor.isFinished());
+    return keys;
+  }
+
+  /**
+   * The page following the given cursor, page n holding key n and returning cursor n + 1.
+   */
+  private static Mono<KeyScanCursor<String>> page(ScanCursor cursor) {
+    int index = ScanCursor.INITIAL == cursor ? 0 : Integer.parseInt(cursor.getCursor());
+    KeyScanCursor<String> page = new KeyScanCursor<>();
+    page.getKeys().add("key" + index);
+    page.setCursor(String.valueOf(index + 1));
+    page.setFinished(index + 1 == PAGES);
+    return Mono.just(page);
+  }
+}
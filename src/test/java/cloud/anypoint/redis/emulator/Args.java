@@ -0,0 +1,104 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.List;
+
+/**
+ * Arguments of a command, including the command name at index 0.
+ */
+final class Args {
+    private final List<String> values;
+
+    Args(List<String> values) {
+        this.values = values;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    String name() {
+        return values.get(0).toUpperCase();
+    }
+
+    String get(int index) {
+        return values.get(index);
+    }
+
+    String upper(int index) {
+        return values.get(index).toUpperCase();
+    }
+
+    boolean is(int index, String keyword) {
+        return index < values.size() && values.get(index).equalsIgnoreCase(keyword);
+    }
+
+    long longAt(int index) {
+        return parseLong(values.get(index));
+    }
+
+    int intAt(int index) {
+        return parseInt(values.get(index));
+    }
+
+    double doubleAt(int index) {
+        return parseDouble(values.get(index));
+    }
+
+    List<String> from(int index) {
+        return values.subList(index, values.size());
+    }
+
+    List<String> range(int from, int to) {
+        return values.subList(from, to);
+    }
+
+    /**
+     * Fails with a syntax error unless an option taking a value has one.
+     */
+    String valueOf(int optionIndex) {
+        if (optionIndex + 1 >= values.size()) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        return values.get(optionIndex + 1);
+    }
+
+    List<String> all() {
+        return values;
+    }
+
+    static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new RespError(RespError.NOT_INTEGER);
+        }
+    }
+
+    static int parseInt(String value) {
+        long parsed = parseLong(value);
+        if (parsed > Integer.MAX_VALUE || parsed < Integer.MIN_VALUE) {
+            throw new RespError(RespError.NOT_INTEGER);
+        }
+        return (int) parsed;
+    }
+
+    static double parseDouble(String value) {
+        switch (value.toLowerCase()) {
+            case "inf":
+            case "+inf":
+                return Double.POSITIVE_INFINITY;
+            case "-inf":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                try {
+                    double parsed = Double.parseDouble(value);
+                    if (Double.isNaN(parsed)) {
+                        throw new RespError(RespError.NOT_FLOAT);
+                    }
+                    return parsed;
+                } catch (NumberFormatException e) {
+                    throw new RespError(RespError.NOT_FLOAT);
+                }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Commands by name, and the checks redis makes before running one: arity, authentication, the subscribed state of
+ * RESP2 clients and queueing inside MULTI.
+ */
+final class CommandTable {
+    private static final Set<String> UNAUTHENTICATED = new HashSet<>(Arrays.asList("AUTH", "HELLO", "QUIT"));
+    private static final Set<String> SUBSCRIBED = new HashSet<>(Arrays.asList(
+            "SUBSCRIBE", "PSUBSCRIBE", "UNSUBSCRIBE", "PUNSUBSCRIBE", "PING", "QUIT", "RESET"));
+    private static final Set<String> NOT_QUEUED = new HashSet<>(Arrays.asList(
+            "EXEC", "DISCARD", "MULTI", "WATCH", "UNWATCH", "QUIT", "RESET"));
+
+    interface Handler {
+        /**
+         * Runs the command, returning its reply, or null when it already sent its replies itself.
+         */
+        Reply execute(Session session, Args args);
+    }
+
+    private static final class Spec {
+        private final int arity;
+        private final Handler handler;
+
+        private Spec(int arity, Handler handler) {
+            this.arity = arity;
+            this.handler = handler;
+        }
+    }
+
+    private final Map<String, Spec> commands = new HashMap<>();
+
+    /**
+     * Adds a command, where the arity counts the command name, and a negative arity is a minimum.
+     */
+    void add(String name, int arity, Handler handler) {
+        commands.put(name, new Spec(arity, handler));
+    }
+
+    Reply dispatch(Session session, List<String> command) {
+        String name = command.get(0).toUpperCase();
+        Spec spec = commands.get(name);
+        if (null == spec) {
+            return rejected(session, "ERR unknown command '" + command.get(0) + "', with args beginning with: ");
+        }
+        if (spec.arity > 0 ? command.size() != spec.arity : command.size() < -spec.arity) {
+            return rejected(session, RespError.arity(name).getMessage());
+        }
+        if (!session.authenticated && !UNAUTHENTICATED.contains(name)) {
+            return rejected(session, "NOAUTH Authentication required.");
+        }
+        if (2 == session.protocol && session.subscriptions() > 0 && !SUBSCRIBED.contains(name)) {
+            return Reply.error("ERR Can't execute '" + name.toLowerCase()
+                    + "': only (P|S)SUBSCRIBE / (P|S)UNSUBSCRIBE / PING / QUIT / RESET are allowed in this context");
+        }
+        if (null != session.multi && !NOT_QUEUED.contains(name)) {
+            session.multi.add(command);
+            return Reply.QUEUED;
+        }
+        return execute(session, new Args(command));
+    }
+
+    /**
+     * Runs a command holding the database monitor, for clients, transactions and scripts alike.
+     */
+    Reply execute(Session session, Args args) {
+        Spec spec = commands.get(args.name());
+        if (null == spec) {
+            return Reply.error("ERR unknown command '" + args.get(0) + "'");
+        }
+        Database db = session.db();
+        synchronized (db) {
+            Session previous = db.current();
+            db.setCurrent(session);
+            try {
+                return spec.handler.execute(session, args);
+            } catch (RespError e) {
+                return Reply.error(e.getMessage());
+            } finally {
+                db.setCurrent(previous);
+                db.notifyAll();
+            }
+        }
+    }
+
+    private static Reply rejected(Session session, String message) {
+        if (null != session.multi) {
+            session.multiFailed = true;
+        }
+        return Reply.error(message);
+    }
+}
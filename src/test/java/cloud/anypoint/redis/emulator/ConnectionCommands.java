@@ -0,0 +1,170 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Connection and server commands.
+ */
+final class ConnectionCommands {
+    static final String VERSION = "7.2.0";
+
+    private ConnectionCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("PING", -1, ConnectionCommands::ping);
+        table.add("ECHO", 2, (session, args) -> Reply.bulk(args.get(1)));
+        table.add("HELLO", -1, ConnectionCommands::hello);
+        table.add("AUTH", -2, ConnectionCommands::auth);
+        table.add("SELECT", 2, (session, args) -> {
+            if (0 != args.longAt(1)) {
+                throw new RespError("ERR DB index is out of range");
+            }
+            return Reply.OK;
+        });
+        table.add("QUIT", -1, (session, args) -> {
+            session.quit();
+            return Reply.OK;
+        });
+        table.add("CLIENT", -2, ConnectionCommands::client);
+        table.add("INFO", -1, (session, args) -> Reply.bulk("# Server\r\nredis_version:" + VERSION
+                + "\r\nredis_mode:standalone\r\n\r\n# Keyspace\r\ndb0:keys=" + session.db().size() + ",expires=0,avg_ttl=0\r\n"));
+        table.add("DBSIZE", 1, (session, args) -> Reply.integer(session.db().size()));
+        table.add("FLUSHALL", -1, ConnectionCommands::flush);
+        table.add("FLUSHDB", -1, ConnectionCommands::flush);
+        table.add("TIME", 1, (session, args) -> {
+            long micros = System.currentTimeMillis() * 1000;
+            return Reply.array(Reply.bulk(Long.toString(micros / 1_000_000)), Reply.bulk(Long.toString(micros % 1_000_000)));
+        });
+        table.add("COMMAND", -1, (session, args) -> args.size() > 1 && args.is(1, "COUNT")
+                ? Reply.integer(0)
+                : Reply.array(Collections.emptyList()));
+    }
+
+    private static Reply ping(Session session, Args args) {
+        if (args.size() > 2) {
+            throw RespError.arity("PING");
+        }
+        String message = args.size() > 1 ? args.get(1) : null;
+        if (2 == session.protocol && session.subscriptions() > 0) {
+            return Reply.array(Reply.bulk("pong"), Reply.bulk(null == message ? "" : message));
+        }
+        return null == message ? Reply.simple("PONG") : Reply.bulk(message);
+    }
+
+    private static Reply hello(Session session, Args args) {
+        int protocol = session.protocol;
+        if (args.size() > 1) {
+            long requested;
+            try {
+                requested = Long.parseLong(args.get(1));
+            } catch (NumberFormatException e) {
+                throw new RespError("ERR Protocol version is not an integer or out of range");
+            }
+            if (2 != requested && 3 != requested) {
+                throw new RespError("NOPROTO unsupported protocol version");
+            }
+            protocol = (int) requested;
+        }
+        String name = session.name;
+        for (int i = 2; i < args.size(); i++) {
+            if (args.is(i, "AUTH") && i + 2 < args.size()) {
+                authenticate(session, args.get(i + 2));
+                i += 2;
+            } else if (args.is(i, "SETNAME") && i + 1 < args.size()) {
+                name = args.get(++i);
+            } else {
+                throw new RespError("ERR Syntax error in HELLO option '" + args.get(i) + "'");
+            }
+        }
+        if (!session.authenticated) {
+            throw new RespError("NOAUTH HELLO must be called with the client already authenticated, otherwise the HELLO <proto> AUTH <user> <pass> option can be used to authenticate the client and select the RESP protocol version at the same time");
+        }
+        session.protocol = protocol;
+        session.name = name;
+        return Reply.map(Arrays.asList(
+                Reply.bulk("server"), Reply.bulk("redis"),
+                Reply.bulk("version"), Reply.bulk(VERSION),
+                Reply.bulk("proto"), Reply.integer(protocol),
+                Reply.bulk("id"), Reply.integer(session.id),
+                Reply.bulk("mode"), Reply.bulk("standalone"),
+                Reply.bulk("role"), Reply.bulk("master"),
+                Reply.bulk("modules"), Reply.array(Collections.emptyList())));
+    }
+
+    private static Reply auth(Session session, Args args) {
+        if (args.size() > 3) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        if (null == session.server.password && 2 == args.size()) {
+            throw new RespError("ERR AUTH <password> called without any password configured for the default user. Are you sure your configuration is correct?");
+        }
+        authenticate(session, args.get(args.size() - 1));
+        return Reply.OK;
+    }
+
+    private static void authenticate(Session session, String password) {
+        String expected = session.server.password;
+        if (null != expected && !expected.equals(password)) {
+            throw new RespError("WRONGPASS invalid username-password pair or user is disabled.");
+        }
+        session.authenticated = true;
+    }
+
+    private static Reply client(Session session, Args args) {
+        switch (args.upper(1)) {
+            case "SETNAME":
+                if (3 != args.size()) {
+                    throw RespError.arity("CLIENT|SETNAME");
+                }
+                session.name = args.get(2).isEmpty() ? null : args.get(2);
+                return Reply.OK;
+            case "GETNAME":
+                return Reply.bulk(session.name);
+            case "SETINFO":
+                return Reply.OK;
+            case "ID":
+                return Reply.integer(session.id);
+            case "INFO":
+                return Reply.bulk(session + "\n");
+            case "TRACKING":
+                if (args.size() < 3) {
+                    throw RespError.arity("CLIENT|TRACKING");
+                }
+                return tracking(session, args);
+            default:
+                throw new RespError("ERR unknown subcommand '" + args.get(1) + "'. Try CLIENT HELP.");
+        }
+    }
+
+    private static Reply tracking(Session session, Args args) {
+        if (args.is(2, "ON")) {
+            if (args.size() > 3) {
+                // only the default mode is emulated, invalidations are pushed on the tracking connection itself
+                throw new RespError("ERR the emulator only supports the default tracking mode, got '" + args.get(3) + "'");
+            }
+            if (2 == session.protocol) {
+                throw new RespError("ERR the emulator only supports tracking on RESP3 connections");
+            }
+            session.tracking = true;
+            return Reply.OK;
+        }
+        if (args.is(2, "OFF")) {
+            session.tracking = false;
+            session.db().untrack(session);
+            return Reply.OK;
+        }
+        throw new RespError(RespError.SYNTAX);
+    }
+
+    private static Reply flush(Session session, Args args) {
+        for (String option : args.from(1)) {
+            if (!"SYNC".equalsIgnoreCase(option) && !"ASYNC".equalsIgnoreCase(option)) {
+                throw new RespError(RespError.SYNTAX);
+            }
+        }
+        session.db().flush();
+        return Reply.OK;
+    }
+}
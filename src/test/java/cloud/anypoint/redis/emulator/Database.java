@@ -0,0 +1,265 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The keyspace. Commands run one at a time while holding the monitor of the database, which blocking commands wait on
+ * and which is notified after every command.
+ */
+final class Database {
+    private final Map<String, Object> values = new HashMap<>();
+    private final Map<String, Long> expiries = new HashMap<>();
+    private final Map<String, Long> versions = new HashMap<>();
+    private final Map<String, Set<Session>> trackers = new HashMap<>();
+    private final Set<Session> trackingSessions = new HashSet<>();
+    private long version;
+    private Session current;
+
+    void setCurrent(Session session) {
+        this.current = session;
+    }
+
+    Session current() {
+        return current;
+    }
+
+    /**
+     * Waits until notified by another command or the deadline passes, and returns false once the deadline passed.
+     */
+    boolean await(long deadlineMillis) {
+        Session session = current;
+        if (null != session) {
+            // replies to commands pipelined before a blocking one must not wait for it
+            session.flush();
+        }
+        try {
+            long remaining = 0 == deadlineMillis ? 0 : deadlineMillis - System.currentTimeMillis();
+            if (0 != deadlineMillis && remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            current = session;
+        }
+        return 0 == deadlineMillis || System.currentTimeMillis() < deadlineMillis;
+    }
+
+    Object lookup(String key) {
+        Long expiry = expiries.get(key);
+        if (null != expiry && expiry <= System.currentTimeMillis()) {
+            delete(key);
+        }
+        if (null != current && current.isTracking()) {
+            trackers.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(current);
+            trackingSessions.add(current);
+        }
+        return values.get(key);
+    }
+
+    <T> T get(String key, Class<T> type) {
+        Object value = lookup(key);
+        if (null == value) {
+            return null;
+        }
+        if (!type.isInstance(value)) {
+            throw new RespError(RespError.WRONGTYPE);
+        }
+        return type.cast(value);
+    }
+
+    <T> T getOrCreate(String key, Class<T> type, Supplier<T> create) {
+        T value = get(key, type);
+        if (null == value) {
+            value = create.get();
+            values.put(key, value);
+        }
+        return value;
+    }
+
+    String getString(String key) {
+        return get(key, String.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, String> getHash(String key, boolean create) {
+        return create ? getOrCreate(key, LinkedHashMap.class, LinkedHashMap::new) : get(key, LinkedHashMap.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    LinkedList<String> getList(String key, boolean create) {
+        return create ? getOrCreate(key, LinkedList.class, LinkedList::new) : get(key, LinkedList.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    Set<String> getSet(String key, boolean create) {
+        return create ? getOrCreate(key, LinkedHashSet.class, LinkedHashSet::new) : get(key, LinkedHashSet.class);
+    }
+
+    ZSet getZSet(String key, boolean create) {
+        return create ? getOrCreate(key, ZSet.class, ZSet::new) : get(key, ZSet.class);
+    }
+
+    Stream getStream(String key, boolean create) {
+        return create ? getOrCreate(key, Stream.class, Stream::new) : get(key, Stream.class);
+    }
+
+    /**
+     * Replaces the value of a key, clearing its time to live.
+     */
+    void put(String key, Object value) {
+        values.put(key, value);
+        expiries.remove(key);
+        modified(key);
+    }
+
+    /**
+     * Replaces the value of a key, keeping its time to live.
+     */
+    void replace(String key, Object value) {
+        values.put(key, value);
+        modified(key);
+    }
+
+    boolean delete(String key) {
+        expiries.remove(key);
+        if (null != values.remove(key)) {
+            modified(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Deletes collections left empty by a command, as redis does, and marks the key modified.
+     */
+    void written(String key) {
+        Object value = values.get(key);
+        boolean empty = value instanceof Map && ((Map<?, ?>) value).isEmpty()
+                || value instanceof java.util.Collection && ((java.util.Collection<?>) value).isEmpty()
+                || value instanceof ZSet && ((ZSet) value).size() == 0;
+        if (empty) {
+            delete(key);
+        } else {
+            modified(key);
+        }
+    }
+
+    boolean exists(String key) {
+        return null != lookup(key);
+    }
+
+    String type(String key) {
+        Object value = lookup(key);
+        if (null == value) {
+            return "none";
+        }
+        if (value instanceof String) {
+            return "string";
+        }
+        if (value instanceof Map) {
+            return "hash";
+        }
+        if (value instanceof List) {
+            return "list";
+        }
+        if (value instanceof Set) {
+            return "set";
+        }
+        if (value instanceof ZSet) {
+            return "zset";
+        }
+        return "stream";
+    }
+
+    void expireAt(String key, long millis) {
+        expiries.put(key, millis);
+        modified(key);
+    }
+
+    boolean persist(String key) {
+        if (null != expiries.remove(key)) {
+            modified(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Milliseconds to live, -1 without expiry and -2 when the key does not exist.
+     */
+    long ttl(String key) {
+        if (!exists(key)) {
+            return -2;
+        }
+        Long expiry = expiries.get(key);
+        return null == expiry ? -1 : Math.max(0, expiry - System.currentTimeMillis());
+    }
+
+    Long expiry(String key) {
+        return expiries.get(key);
+    }
+
+    List<String> keys() {
+        long now = System.currentTimeMillis();
+        List<String> keys = new ArrayList<>();
+        for (String key : new ArrayList<>(values.keySet())) {
+            Long expiry = expiries.get(key);
+            if (null != expiry && expiry <= now) {
+                delete(key);
+            } else {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    int size() {
+        return keys().size();
+    }
+
+    void flush() {
+        new ArrayList<>(values.keySet()).forEach(key -> versions.put(key, ++version));
+        values.clear();
+        expiries.clear();
+        trackers.clear();
+        for (Session session : trackingSessions) {
+            session.invalidate(null);
+        }
+        trackingSessions.clear();
+    }
+
+    /**
+     * Version of a key, changed by every modification, as watched by transactions.
+     */
+    long version(String key) {
+        return versions.getOrDefault(key, 0L);
+    }
+
+    void modified(String key) {
+        versions.put(key, ++version);
+        Set<Session> sessions = trackers.remove(key);
+        if (null != sessions) {
+            for (Session session : sessions) {
+                session.invalidate(Collections.singletonList(key));
+            }
+        }
+    }
+
+    void untrack(Session session) {
+        trackers.values().forEach(sessions -> sessions.remove(session));
+        trackingSessions.remove(session);
+    }
+}
@@ -0,0 +1,310 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Geo commands, storing positions as 52 bit geohashes in sorted set scores as redis does.
+ */
+final class GeoCommands {
+    private static final double LAT_MIN = -85.05112878;
+    private static final double LAT_MAX = 85.05112878;
+    private static final double LON_MIN = -180;
+    private static final double LON_MAX = 180;
+    private static final int STEP = 26;
+    private static final double EARTH_RADIUS_METERS = 6372797.560856;
+
+    private GeoCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("GEOADD", -5, GeoCommands::geoadd);
+        table.add("GEOPOS", -2, (session, args) -> {
+            ZSet zset = session.db().getZSet(args.get(1), false);
+            List<Reply> positions = new ArrayList<>();
+            for (String member : args.from(2)) {
+                Double score = null == zset ? null : zset.score(member);
+                if (null == score) {
+                    positions.add(Reply.nilArray());
+                } else {
+                    double[] position = decode(score.longValue());
+                    positions.add(Reply.array(Reply.dbl(position[0]), Reply.dbl(position[1])));
+                }
+            }
+            return Reply.array(positions);
+        });
+        table.add("GEODIST", -4, (session, args) -> {
+            if (args.size() > 5) {
+                throw new RespError(RespError.SYNTAX);
+            }
+            double unit = args.size() > 4 ? unit(args.get(4)) : 1;
+            ZSet zset = session.db().getZSet(args.get(1), false);
+            Double from = null == zset ? null : zset.score(args.get(2));
+            Double to = null == zset ? null : zset.score(args.get(3));
+            if (null == from || null == to) {
+                return Reply.nil();
+            }
+            double[] a = decode(from.longValue());
+            double[] b = decode(to.longValue());
+            return Reply.bulk(formatDistance(distance(a[0], a[1], b[0], b[1]) / unit));
+        });
+        table.add("GEOSEARCH", -7, GeoCommands::geosearch);
+    }
+
+    private static Reply geoadd(Session session, Args args) {
+        boolean nx = false;
+        boolean xx = false;
+        boolean ch = false;
+        int i = 2;
+        for (; i < args.size(); i++) {
+            if (args.is(i, "NX")) {
+                nx = true;
+            } else if (args.is(i, "XX")) {
+                xx = true;
+            } else if (args.is(i, "CH")) {
+                ch = true;
+            } else {
+                break;
+            }
+        }
+        if (0 == args.size() - i || 0 != (args.size() - i) % 3) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        if (nx && xx) {
+            throw new RespError("ERR XX and NX options at the same time are not compatible");
+        }
+        List<String> zadd = new ArrayList<>();
+        zadd.add("ZADD");
+        zadd.add(args.get(1));
+        if (nx) {
+            zadd.add("NX");
+        }
+        if (xx) {
+            zadd.add("XX");
+        }
+        if (ch) {
+            zadd.add("CH");
+        }
+        for (; i < args.size(); i += 3) {
+            double longitude = args.doubleAt(i);
+            double latitude = args.doubleAt(i + 1);
+            if (longitude < LON_MIN || longitude > LON_MAX || latitude < LAT_MIN || latitude > LAT_MAX) {
+                throw new RespError(String.format(Locale.ROOT, "ERR invalid longitude,latitude pair %f,%f", longitude, latitude));
+            }
+            zadd.add(Long.toString(encode(longitude, latitude)));
+            zadd.add(args.get(i + 2));
+        }
+        return session.server.commands.execute(session, new Args(zadd));
+    }
+
+    private static Reply geosearch(Session session, Args args) {
+        double[] center = null;
+        Double radius = null;
+        double[] box = null;
+        double unit = 1;
+        Boolean ascending = null;
+        long count = -1;
+        boolean any = false;
+        boolean withCoord = false;
+        boolean withDist = false;
+        boolean withHash = false;
+        ZSet zset = session.db().getZSet(args.get(1), false);
+        for (int i = 2; i < args.size(); i++) {
+            String option = args.upper(i);
+            switch (option) {
+                case "FROMMEMBER":
+                    if (null != center) {
+                        throw fromError();
+                    }
+                    Double score = null == zset ? null : zset.score(args.valueOf(i++));
+                    if (null == score) {
+                        throw new RespError("ERR could not decode requested zset member");
+                    }
+                    center = decode(score.longValue());
+                    break;
+                case "FROMLONLAT":
+                    if (null != center || i + 2 >= args.size()) {
+                        throw null == center ? new RespError(RespError.SYNTAX) : fromError();
+                    }
+                    center = new double[]{args.doubleAt(++i), args.doubleAt(++i)};
+                    break;
+                case "BYRADIUS":
+                    if (null != radius || null != box || i + 2 >= args.size()) {
+                        throw byError();
+                    }
+                    radius = args.doubleAt(++i);
+                    unit = unit(args.get(++i));
+                    break;
+                case "BYBOX":
+                    if (null != radius || null != box || i + 3 >= args.size()) {
+                        throw byError();
+                    }
+                    box = new double[]{args.doubleAt(++i), args.doubleAt(++i)};
+                    unit = unit(args.get(++i));
+                    break;
+                case "ASC":
+                    ascending = true;
+                    break;
+                case "DESC":
+                    ascending = false;
+                    break;
+                case "COUNT":
+                    count = Args.parseLong(args.valueOf(i++));
+                    if (count <= 0) {
+                        throw new RespError("ERR COUNT must be > 0");
+                    }
+                    if (args.is(i + 1, "ANY")) {
+                        any = true;
+                        i++;
+                    }
+                    break;
+                case "WITHCOORD":
+                    withCoord = true;
+                    break;
+                case "WITHDIST":
+                    withDist = true;
+                    break;
+                case "WITHHASH":
+                    withHash = true;
+                    break;
+                default:
+                    throw new RespError(RespError.SYNTAX);
+            }
+        }
+        if (null == center) {
+            throw fromError();
+        }
+        if (null == radius && null == box) {
+            throw byError();
+        }
+        List<Object[]> found = new ArrayList<>();
+        if (null != zset) {
+            for (Map.Entry<String, Double> entry : zset.entries()) {
+                long hash = entry.getValue().longValue();
+                double[] position = decode(hash);
+                double distance = distance(center[0], center[1], position[0], position[1]);
+                boolean inside;
+                if (null != radius) {
+                    inside = distance <= radius * unit;
+                } else {
+                    double height = distance(center[0], center[1], center[0], position[1]);
+                    double width = distance(center[0], position[1], position[0], position[1]);
+                    inside = height <= box[1] * unit / 2 && width <= box[0] * unit / 2;
+                }
+                if (inside) {
+                    found.add(new Object[]{entry.getKey(), distance / unit, hash, position});
+                }
+                if (any && found.size() == count) {
+                    break;
+                }
+            }
+        }
+        if (null == ascending && count > 0 && !any) {
+            ascending = true;
+        }
+        if (null != ascending) {
+            Comparator<Object[]> byDistance = Comparator.comparingDouble(match -> (Double) match[1]);
+            found.sort(ascending ? byDistance : byDistance.reversed());
+        }
+        if (count > 0 && found.size() > count) {
+            found = found.subList(0, (int) count);
+        }
+        List<Reply> replies = new ArrayList<>();
+        for (Object[] match : found) {
+            if (!withCoord && !withDist && !withHash) {
+                replies.add(Reply.bulk((String) match[0]));
+                continue;
+            }
+            List<Reply> item = new ArrayList<>();
+            item.add(Reply.bulk((String) match[0]));
+            if (withDist) {
+                item.add(Reply.bulk(formatDistance((Double) match[1])));
+            }
+            if (withHash) {
+                item.add(Reply.integer((Long) match[2]));
+            }
+            if (withCoord) {
+                double[] position = (double[]) match[3];
+                item.add(Reply.array(Reply.dbl(position[0]), Reply.dbl(position[1])));
+            }
+            replies.add(Reply.array(item));
+        }
+        return Reply.array(replies);
+    }
+
+    private static RespError fromError() {
+        return new RespError("ERR exactly one of FROMMEMBER or FROMLONLAT can be specified for GEOSEARCH");
+    }
+
+    private static RespError byError() {
+        return new RespError("ERR exactly one of BYRADIUS and BYBOX can be specified for GEOSEARCH");
+    }
+
+    private static double unit(String unit) {
+        switch (unit.toLowerCase()) {
+            case "m":
+                return 1;
+            case "km":
+                return 1000;
+            case "mi":
+                return 1609.34;
+            case "ft":
+                return 0.3048;
+            default:
+                throw new RespError("ERR unsupported unit provided. please use M, KM, FT, MI");
+        }
+    }
+
+    private static String formatDistance(double distance) {
+        return String.format(Locale.ROOT, "%.4f", distance);
+    }
+
+    /**
+     * Interleaves the latitude bits at even positions and the longitude bits at odd positions, as redis does.
+     */
+    static long encode(double longitude, double latitude) {
+        long lat = (long) ((latitude - LAT_MIN) / (LAT_MAX - LAT_MIN) * (1L << STEP));
+        long lon = (long) ((longitude - LON_MIN) / (LON_MAX - LON_MIN) * (1L << STEP));
+        lat = Math.min(lat, (1L << STEP) - 1);
+        lon = Math.min(lon, (1L << STEP) - 1);
+        long hash = 0;
+        for (int bit = 0; bit < STEP; bit++) {
+            hash |= ((lat >> bit) & 1) << (2 * bit);
+            hash |= ((lon >> bit) & 1) << (2 * bit + 1);
+        }
+        return hash;
+    }
+
+    /**
+     * The longitude and latitude at the center of the area of a geohash.
+     */
+    static double[] decode(long hash) {
+        long lat = 0;
+        long lon = 0;
+        for (int bit = 0; bit < STEP; bit++) {
+            lat |= ((hash >> (2 * bit)) & 1) << bit;
+            lon |= ((hash >> (2 * bit + 1)) & 1) << bit;
+        }
+        double latUnit = (LAT_MAX - LAT_MIN) / (1L << STEP);
+        double lonUnit = (LON_MAX - LON_MIN) / (1L << STEP);
+        double longitude = LON_MIN + (lon + 0.5) * lonUnit;
+        double latitude = LAT_MIN + (lat + 0.5) * latUnit;
+        return new double[]{
+                Math.max(LON_MIN, Math.min(LON_MAX, longitude)),
+                Math.max(LAT_MIN, Math.min(LAT_MAX, latitude))};
+    }
+
+    /**
+     * Haversine distance in meters.
+     */
+    static double distance(double lon1, double lat1, double lon2, double lat2) {
+        double lat1r = Math.toRadians(lat1);
+        double lat2r = Math.toRadians(lat2);
+        double u = Math.sin((lat2r - lat1r) / 2);
+        double v = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        return 2.0 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(u * u + Math.cos(lat1r) * Math.cos(lat2r) * v * v));
+    }
+}
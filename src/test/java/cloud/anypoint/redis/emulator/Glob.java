@@ -0,0 +1,59 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.regex.Pattern;
+
+/**
+ * Glob style patterns, as used by KEYS, SCAN MATCH and PSUBSCRIBE.
+ */
+final class Glob {
+    private Glob() {
+    }
+
+    static Pattern compile(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    regex.append(".*");
+                    break;
+                case '?':
+                    regex.append('.');
+                    break;
+                case '[':
+                    int end = glob.indexOf(']', i + 1);
+                    if (end < 0 || end == i + 1) {
+                        regex.append("\\[");
+                        break;
+                    }
+                    String set = glob.substring(i + 1, end);
+                    regex.append('[');
+                    if (set.startsWith("^")) {
+                        regex.append('^');
+                        set = set.substring(1);
+                    }
+                    for (char member : set.toCharArray()) {
+                        if ("\\[]^&".indexOf(member) >= 0) {
+                            regex.append('\\');
+                        }
+                        regex.append(member);
+                    }
+                    regex.append(']');
+                    i = end;
+                    break;
+                case '\\':
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                    break;
+                default:
+                    regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    static boolean matches(String glob, String value) {
+        return compile(glob).matcher(value).matches();
+    }
+}
@@ -0,0 +1,131 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash commands.
+ */
+final class HashCommands {
+    private HashCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("HSET", -4, HashCommands::hset);
+        table.add("HMSET", -4, (session, args) -> {
+            hset(session, args);
+            return Reply.OK;
+        });
+        table.add("HSETNX", 4, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), true);
+            if (hash.containsKey(args.get(2))) {
+                return Reply.integer(0);
+            }
+            hash.put(args.get(2), args.get(3));
+            session.db().written(args.get(1));
+            return Reply.integer(1);
+        });
+        table.add("HGET", 3, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            return Reply.bulk(null == hash ? null : hash.get(args.get(2)));
+        });
+        table.add("HGETALL", 2, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            List<Reply> entries = new ArrayList<>();
+            if (null != hash) {
+                hash.forEach((field, value) -> {
+                    entries.add(Reply.bulk(field));
+                    entries.add(Reply.bulk(value));
+                });
+            }
+            return Reply.map(entries);
+        });
+        table.add("HMGET", -3, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            List<Reply> values = new ArrayList<>();
+            for (String field : args.from(2)) {
+                values.add(Reply.bulk(null == hash ? null : hash.get(field)));
+            }
+            return Reply.array(values);
+        });
+        table.add("HEXISTS", 3, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            return Reply.integer(null != hash && hash.containsKey(args.get(2)) ? 1 : 0);
+        });
+        table.add("HLEN", 2, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            return Reply.integer(null == hash ? 0 : hash.size());
+        });
+        table.add("HSTRLEN", 3, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            String value = null == hash ? null : hash.get(args.get(2));
+            return Reply.integer(null == value ? 0 : value.length());
+        });
+        table.add("HDEL", -3, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            if (null == hash) {
+                return Reply.integer(0);
+            }
+            long removed = 0;
+            for (String field : args.from(2)) {
+                removed += null != hash.remove(field) ? 1 : 0;
+            }
+            if (removed > 0) {
+                session.db().written(args.get(1));
+            }
+            return Reply.integer(removed);
+        });
+        table.add("HKEYS", 2, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            return Reply.bulks(null == hash ? new ArrayList<>() : new ArrayList<>(hash.keySet()));
+        });
+        table.add("HVALS", 2, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            return Reply.bulks(null == hash ? new ArrayList<>() : new ArrayList<>(hash.values()));
+        });
+        table.add("HINCRBY", 4, (session, args) -> {
+            long increment = args.longAt(3);
+            Map<String, String> hash = session.db().getHash(args.get(1), true);
+            String value = hash.get(args.get(2));
+            long current;
+            try {
+                current = null == value ? 0 : Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new RespError("ERR hash value is not an integer");
+            }
+            long result;
+            try {
+                result = Math.addExact(current, increment);
+            } catch (ArithmeticException e) {
+                throw new RespError("ERR increment or decrement would overflow");
+            }
+            hash.put(args.get(2), Long.toString(result));
+            session.db().written(args.get(1));
+            return Reply.integer(result);
+        });
+        table.add("HSCAN", -3, (session, args) -> {
+            Map<String, String> hash = session.db().getHash(args.get(1), false);
+            KeyCommands.Page page = KeyCommands.page(null == hash ? new ArrayList<>() : hash.keySet(), args, 2, false);
+            List<Reply> entries = new ArrayList<>();
+            for (String field : page.names) {
+                entries.add(Reply.bulk(field));
+                entries.add(Reply.bulk(hash.get(field)));
+            }
+            return page.reply(Reply.array(entries));
+        });
+    }
+
+    private static Reply hset(Session session, Args args) {
+        if (0 != args.size() % 2) {
+            throw RespError.arity(args.name());
+        }
+        Map<String, String> hash = session.db().getHash(args.get(1), true);
+        long added = 0;
+        for (int i = 2; i < args.size(); i += 2) {
+            added += null == hash.put(args.get(i), args.get(i + 1)) ? 1 : 0;
+        }
+        session.db().written(args.get(1));
+        return Reply.integer(added);
+    }
+}
@@ -0,0 +1,259 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Generic key commands, and the cursor paging shared by SCAN, HSCAN, SSCAN and ZSCAN.
+ */
+final class KeyCommands {
+    private KeyCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("DEL", -2, KeyCommands::del);
+        table.add("UNLINK", -2, KeyCommands::del);
+        table.add("EXISTS", -2, (session, args) -> {
+            long count = 0;
+            for (String key : args.from(1)) {
+                count += session.db().exists(key) ? 1 : 0;
+            }
+            return Reply.integer(count);
+        });
+        table.add("TOUCH", -2, (session, args) -> {
+            long count = 0;
+            for (String key : args.from(1)) {
+                count += session.db().exists(key) ? 1 : 0;
+            }
+            return Reply.integer(count);
+        });
+        table.add("TYPE", 2, (session, args) -> Reply.simple(session.db().type(args.get(1))));
+        table.add("EXPIRE", -3, (session, args) -> expire(session, args, args.longAt(2) * 1000 + System.currentTimeMillis()));
+        table.add("PEXPIRE", -3, (session, args) -> expire(session, args, args.longAt(2) + System.currentTimeMillis()));
+        table.add("EXPIREAT", -3, (session, args) -> expire(session, args, args.longAt(2) * 1000));
+        table.add("PEXPIREAT", -3, (session, args) -> expire(session, args, args.longAt(2)));
+        table.add("PERSIST", 2, (session, args) ->
+                Reply.integer(session.db().exists(args.get(1)) && session.db().persist(args.get(1)) ? 1 : 0));
+        table.add("TTL", 2, (session, args) -> {
+            long ttl = session.db().ttl(args.get(1));
+            return Reply.integer(ttl < 0 ? ttl : (ttl + 500) / 1000);
+        });
+        table.add("PTTL", 2, (session, args) -> Reply.integer(session.db().ttl(args.get(1))));
+        table.add("COPY", -3, KeyCommands::copy);
+        table.add("RENAME", 3, (session, args) -> {
+            rename(session, args);
+            return Reply.OK;
+        });
+        table.add("KEYS", 2, (session, args) -> {
+            Pattern pattern = Glob.compile(args.get(1));
+            List<String> keys = new ArrayList<>();
+            for (String key : session.db().keys()) {
+                if (pattern.matcher(key).matches()) {
+                    keys.add(key);
+                }
+            }
+            return Reply.bulks(keys);
+        });
+        table.add("SCAN", -2, KeyCommands::scan);
+    }
+
+    private static Reply del(Session session, Args args) {
+        long count = 0;
+        for (String key : args.from(1)) {
+            count += session.db().delete(key) ? 1 : 0;
+        }
+        return Reply.integer(count);
+    }
+
+    private static Reply expire(Session session, Args args, long expiresAt) {
+        String key = args.get(1);
+        Database db = session.db();
+        if (!db.exists(key)) {
+            return Reply.integer(0);
+        }
+        Long current = db.expiry(key);
+        for (String option : args.from(3)) {
+            boolean applies;
+            switch (option.toUpperCase()) {
+                case "NX":
+                    applies = null == current;
+                    break;
+                case "XX":
+                    applies = null != current;
+                    break;
+                case "GT":
+                    applies = null != current && expiresAt > current;
+                    break;
+                case "LT":
+                    applies = null == current || expiresAt < current;
+                    break;
+                default:
+                    throw new RespError("ERR Unsupported option " + option);
+            }
+            if (!applies) {
+                return Reply.integer(0);
+            }
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            db.delete(key);
+        } else {
+            db.expireAt(key, expiresAt);
+        }
+        return Reply.integer(1);
+    }
+
+    private static Reply copy(Session session, Args args) {
+        boolean replace = false;
+        for (int i = 3; i < args.size(); i++) {
+            if (args.is(i, "REPLACE")) {
+                replace = true;
+            } else if (args.is(i, "DB")) {
+                if (0 != Args.parseLong(args.valueOf(i++))) {
+                    throw new RespError("ERR DB index is out of range");
+                }
+            } else {
+                throw new RespError(RespError.SYNTAX);
+            }
+        }
+        Database db = session.db();
+        String source = args.get(1);
+        String destination = args.get(2);
+        Object value = db.lookup(source);
+        if (null == value || !replace && db.exists(destination)) {
+            return Reply.integer(0);
+        }
+        Long expiry = db.expiry(source);
+        db.put(destination, copy(value));
+        if (null != expiry) {
+            db.expireAt(destination, expiry);
+        }
+        return Reply.integer(1);
+    }
+
+    private static void rename(Session session, Args args) {
+        Database db = session.db();
+        Object value = db.lookup(args.get(1));
+        if (null == value) {
+            throw new RespError("ERR no such key");
+        }
+        Long expiry = db.expiry(args.get(1));
+        db.delete(args.get(1));
+        db.put(args.get(2), value);
+        if (null != expiry) {
+            db.expireAt(args.get(2), expiry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            return new LinkedHashMap<>((Map<String, String>) value);
+        }
+        if (value instanceof List) {
+            return new LinkedList<>((List<String>) value);
+        }
+        if (value instanceof Set) {
+            return new LinkedHashSet<>((Set<String>) value);
+        }
+        if (value instanceof ZSet) {
+            return ((ZSet) value).copy();
+        }
+        if (value instanceof Stream) {
+            return ((Stream) value).copy();
+        }
+        return value;
+    }
+
+    private static Reply scan(Session session, Args args) {
+        Page page = page(session.db().keys(), args, 1, true);
+        List<String> keys = new ArrayList<>();
+        for (String key : page.names) {
+            if (null == page.type || page.type.equalsIgnoreCase(session.db().type(key))) {
+                keys.add(key);
+            }
+        }
+        return page.reply(Reply.bulks(keys));
+    }
+
+    /**
+     * A page of a cursor scan, after the MATCH filter.
+     */
+    static final class Page {
+        final long cursor;
+        final List<String> names;
+        final String type;
+
+        private Page(long cursor, List<String> names, String type) {
+            this.cursor = cursor;
+            this.names = names;
+            this.type = type;
+        }
+
+        Reply reply(Reply items) {
+            return Reply.array(Reply.bulk(Long.toString(cursor)), items);
+        }
+    }
+
+    /**
+     * Pages through names ordered by hash code, the cursor being the hash code, plus one, of the next name to return.
+     * Names with the same hash code are always returned in the same page, so that a cursor is stable while names are
+     * added or removed: names present for the whole scan are returned exactly once.
+     */
+    static Page page(Collection<String> names, Args args, int cursorIndex, boolean allowType) {
+        long cursor;
+        try {
+            cursor = Long.parseUnsignedLong(args.get(cursorIndex));
+        } catch (NumberFormatException e) {
+            throw new RespError("ERR invalid cursor");
+        }
+        Pattern match = null;
+        int count = 10;
+        String type = null;
+        for (int i = cursorIndex + 1; i < args.size(); i++) {
+            if (args.is(i, "MATCH")) {
+                match = Glob.compile(args.valueOf(i++));
+            } else if (args.is(i, "COUNT")) {
+                count = Args.parseInt(args.valueOf(i++));
+                if (count < 1) {
+                    throw new RespError(RespError.SYNTAX);
+                }
+            } else if (allowType && args.is(i, "TYPE")) {
+                type = args.valueOf(i++);
+            } else {
+                throw new RespError(RespError.SYNTAX);
+            }
+        }
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(Comparator.comparingLong(KeyCommands::position).thenComparing(Comparator.naturalOrder()));
+        List<String> page = new ArrayList<>();
+        long next = 0;
+        for (String name : sorted) {
+            long position = position(name);
+            if (position < cursor) {
+                continue;
+            }
+            if (page.size() >= count && position != position(page.get(page.size() - 1))) {
+                next = position;
+                break;
+            }
+            page.add(name);
+        }
+        if (null != match) {
+            Pattern filter = match;
+            page.removeIf(name -> !filter.matcher(name).matches());
+        }
+        return new Page(next, page, type);
+    }
+
+    private static long position(String name) {
+        return (name.hashCode() & 0x7fffffffL) + 1;
+    }
+}
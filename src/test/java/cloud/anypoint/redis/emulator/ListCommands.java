@@ -0,0 +1,240 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * List commands, including the blocking ones, which wait on the database until another command pushes an element.
+ */
+final class ListCommands {
+    private ListCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("LPUSH", -3, (session, args) -> push(session, args, true, true));
+        table.add("RPUSH", -3, (session, args) -> push(session, args, false, true));
+        table.add("LPUSHX", -3, (session, args) -> push(session, args, true, false));
+        table.add("RPUSHX", -3, (session, args) -> push(session, args, false, false));
+        table.add("LPOP", -2, (session, args) -> pop(session, args, true));
+        table.add("RPOP", -2, (session, args) -> pop(session, args, false));
+        table.add("LLEN", 2, (session, args) -> {
+            List<String> list = session.db().getList(args.get(1), false);
+            return Reply.integer(null == list ? 0 : list.size());
+        });
+        table.add("LRANGE", 4, (session, args) -> {
+            LinkedList<String> list = session.db().getList(args.get(1), false);
+            if (null == list) {
+                return Reply.array(new ArrayList<>());
+            }
+            int[] range = range(list.size(), args.longAt(2), args.longAt(3));
+            return Reply.bulks(null == range ? new ArrayList<>() : list.subList(range[0], range[1] + 1));
+        });
+        table.add("LINDEX", 3, (session, args) -> {
+            LinkedList<String> list = session.db().getList(args.get(1), false);
+            int index = null == list ? -1 : index(list.size(), args.longAt(2));
+            return Reply.bulk(index < 0 ? null : list.get(index));
+        });
+        table.add("LSET", 4, (session, args) -> {
+            LinkedList<String> list = session.db().getList(args.get(1), false);
+            if (null == list) {
+                throw new RespError("ERR no such key");
+            }
+            int index = index(list.size(), args.longAt(2));
+            if (index < 0) {
+                throw new RespError("ERR index out of range");
+            }
+            list.set(index, args.get(3));
+            session.db().written(args.get(1));
+            return Reply.OK;
+        });
+        table.add("LTRIM", 4, (session, args) -> {
+            LinkedList<String> list = session.db().getList(args.get(1), false);
+            if (null != list) {
+                int[] range = range(list.size(), args.longAt(2), args.longAt(3));
+                List<String> kept = null == range ? new ArrayList<>() : new ArrayList<>(list.subList(range[0], range[1] + 1));
+                list.clear();
+                list.addAll(kept);
+                session.db().written(args.get(1));
+            }
+            return Reply.OK;
+        });
+        table.add("LREM", 4, (session, args) -> {
+            LinkedList<String> list = session.db().getList(args.get(1), false);
+            if (null == list) {
+                return Reply.integer(0);
+            }
+            long count = args.longAt(2);
+            long limit = 0 == count ? Long.MAX_VALUE : Math.abs(count);
+            List<String> ordered = count < 0 ? reversed(list) : new ArrayList<>(list);
+            List<String> kept = new ArrayList<>();
+            long removed = 0;
+            for (String element : ordered) {
+                if (removed < limit && element.equals(args.get(3))) {
+                    removed++;
+                } else {
+                    kept.add(element);
+                }
+            }
+            list.clear();
+            list.addAll(count < 0 ? reversed(kept) : kept);
+            session.db().written(args.get(1));
+            return Reply.integer(removed);
+        });
+        table.add("LMOVE", 5, (session, args) -> Reply.bulk(move(session, args.get(1), args.get(2), side(args, 3), side(args, 4))));
+        table.add("RPOPLPUSH", 3, (session, args) -> Reply.bulk(move(session, args.get(1), args.get(2), false, true)));
+        table.add("BLPOP", -3, (session, args) -> blockingPop(session, args, true));
+        table.add("BRPOP", -3, (session, args) -> blockingPop(session, args, false));
+        table.add("BLMOVE", 6, ListCommands::blockingMove);
+    }
+
+    private static Reply push(Session session, Args args, boolean left, boolean create) {
+        LinkedList<String> list = session.db().getList(args.get(1), create);
+        if (null == list) {
+            return Reply.integer(0);
+        }
+        for (String element : args.from(2)) {
+            if (left) {
+                list.addFirst(element);
+            } else {
+                list.addLast(element);
+            }
+        }
+        session.db().written(args.get(1));
+        return Reply.integer(list.size());
+    }
+
+    private static Reply pop(Session session, Args args, boolean left) {
+        if (args.size() > 3) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        LinkedList<String> list = session.db().getList(args.get(1), false);
+        if (2 == args.size()) {
+            if (null == list) {
+                return Reply.nil();
+            }
+            String element = left ? list.removeFirst() : list.removeLast();
+            session.db().written(args.get(1));
+            return Reply.bulk(element);
+        }
+        long count = args.longAt(2);
+        if (count < 0) {
+            throw new RespError("ERR value is out of range, must be positive");
+        }
+        if (null == list) {
+            return Reply.nilArray();
+        }
+        List<String> elements = new ArrayList<>();
+        while (elements.size() < count && !list.isEmpty()) {
+            elements.add(left ? list.removeFirst() : list.removeLast());
+        }
+        session.db().written(args.get(1));
+        return Reply.bulks(elements);
+    }
+
+    private static String move(Session session, String source, String destination, boolean fromLeft, boolean toLeft) {
+        Database db = session.db();
+        LinkedList<String> from = db.getList(source, false);
+        if (null == from) {
+            return null;
+        }
+        // type check the destination before popping
+        db.getList(destination, false);
+        String element = fromLeft ? from.removeFirst() : from.removeLast();
+        db.written(source);
+        LinkedList<String> to = db.getList(destination, true);
+        if (toLeft) {
+            to.addFirst(element);
+        } else {
+            to.addLast(element);
+        }
+        db.written(destination);
+        return element;
+    }
+
+    private static Reply blockingPop(Session session, Args args, boolean left) {
+        long deadline = deadline(args.get(args.size() - 1));
+        List<String> keys = args.range(1, args.size() - 1);
+        Database db = session.db();
+        while (true) {
+            for (String key : keys) {
+                LinkedList<String> list = db.getList(key, false);
+                if (null != list) {
+                    String element = left ? list.removeFirst() : list.removeLast();
+                    db.written(key);
+                    return Reply.array(Reply.bulk(key), Reply.bulk(element));
+                }
+            }
+            if (session.inExec || !db.await(deadline)) {
+                return Reply.nilArray();
+            }
+        }
+    }
+
+    private static Reply blockingMove(Session session, Args args) {
+        boolean fromLeft = side(args, 3);
+        boolean toLeft = side(args, 4);
+        long deadline = deadline(args.get(5));
+        while (true) {
+            String element = move(session, args.get(1), args.get(2), fromLeft, toLeft);
+            if (null != element) {
+                return Reply.bulk(element);
+            }
+            if (session.inExec || !session.db().await(deadline)) {
+                return Reply.nil();
+            }
+        }
+    }
+
+    /**
+     * Deadline in epoch milliseconds of a blocking command, 0 to wait forever.
+     */
+    static long deadline(String timeoutSeconds) {
+        double timeout;
+        try {
+            timeout = Double.parseDouble(timeoutSeconds);
+        } catch (NumberFormatException e) {
+            throw new RespError("ERR timeout is not a float or out of range");
+        }
+        if (timeout < 0) {
+            throw new RespError("ERR timeout is negative");
+        }
+        return 0 == timeout ? 0 : System.currentTimeMillis() + Math.max(1, (long) (timeout * 1000));
+    }
+
+    private static boolean side(Args args, int index) {
+        if (args.is(index, "LEFT")) {
+            return true;
+        }
+        if (args.is(index, "RIGHT")) {
+            return false;
+        }
+        throw new RespError(RespError.SYNTAX);
+    }
+
+    private static int index(int size, long index) {
+        long resolved = index < 0 ? size + index : index;
+        return resolved < 0 || resolved >= size ? -1 : (int) resolved;
+    }
+
+    /**
+     * Inclusive bounds of a range with redis semantics for negative and out of range indexes, or null when empty.
+     */
+    static int[] range(int size, long start, long end) {
+        if (start < 0) {
+            start = Math.max(0, size + start);
+        }
+        if (end < 0) {
+            end = size + end;
+        }
+        end = Math.min(end, size - 1);
+        return start > end ? null : new int[]{(int) start, (int) end};
+    }
+
+    private static List<String> reversed(List<String> list) {
+        List<String> reversed = new ArrayList<>(list);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+}
@@ -0,0 +1,82 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Publish and subscribe commands. Messages are pushed to subscribers by the thread of the publishing client.
+ */
+final class PubSubCommands {
+    private PubSubCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("SUBSCRIBE", -2, (session, args) -> subscribe(session, args, session.server.channels, session.channels, "subscribe"));
+        table.add("PSUBSCRIBE", -2, (session, args) -> subscribe(session, args, session.server.patterns, session.patterns, "psubscribe"));
+        table.add("UNSUBSCRIBE", -1, (session, args) -> unsubscribe(session, args, session.server.channels, session.channels, "unsubscribe"));
+        table.add("PUNSUBSCRIBE", -1, (session, args) -> unsubscribe(session, args, session.server.patterns, session.patterns, "punsubscribe"));
+        table.add("PUBLISH", 3, PubSubCommands::publish);
+        table.add("PUBSUB", -2, (session, args) -> {
+            if (!args.is(1, "CHANNELS")) {
+                throw new RespError("ERR unknown subcommand '" + args.get(1) + "'. Try PUBSUB HELP.");
+            }
+            List<String> channels = new ArrayList<>();
+            for (String channel : session.server.channels.keySet()) {
+                if (args.size() < 3 || Glob.matches(args.get(2), channel)) {
+                    channels.add(channel);
+                }
+            }
+            return Reply.bulks(channels);
+        });
+    }
+
+    private static Reply subscribe(Session session, Args args, Map<String, Set<Session>> subscriptions, Set<String> subscribed, String kind) {
+        if (null != session.multi) {
+            throw new RespError("ERR Command not allowed inside a transaction");
+        }
+        for (String name : args.from(1)) {
+            subscribed.add(name);
+            RespServer.subscribers(subscriptions, name).add(session);
+            session.send(Reply.push(Arrays.asList(Reply.bulk(kind), Reply.bulk(name), Reply.integer(session.subscriptions()))));
+        }
+        return null;
+    }
+
+    private static Reply unsubscribe(Session session, Args args, Map<String, Set<Session>> subscriptions, Set<String> subscribed, String kind) {
+        List<String> names = args.size() > 1 ? args.from(1) : new ArrayList<>(subscribed);
+        if (names.isEmpty()) {
+            session.send(Reply.push(Arrays.asList(Reply.bulk(kind), Reply.nil(), Reply.integer(session.subscriptions()))));
+        }
+        for (String name : names) {
+            subscribed.remove(name);
+            RespServer.unsubscribe(subscriptions, session, Arrays.asList(name));
+            session.send(Reply.push(Arrays.asList(Reply.bulk(kind), Reply.bulk(name), Reply.integer(session.subscriptions()))));
+        }
+        return null;
+    }
+
+    private static Reply publish(Session session, Args args) {
+        String channel = args.get(1);
+        String message = args.get(2);
+        long receivers = 0;
+        Set<Session> subscribers = session.server.channels.get(channel);
+        if (null != subscribers) {
+            for (Session subscriber : subscribers) {
+                subscriber.push(Reply.push(Arrays.asList(Reply.bulk("message"), Reply.bulk(channel), Reply.bulk(message))));
+                receivers++;
+            }
+        }
+        for (Map.Entry<String, Set<Session>> pattern : session.server.patterns.entrySet()) {
+            if (Glob.matches(pattern.getKey(), channel)) {
+                for (Session subscriber : pattern.getValue()) {
+                    subscriber.push(Reply.push(Arrays.asList(Reply.bulk("pmessage"), Reply.bulk(pattern.getKey()), Reply.bulk(channel), Reply.bulk(message))));
+                    receivers++;
+                }
+            }
+        }
+        return Reply.integer(receivers);
+    }
+}
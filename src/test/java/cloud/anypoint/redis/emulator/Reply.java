@@ -0,0 +1,202 @@
+package cloud.anypoint.redis.emulator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A reply, encoded according to the protocol version negotiated by the client: maps, sets, doubles, nulls and pushes
+ * have dedicated types in RESP3 and are encoded as arrays, bulk strings and nil in RESP2.
+ */
+public final class Reply {
+    enum Type { SIMPLE, ERROR, BULK, INTEGER, DOUBLE, ARRAY, MAP, SET, NULL, NULL_ARRAY, PUSH }
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    static final Reply OK = simple("OK");
+    static final Reply QUEUED = simple("QUEUED");
+
+    private final Type type;
+    private final Object value;
+
+    private Reply(Type type, Object value) {
+        this.type = type;
+        this.value = value;
+    }
+
+    public static Reply simple(String value) {
+        return new Reply(Type.SIMPLE, value);
+    }
+
+    public static Reply error(String message) {
+        return new Reply(Type.ERROR, message);
+    }
+
+    public static Reply bulk(String value) {
+        return null == value ? nil() : new Reply(Type.BULK, value);
+    }
+
+    public static Reply integer(long value) {
+        return new Reply(Type.INTEGER, value);
+    }
+
+    public static Reply dbl(double value) {
+        return new Reply(Type.DOUBLE, value);
+    }
+
+    public static Reply array(List<Reply> items) {
+        return new Reply(Type.ARRAY, items);
+    }
+
+    public static Reply array(Reply... items) {
+        return array(Arrays.asList(items));
+    }
+
+    public static Reply bulks(Collection<String> values) {
+        List<Reply> items = new ArrayList<>(values.size());
+        values.forEach(v -> items.add(bulk(v)));
+        return array(items);
+    }
+
+    /**
+     * A map, given as alternating keys and values.
+     */
+    public static Reply map(List<Reply> keysAndValues) {
+        return new Reply(Type.MAP, keysAndValues);
+    }
+
+    public static Reply set(List<Reply> items) {
+        return new Reply(Type.SET, items);
+    }
+
+    public static Reply nil() {
+        return new Reply(Type.NULL, null);
+    }
+
+    public static Reply nilArray() {
+        return new Reply(Type.NULL_ARRAY, null);
+    }
+
+    public static Reply push(List<Reply> items) {
+        return new Reply(Type.PUSH, items);
+    }
+
+    public boolean isError() {
+        return Type.ERROR == type;
+    }
+
+    public boolean isNil() {
+        return Type.NULL == type || Type.NULL_ARRAY == type;
+    }
+
+    /**
+     * The value as a java object: strings, longs, doubles, lists of values, or null.
+     */
+    public Object toObject() {
+        switch (type) {
+            case ARRAY:
+            case MAP:
+            case SET:
+            case PUSH:
+                List<Object> items = new ArrayList<>();
+                items().forEach(item -> items.add(item.toObject()));
+                return items;
+            default:
+                return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Reply> items() {
+        return null == value ? Collections.emptyList() : (List<Reply>) value;
+    }
+
+    void writeTo(OutputStream out, int protocol) throws IOException {
+        boolean resp3 = protocol >= 3;
+        switch (type) {
+            case SIMPLE:
+                line(out, '+', (String) value);
+                break;
+            case ERROR:
+                line(out, '-', (String) value);
+                break;
+            case BULK:
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                line(out, '$', Integer.toString(bytes.length));
+                out.write(bytes);
+                out.write(CRLF);
+                break;
+            case INTEGER:
+                line(out, ':', value.toString());
+                break;
+            case DOUBLE:
+                if (resp3) {
+                    line(out, ',', formatDouble((Double) value));
+                } else {
+                    bulk(formatDouble((Double) value)).writeTo(out, protocol);
+                }
+                break;
+            case NULL:
+                if (resp3) {
+                    line(out, '_', "");
+                } else {
+                    line(out, '$', "-1");
+                }
+                break;
+            case NULL_ARRAY:
+                if (resp3) {
+                    line(out, '_', "");
+                } else {
+                    line(out, '*', "-1");
+                }
+                break;
+            case MAP:
+                line(out, resp3 ? '%' : '*', Integer.toString(resp3 ? items().size() / 2 : items().size()));
+                writeItems(out, protocol);
+                break;
+            case SET:
+                line(out, resp3 ? '~' : '*', Integer.toString(items().size()));
+                writeItems(out, protocol);
+                break;
+            case PUSH:
+                line(out, resp3 ? '>' : '*', Integer.toString(items().size()));
+                writeItems(out, protocol);
+                break;
+            default:
+                line(out, '*', Integer.toString(items().size()));
+                writeItems(out, protocol);
+        }
+    }
+
+    private void writeItems(OutputStream out, int protocol) throws IOException {
+        for (Reply item : items()) {
+            item.writeTo(out, protocol);
+        }
+    }
+
+    private static void line(OutputStream out, char prefix, String content) throws IOException {
+        out.write(prefix);
+        out.write(content.getBytes(StandardCharsets.UTF_8));
+        out.write(CRLF);
+    }
+
+    static String formatDouble(double value) {
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "inf" : "-inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e17) {
+            return Long.toString((long) value);
+        }
+        return BigDecimal.valueOf(value).toPlainString();
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + value;
+    }
+}
@@ -0,0 +1,19 @@
+package cloud.anypoint.redis.emulator;
+
+/**
+ * An error reply, thrown by commands. The message starts with the error code, e.g. {@code ERR} or {@code WRONGTYPE}.
+ */
+class RespError extends RuntimeException {
+    static final String WRONGTYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+    static final String SYNTAX = "ERR syntax error";
+    static final String NOT_INTEGER = "ERR value is not an integer or out of range";
+    static final String NOT_FLOAT = "ERR value is not a valid float";
+
+    RespError(String message) {
+        super(message, null, false, false);
+    }
+
+    static RespError arity(String command) {
+        return new RespError("ERR wrong number of arguments for '" + command.toLowerCase() + "' command");
+    }
+}
@@ -0,0 +1,88 @@
+package cloud.anypoint.redis.emulator;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads commands sent by clients, either as arrays of bulk strings or as inline commands.
+ */
+final class RespReader {
+    private final InputStream in;
+
+    RespReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * The next command, or null once the client closed the connection.
+     */
+    List<String> read() throws IOException {
+        int first;
+        do {
+            first = in.read();
+            if (first < 0) {
+                return null;
+            }
+        } while ('\r' == first || '\n' == first);
+        if ('*' != first) {
+            String line = (char) first + readLine();
+            String trimmed = line.trim();
+            return trimmed.isEmpty() ? read() : new ArrayList<>(Arrays.asList(trimmed.split("\\s+")));
+        }
+        int count = parseLength(readLine());
+        List<String> command = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            int type = in.read();
+            if (type < 0) {
+                throw new EOFException();
+            }
+            if ('$' != type) {
+                throw new IOException("Protocol error: expected '$', got '" + (char) type + "'");
+            }
+            int length = parseLength(readLine());
+            byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = in.read(bytes, read, length - read);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                read += n;
+            }
+            readLine();
+            command.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return command.isEmpty() ? read() : command;
+    }
+
+    boolean hasBuffered() throws IOException {
+        return in.available() > 0;
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            if ('\r' != b) {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private static int parseLength(String line) throws IOException {
+        try {
+            return Integer.parseInt(line.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Protocol error: invalid length '" + line + "'");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package cloud.anypoint.redis.emulator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embeddable in-memory redis server speaking RESP2 and RESP3 on the loopback interface, implementing the commands
+ * used by the connector: strings, keys, hashes, lists, sets, sorted sets, geo, streams, pub/sub, transactions,
+ * client tracking, and scripts or functions implemented in Java. It lets functional tests, MUnit suites, load tests
+ * and benchmarks run without a redis server.
+ *
+ * <pre>
+ * try (RespServer server = RespServer.start()) {
+ *     // connect to localhost:server.getPort()
+ * }
+ * </pre>
+ */
+public final class RespServer implements Closeable {
+    final Database db = new Database();
+    final CommandTable commands = new CommandTable();
+    final String password;
+    final Map<String, Set<Session>> channels = new ConcurrentHashMap<>();
+    final Map<String, Set<Session>> patterns = new ConcurrentHashMap<>();
+    final Map<String, String> scripts = new ConcurrentHashMap<>();
+    final Map<String, ScriptFunction> scriptFunctions = new ConcurrentHashMap<>();
+    final Map<String, String> libraries = new ConcurrentHashMap<>();
+    final Map<String, String> functionLibraries = new ConcurrentHashMap<>();
+    final Set<String> readOnlyFunctions = ConcurrentHashMap.newKeySet();
+    final Map<String, ScriptFunction> functions = new ConcurrentHashMap<>();
+
+    private final ServerSocket serverSocket;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+
+    private RespServer(int port, String password) throws IOException {
+        this.password = password;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        ConnectionCommands.register(commands);
+        KeyCommands.register(commands);
+        StringCommands.register(commands);
+        HashCommands.register(commands);
+        ListCommands.register(commands);
+        SetCommands.register(commands);
+        SortedSetCommands.register(commands);
+        GeoCommands.register(commands);
+        StreamCommands.register(commands);
+        PubSubCommands.register(commands);
+        TransactionCommands.register(commands);
+        ScriptingCommands.register(commands);
+        Thread acceptor = new Thread(this::accept, "resp-server-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Starts a server on a free port, without authentication.
+     */
+    public static RespServer start() throws IOException {
+        return start(0, null);
+    }
+
+    /**
+     * Starts a server on the given port, or a free one for 0, requiring the given password unless it is null.
+     */
+    public static RespServer start(int port, String password) throws IOException {
+        return new RespServer(port, password);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Implements the Lua script with the given body, run by EVAL, or by EVALSHA once loaded.
+     */
+    public void registerScript(String script, ScriptFunction function) {
+        scriptFunctions.put(ScriptingCommands.digest(script), function);
+    }
+
+    /**
+     * Implements the library function with the given name, run by FCALL once its library is loaded.
+     */
+    public void registerFunction(String name, ScriptFunction function) {
+        functions.put(name, function);
+    }
+
+    /**
+     * Deletes every key, as FLUSHALL does.
+     */
+    public void flushAll() {
+        synchronized (db) {
+            db.flush();
+            db.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        new ArrayList<>(sessions).forEach(Session::close);
+    }
+
+    void disconnected(Session session) {
+        sessions.remove(session);
+        synchronized (db) {
+            unsubscribe(channels, session, new ArrayList<>(session.channels));
+            unsubscribe(patterns, session, new ArrayList<>(session.patterns));
+            db.untrack(session);
+        }
+    }
+
+    static void unsubscribe(Map<String, Set<Session>> subscriptions, Session session, List<String> names) {
+        for (String name : names) {
+            Set<Session> subscribers = subscriptions.get(name);
+            if (null != subscribers) {
+                subscribers.remove(session);
+                if (subscribers.isEmpty()) {
+                    subscriptions.remove(name);
+                }
+            }
+        }
+    }
+
+    static Set<Session> subscribers(Map<String, Set<Session>> subscriptions, String name) {
+        return subscriptions.computeIfAbsent(name, n -> new LinkedHashSet<>());
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Session session = new Session(this, socket);
+                sessions.add(session);
+                Thread handler = new Thread(session, "resp-server-" + getPort() + "-client-" + session.id);
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package cloud.anypoint.redis.emulator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import io.lettuce.core.KeyScanArgs;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.TransactionResult;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class RespServerTestCase {
+
+  private RespServer server;
+  private RedisClient client;
+  private StatefulRedisConnection<String, String> connection;
+  private RedisCommands<String, String> redis;
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    client = RedisClient.create(uri("x"));
+    connection = client.connect();
+    redis = connection.sync();
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    client.shutdown();
+    server.close();
+  }
+
+  @Test(expected = RedisException.class)
+  public void commandsRequireAuthentication() {
+    RedisClient unauthenticated = RedisClient.create(uri(null));
+    try {
+      unauthenticated.connect().sync().get("key");
+    } finally {
+      unauthenticated.shutdown();
+    }
+  }
+
+  @Test
+  public void conditionalSet() {
+    assertThat(redis.set("key", "1", SetArgs.Builder.nx()), is("OK"));
+    assertThat(redis.set("key", "2", SetArgs.Builder.nx()), is(nullValue()));
+    assertThat(redis.set("other", "2", SetArgs.Builder.xx()), is(nullValue()));
+    assertThat(redis.setGet("key", "3"), is("1"));
+    assertThat(redis.incr("key"), is(4L));
+  }
+
+  @Test
+  public void keysExpire() throws InterruptedException {
+    redis.set("key", "value");
+    redis.pexpire("key", 50);
+    Thread.sleep(100);
+
+    assertThat(redis.get("key"), is(nullValue()));
+    assertThat(redis.exists("key"), is(0L));
+  }
+
+  @Test
+  public void hashSetCountsNewFields() {
+    assertThat(redis.hset("hash", "a", "1"), is(true));
+    assertThat(redis.hset("hash", "a", "2"), is(false));
+    assertThat(redis.hget("hash", "a"), is("2"));
+  }
+
+  @Test
+  public void wrongTypeReply() {
+    redis.set("key", "value");
+    try {
+      redis.lpush("key", "element");
+      throw new AssertionError("LPUSH of a string succeeded");
+    } catch (RedisCommandExecutionException e) {
+      assertThat(e.getMessage().startsWith("WRONGTYPE"), is(true));
+    }
+  }
+
+  @Test
+  public void blockingPopIsWokenByAPush() throws Exception {
+    try (StatefulRedisConnection<String, String> blocked = client.connect()) {
+      CompletableFuture<KeyValue<String, String>> popped = blocked.async().blpop(5, "list").toCompletableFuture();
+      Thread.sleep(100);
+      redis.rpush("list", "element");
+
+      assertThat(popped.get(5, TimeUnit.SECONDS).getValue(), is("element"));
+      assertThat(redis.llen("list"), is(0L));
+    }
+  }
+
+  @Test
+  public void blockingPopTimesOut() {
+    assertThat(redis.blpop(0.1, "list"), is(nullValue()));
+  }
+
+  @Test
+  public void sortedSetsAreOrderedByScore() {
+    redis.zadd("zset", 2, "b");
+    redis.zadd("zset", 1, "a");
+    redis.zadd("zset", 3, "c");
+
+    assertThat(redis.zrange("zset", 0, -1), is(Arrays.asList("a", "b", "c")));
+    assertThat(redis.zscore("zset", "b"), is(2.0));
+  }
+
+  @Test
+  public void scanFiltersByType() {
+    for (int i = 0; i < 50; i++) {
+      redis.set("string" + i, "value");
+      redis.hset("hash" + i, "field", "value");
+    }
+    KeyScanArgs args = KeyScanArgs.Builder.limit(10).match("*").type("hash");
+    List<String> keys = new ArrayList<>();
+    KeyScanCursor<String> cursor = redis.scan(args);
+    keys.addAll(cursor.getKeys());
+    while (!cursor.isFinished()) {
+      cursor = redis.scan(cursor, args);
+      keys.addAll(cursor.getKeys());
+    }
+
+    assertThat(keys.size(), is(50));
+    assertThat(keys.stream().allMatch(key -> key.startsWith("hash")), is(true));
+  }
+
+  @Test
+  public void scanReturnsEveryKeyOnce() {
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      redis.set("key" + i, "value");
+      expected.add("key" + i);
+    }
+    List<String> keys = new ArrayList<>();
+    ScanCursor cursor = ScanCursor.INITIAL;
+    do {
+      KeyScanCursor<String> page = redis.scan(cursor, KeyScanArgs.Builder.limit(7));
+      keys.addAll(page.getKeys());
+      cursor = page;
+    } while (!cursor.isFinished());
+
+    assertThat(keys.size(), is(expected.size()));
+    assertThat(new HashSet<>(keys), is(new HashSet<>(expected)));
+  }
+
+  @Test
+  public void watchedKeyWrittenAbortsTheTransaction() {
+    redis.set("key", "1");
+    redis.watch("key");
+    try (StatefulRedisConnection<String, String> other = client.connect()) {
+      other.sync().set("key", "2");
+    }
+    redis.multi();
+    redis.set("key", "3");
+    TransactionResult result = redis.exec();
+
+    assertThat(result.wasDiscarded(), is(true));
+    assertThat(redis.get("key"), is("2"));
+  }
+
+  @Test
+  public void transactionRunsQueuedCommands() {
+    redis.multi();
+    redis.set("key", "1");
+    redis.incr("key");
+    TransactionResult result = redis.exec();
+
+    assertThat(result.wasDiscarded(), is(false));
+    assertThat(result.get(1), is(2L));
+  }
+
+  @Test
+  public void streamEntriesAreReadInOrder() {
+    String first = redis.xadd("stream", Collections.singletonMap("field", "1"));
+    String second = redis.xadd("stream", Collections.singletonMap("field", "2"));
+
+    List<StreamMessage<String, String>> entries = redis.xrange("stream", Range.create("-", "+"));
+    assertThat(entries.size(), is(2));
+    assertThat(entries.get(0).getId(), is(first));
+    assertThat(entries.get(1).getId(), is(second));
+    assertThat(entries.get(1).getBody().get("field"), is("2"));
+  }
+
+  @Test
+  public void publishedMessagesReachSubscribers() throws InterruptedException {
+    BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+    try (StatefulRedisPubSubConnection<String, String> subscriber = client.connectPubSub()) {
+      subscriber.addListener(new RedisPubSubAdapter<String, String>() {
+        @Override
+        public void message(String channel, String message) {
+          messages.add(message);
+        }
+      });
+      subscriber.sync().subscribe("channel");
+
+      assertThat(redis.publish("channel", "message"), is(1L));
+      assertThat(messages.poll(5, TimeUnit.SECONDS), is("message"));
+    }
+  }
+
+  private RedisURI uri(String password) {
+    RedisURI.Builder builder = RedisURI.Builder.redis("localhost", server.getPort());
+    if (null != password) {
+      builder.withPassword(password.toCharArray());
+    }
+    return builder.build();
+  }
+}
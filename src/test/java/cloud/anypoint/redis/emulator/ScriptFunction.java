@@ -0,0 +1,19 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.List;
+
+/**
+ * Java implementation of a Lua script or library function, since the emulator does not run Lua. Registered with
+ * {@link RespServer#registerScript} or {@link RespServer#registerFunction}.
+ */
+@FunctionalInterface
+public interface ScriptFunction {
+    Reply call(List<String> keys, List<String> arguments, Redis redis);
+
+    /**
+     * Runs commands from a script, like {@code redis.call}: an error reply fails the script with that error.
+     */
+    interface Redis {
+        Reply call(String... command);
+    }
+}
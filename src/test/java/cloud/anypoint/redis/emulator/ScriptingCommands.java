@@ -0,0 +1,229 @@
+package cloud.anypoint.redis.emulator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Script and function commands. Lua is not interpreted: scripts and functions run the Java implementation registered
+ * for them on the server, and fail otherwise.
+ */
+final class ScriptingCommands {
+    private static final Pattern LIBRARY_NAME = Pattern.compile("^#!lua\\s+name=(\\S+)");
+    private static final Pattern FUNCTION_NAME = Pattern.compile(
+            "register_function\\s*\\(?\\s*(?:['\"]([^'\"]+)['\"]|\\{[^}]*function_name\\s*=\\s*['\"]([^'\"]+)['\"])");
+
+    private ScriptingCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("SCRIPT", -2, ScriptingCommands::script);
+        table.add("EVAL", -3, (session, args) -> {
+            String digest = digest(args.get(1));
+            session.server.scripts.put(digest, args.get(1));
+            return eval(session, args, digest);
+        });
+        table.add("EVAL_RO", -3, (session, args) -> {
+            String digest = digest(args.get(1));
+            session.server.scripts.put(digest, args.get(1));
+            return eval(session, args, digest);
+        });
+        table.add("EVALSHA", -3, (session, args) -> eval(session, args, args.get(1).toLowerCase()));
+        table.add("EVALSHA_RO", -3, (session, args) -> eval(session, args, args.get(1).toLowerCase()));
+        table.add("FUNCTION", -2, ScriptingCommands::function);
+        table.add("FCALL", -3, ScriptingCommands::fcall);
+        table.add("FCALL_RO", -3, ScriptingCommands::fcall);
+    }
+
+    private static Reply script(Session session, Args args) {
+        Map<String, String> scripts = session.server.scripts;
+        switch (args.upper(1)) {
+            case "LOAD":
+                if (3 != args.size()) {
+                    throw RespError.arity("SCRIPT|LOAD");
+                }
+                String digest = digest(args.get(2));
+                scripts.put(digest, args.get(2));
+                return Reply.bulk(digest);
+            case "EXISTS":
+                List<Reply> exists = new ArrayList<>();
+                for (String sha : args.from(2)) {
+                    exists.add(Reply.integer(scripts.containsKey(sha.toLowerCase()) ? 1 : 0));
+                }
+                return Reply.array(exists);
+            case "FLUSH":
+                scripts.clear();
+                return Reply.OK;
+            default:
+                throw new RespError("ERR unknown subcommand '" + args.get(1) + "'. Try SCRIPT HELP.");
+        }
+    }
+
+    private static Reply eval(Session session, Args args, String digest) {
+        if (!session.server.scripts.containsKey(digest)) {
+            throw new RespError("NOSCRIPT No matching script. Please use EVAL.");
+        }
+        ScriptFunction function = session.server.scriptFunctions.get(digest);
+        if (null == function) {
+            throw new RespError("ERR scripting is not supported by the emulator, register a Java implementation of script " + digest);
+        }
+        return call(session, args, function);
+    }
+
+    private static Reply function(Session session, Args args) {
+        RespServer server = session.server;
+        switch (args.upper(1)) {
+            case "LOAD": {
+                boolean replace = args.is(2, "REPLACE");
+                if (args.size() != (replace ? 4 : 3)) {
+                    throw new RespError(RespError.SYNTAX);
+                }
+                String code = args.get(args.size() - 1);
+                Matcher library = LIBRARY_NAME.matcher(code);
+                if (!library.find()) {
+                    throw new RespError("ERR Missing library metadata");
+                }
+                String name = library.group(1);
+                if (server.libraries.containsKey(name) && !replace) {
+                    throw new RespError("ERR Library '" + name + "' already exists");
+                }
+                List<String> functions = new ArrayList<>();
+                List<String> readOnly = new ArrayList<>();
+                Matcher function = FUNCTION_NAME.matcher(code);
+                boolean found = function.find();
+                while (found) {
+                    String functionName = null != function.group(1) ? function.group(1) : function.group(2);
+                    int start = function.start();
+                    found = function.find();
+                    functions.add(functionName);
+                    // the flags of a function are declared along with it, before the next function is registered
+                    if (code.substring(start, found ? function.start() : code.length()).contains("no-writes")) {
+                        readOnly.add(functionName);
+                    }
+                }
+                if (functions.isEmpty()) {
+                    throw new RespError("ERR No functions registered");
+                }
+                for (String functionName : functions) {
+                    String owner = server.functionLibraries.get(functionName);
+                    if (null != owner && !owner.equals(name)) {
+                        throw new RespError("ERR Function " + functionName + " already exists");
+                    }
+                }
+                server.functionLibraries.entrySet().removeIf(entry -> {
+                    if (entry.getValue().equals(name)) {
+                        server.readOnlyFunctions.remove(entry.getKey());
+                        return true;
+                    }
+                    return false;
+                });
+                functions.forEach(functionName -> server.functionLibraries.put(functionName, name));
+                server.readOnlyFunctions.addAll(readOnly);
+                server.libraries.put(name, code);
+                return Reply.bulk(name);
+            }
+            case "DELETE": {
+                if (3 != args.size()) {
+                    throw RespError.arity("FUNCTION|DELETE");
+                }
+                if (null == server.libraries.remove(args.get(2))) {
+                    throw new RespError("ERR Library not found");
+                }
+                server.functionLibraries.entrySet().removeIf(entry -> {
+                    if (entry.getValue().equals(args.get(2))) {
+                        server.readOnlyFunctions.remove(entry.getKey());
+                        return true;
+                    }
+                    return false;
+                });
+                return Reply.OK;
+            }
+            case "FLUSH":
+                server.libraries.clear();
+                server.functionLibraries.clear();
+                server.readOnlyFunctions.clear();
+                return Reply.OK;
+            case "LIST": {
+                List<Reply> libraries = new ArrayList<>();
+                for (String library : server.libraries.keySet()) {
+                    List<Reply> functions = new ArrayList<>();
+                    server.functionLibraries.forEach((function, owner) -> {
+                        if (owner.equals(library)) {
+                            functions.add(Reply.map(Arrays.asList(Reply.bulk("name"), Reply.bulk(function))));
+                        }
+                    });
+                    libraries.add(Reply.map(Arrays.asList(
+                            Reply.bulk("library_name"), Reply.bulk(library),
+                            Reply.bulk("engine"), Reply.bulk("LUA"),
+                            Reply.bulk("functions"), Reply.array(functions))));
+                }
+                return Reply.array(libraries);
+            }
+            default:
+                throw new RespError("ERR unknown subcommand '" + args.get(1) + "'. Try FUNCTION HELP.");
+        }
+    }
+
+    private static Reply fcall(Session session, Args args) {
+        String name = args.get(1);
+        if (!session.server.functionLibraries.containsKey(name)) {
+            throw new RespError("ERR Function not found");
+        }
+        if ("FCALL_RO".equals(args.name()) && !session.server.readOnlyFunctions.contains(name)) {
+            throw new RespError("ERR Can not execute a script with write flag using *_ro command.");
+        }
+        ScriptFunction function = session.server.functions.get(name);
+        if (null == function) {
+            throw new RespError("ERR scripting is not supported by the emulator, register a Java implementation of function " + name);
+        }
+        return call(session, args, function);
+    }
+
+    /**
+     * Runs a script or function, given its numkeys, keys and arguments from index 2, like a transaction: no other
+     * command runs in between and blocking commands do not block.
+     */
+    private static Reply call(Session session, Args args, ScriptFunction function) {
+        long numKeys = args.longAt(2);
+        if (numKeys < 0) {
+            throw new RespError("ERR Number of keys can't be negative");
+        }
+        if (numKeys > args.size() - 3) {
+            throw new RespError("ERR Number of keys can't be greater than number of args");
+        }
+        List<String> keys = args.range(3, 3 + (int) numKeys);
+        List<String> arguments = args.from(3 + (int) numKeys);
+        boolean inExec = session.inExec;
+        session.inExec = true;
+        try {
+            return function.call(keys, arguments, command -> {
+                Reply reply = session.server.commands.execute(session, new Args(new ArrayList<>(Arrays.asList(command))));
+                if (reply.isError()) {
+                    throw new RespError((String) reply.toObject());
+                }
+                return reply;
+            });
+        } finally {
+            session.inExec = inExec;
+        }
+    }
+
+    static String digest(String script) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package cloud.anypoint.redis.emulator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client connection, served by its own thread, and its state: protocol version, authentication, subscriptions,
+ * queued transaction and tracking.
+ */
+final class Session implements Runnable {
+    private static final AtomicLong IDS = new AtomicLong();
+
+    final RespServer server;
+    final long id = IDS.incrementAndGet();
+    private final Socket socket;
+    private final OutputStream out;
+    private final RespReader reader;
+
+    int protocol = 2;
+    boolean authenticated;
+    String name;
+    final Set<String> channels = new LinkedHashSet<>();
+    final Set<String> patterns = new LinkedHashSet<>();
+    List<List<String>> multi;
+    boolean multiFailed;
+    final Map<String, Long> watched = new HashMap<>();
+    boolean tracking;
+    boolean inExec;
+    private volatile boolean closing;
+
+    Session(RespServer server, Socket socket) throws IOException {
+        this.server = server;
+        this.socket = socket;
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+        this.reader = new RespReader(new BufferedInputStream(socket.getInputStream()));
+        this.authenticated = null == server.password;
+    }
+
+    Database db() {
+        return server.db;
+    }
+
+    int subscriptions() {
+        return channels.size() + patterns.size();
+    }
+
+    @Override
+    public void run() {
+        try {
+            List<String> command;
+            while (!closing && null != (command = reader.read())) {
+                Reply reply = server.commands.dispatch(this, command);
+                if (null != reply) {
+                    send(reply);
+                }
+                // flush once the client has no more pipelined commands waiting
+                if (closing || !reader.hasBuffered()) {
+                    flush();
+                }
+            }
+        } catch (IOException e) {
+            // client disconnected
+        } finally {
+            server.disconnected(this);
+            close();
+        }
+    }
+
+    synchronized void send(Reply reply) {
+        try {
+            reply.writeTo(out, protocol);
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Sends a message that was not requested by this client, e.g. a published message or an invalidation.
+     */
+    synchronized void push(Reply message) {
+        send(message);
+        flush();
+    }
+
+    /**
+     * Sends a tracking invalidation, where null keys invalidate everything.
+     */
+    void invalidate(List<String> keys) {
+        if (tracking) {
+            push(Reply.push(Arrays.asList(Reply.bulk("invalidate"), null == keys ? Reply.nilArray() : Reply.bulks(new ArrayList<>(keys)))));
+        }
+    }
+
+    void quit() {
+        closing = true;
+    }
+
+    void close() {
+        closing = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    boolean isTracking() {
+        return tracking;
+    }
+
+    @Override
+    public String toString() {
+        return "id=" + id + " addr=" + socket.getRemoteSocketAddress() + " name=" + (null == name ? "" : name);
+    }
+}
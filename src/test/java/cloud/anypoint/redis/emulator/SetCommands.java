@@ -0,0 +1,181 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Set commands.
+ */
+final class SetCommands {
+    private static final Random RANDOM = new Random();
+
+    private SetCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("SADD", -3, (session, args) -> {
+            Set<String> set = session.db().getSet(args.get(1), true);
+            long added = 0;
+            for (String member : args.from(2)) {
+                added += set.add(member) ? 1 : 0;
+            }
+            session.db().written(args.get(1));
+            return Reply.integer(added);
+        });
+        table.add("SREM", -3, (session, args) -> {
+            Set<String> set = session.db().getSet(args.get(1), false);
+            if (null == set) {
+                return Reply.integer(0);
+            }
+            long removed = 0;
+            for (String member : args.from(2)) {
+                removed += set.remove(member) ? 1 : 0;
+            }
+            if (removed > 0) {
+                session.db().written(args.get(1));
+            }
+            return Reply.integer(removed);
+        });
+        table.add("SCARD", 2, (session, args) -> Reply.integer(members(session, args.get(1)).size()));
+        table.add("SISMEMBER", 3, (session, args) -> Reply.integer(members(session, args.get(1)).contains(args.get(2)) ? 1 : 0));
+        table.add("SMISMEMBER", -3, (session, args) -> {
+            Set<String> set = members(session, args.get(1));
+            List<Reply> replies = new ArrayList<>();
+            for (String member : args.from(2)) {
+                replies.add(Reply.integer(set.contains(member) ? 1 : 0));
+            }
+            return Reply.array(replies);
+        });
+        table.add("SMEMBERS", 2, (session, args) -> set(members(session, args.get(1))));
+        table.add("SDIFF", -2, (session, args) -> set(combine(session, args.from(1), Operation.DIFF)));
+        table.add("SINTER", -2, (session, args) -> set(combine(session, args.from(1), Operation.INTER)));
+        table.add("SUNION", -2, (session, args) -> set(combine(session, args.from(1), Operation.UNION)));
+        table.add("SDIFFSTORE", -3, (session, args) -> store(session, args.get(1), combine(session, args.from(2), Operation.DIFF)));
+        table.add("SINTERSTORE", -3, (session, args) -> store(session, args.get(1), combine(session, args.from(2), Operation.INTER)));
+        table.add("SUNIONSTORE", -3, (session, args) -> store(session, args.get(1), combine(session, args.from(2), Operation.UNION)));
+        table.add("SMOVE", 4, (session, args) -> {
+            Set<String> source = session.db().getSet(args.get(1), false);
+            session.db().getSet(args.get(2), false);
+            if (null == source || !source.remove(args.get(3))) {
+                return Reply.integer(0);
+            }
+            session.db().written(args.get(1));
+            session.db().getSet(args.get(2), true).add(args.get(3));
+            session.db().written(args.get(2));
+            return Reply.integer(1);
+        });
+        table.add("SPOP", -2, SetCommands::spop);
+        table.add("SRANDMEMBER", -2, SetCommands::srandmember);
+        table.add("SSCAN", -3, (session, args) -> {
+            KeyCommands.Page page = KeyCommands.page(members(session, args.get(1)), args, 2, false);
+            return page.reply(Reply.bulks(page.names));
+        });
+    }
+
+    private enum Operation { DIFF, INTER, UNION }
+
+    private static Set<String> members(Session session, String key) {
+        Set<String> set = session.db().getSet(key, false);
+        return null == set ? Collections.emptySet() : set;
+    }
+
+    private static Set<String> combine(Session session, List<String> keys, Operation operation) {
+        Set<String> result = new LinkedHashSet<>(members(session, keys.get(0)));
+        for (String key : keys.subList(1, keys.size())) {
+            Set<String> other = members(session, key);
+            switch (operation) {
+                case DIFF:
+                    result.removeAll(other);
+                    break;
+                case INTER:
+                    result.retainAll(other);
+                    break;
+                default:
+                    result.addAll(other);
+            }
+        }
+        return result;
+    }
+
+    private static Reply store(Session session, String destination, Set<String> members) {
+        if (members.isEmpty()) {
+            session.db().delete(destination);
+        } else {
+            session.db().put(destination, members);
+        }
+        return Reply.integer(members.size());
+    }
+
+    private static Reply spop(Session session, Args args) {
+        if (args.size() > 3) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        Set<String> set = session.db().getSet(args.get(1), false);
+        if (2 == args.size()) {
+            if (null == set) {
+                return Reply.nil();
+            }
+            String member = random(set);
+            set.remove(member);
+            session.db().written(args.get(1));
+            return Reply.bulk(member);
+        }
+        long count = args.longAt(2);
+        if (count < 0) {
+            throw new RespError("ERR value is out of range, must be positive");
+        }
+        List<String> popped = new ArrayList<>();
+        while (null != set && !set.isEmpty() && popped.size() < count) {
+            String member = random(set);
+            set.remove(member);
+            popped.add(member);
+        }
+        if (!popped.isEmpty()) {
+            session.db().written(args.get(1));
+        }
+        return set(popped);
+    }
+
+    private static Reply srandmember(Session session, Args args) {
+        if (args.size() > 3) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        List<String> members = new ArrayList<>(members(session, args.get(1)));
+        if (2 == args.size()) {
+            return Reply.bulk(members.isEmpty() ? null : members.get(RANDOM.nextInt(members.size())));
+        }
+        long count = args.longAt(2);
+        List<String> picked = new ArrayList<>();
+        if (count < 0) {
+            // repetitions are allowed with a negative count
+            for (long i = 0; i < -count && !members.isEmpty(); i++) {
+                picked.add(members.get(RANDOM.nextInt(members.size())));
+            }
+        } else {
+            Collections.shuffle(members, RANDOM);
+            picked.addAll(members.subList(0, (int) Math.min(count, members.size())));
+        }
+        return Reply.bulks(picked);
+    }
+
+    private static String random(Set<String> set) {
+        int index = RANDOM.nextInt(set.size());
+        for (String member : set) {
+            if (0 == index--) {
+                return member;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static Reply set(Collection<String> members) {
+        List<Reply> replies = new ArrayList<>(members.size());
+        members.forEach(member -> replies.add(Reply.bulk(member)));
+        return Reply.set(replies);
+    }
+}
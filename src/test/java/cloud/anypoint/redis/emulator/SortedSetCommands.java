@@ -0,0 +1,290 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorted set commands.
+ */
+final class SortedSetCommands {
+    private SortedSetCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("ZADD", -4, SortedSetCommands::zadd);
+        table.add("ZINCRBY", 4, (session, args) -> {
+            double increment = args.doubleAt(2);
+            ZSet zset = session.db().getZSet(args.get(1), true);
+            Double score = zset.score(args.get(3));
+            double result = (null == score ? 0 : score) + increment;
+            if (Double.isNaN(result)) {
+                throw new RespError("ERR resulting score is not a number (NaN)");
+            }
+            zset.put(args.get(3), result);
+            session.db().written(args.get(1));
+            return Reply.dbl(result);
+        });
+        table.add("ZSCORE", 3, (session, args) -> {
+            ZSet zset = session.db().getZSet(args.get(1), false);
+            Double score = null == zset ? null : zset.score(args.get(2));
+            return null == score ? Reply.nil() : Reply.dbl(score);
+        });
+        table.add("ZMSCORE", -3, (session, args) -> {
+            ZSet zset = session.db().getZSet(args.get(1), false);
+            List<Reply> scores = new ArrayList<>();
+            for (String member : args.from(2)) {
+                Double score = null == zset ? null : zset.score(member);
+                scores.add(null == score ? Reply.nil() : Reply.dbl(score));
+            }
+            return Reply.array(scores);
+        });
+        table.add("ZRANK", -3, (session, args) -> rank(session, args, false));
+        table.add("ZREVRANK", -3, (session, args) -> rank(session, args, true));
+        table.add("ZCARD", 2, (session, args) -> {
+            ZSet zset = session.db().getZSet(args.get(1), false);
+            return Reply.integer(null == zset ? 0 : zset.size());
+        });
+        table.add("ZREM", -3, (session, args) -> {
+            ZSet zset = session.db().getZSet(args.get(1), false);
+            if (null == zset) {
+                return Reply.integer(0);
+            }
+            long removed = 0;
+            for (String member : args.from(2)) {
+                removed += zset.remove(member) ? 1 : 0;
+            }
+            if (removed > 0) {
+                session.db().written(args.get(1));
+            }
+            return Reply.integer(removed);
+        });
+        table.add("ZCOUNT", 4, (session, args) -> {
+            ZSet zset = session.db().getZSet(args.get(1), false);
+            return Reply.integer(null == zset ? 0 : byScore(zset.entries(), args.get(2), args.get(3)).size());
+        });
+        table.add("ZRANGE", -4, SortedSetCommands::zrange);
+        table.add("ZRANGEBYSCORE", -4, (session, args) -> {
+            List<String> rewritten = new ArrayList<>(args.range(0, 4));
+            rewritten.add("BYSCORE");
+            rewritten.addAll(args.from(4));
+            return zrange(session, new Args(rewritten));
+        });
+        table.add("ZPOPMIN", -2, (session, args) -> pop(session, args, false));
+        table.add("ZPOPMAX", -2, (session, args) -> pop(session, args, true));
+        table.add("ZSCAN", -3, (session, args) -> {
+            ZSet zset = session.db().getZSet(args.get(1), false);
+            KeyCommands.Page page = KeyCommands.page(null == zset ? new ArrayList<>() : zset.members(), args, 2, false);
+            List<Reply> entries = new ArrayList<>();
+            for (String member : page.names) {
+                entries.add(Reply.bulk(member));
+                entries.add(Reply.bulk(Reply.formatDouble(zset.score(member))));
+            }
+            return page.reply(Reply.array(entries));
+        });
+    }
+
+    private static Reply zadd(Session session, Args args) {
+        boolean nx = false;
+        boolean xx = false;
+        boolean gt = false;
+        boolean lt = false;
+        boolean ch = false;
+        boolean incr = false;
+        int i = 2;
+        for (; i < args.size(); i++) {
+            String option = args.upper(i);
+            if ("NX".equals(option)) {
+                nx = true;
+            } else if ("XX".equals(option)) {
+                xx = true;
+            } else if ("GT".equals(option)) {
+                gt = true;
+            } else if ("LT".equals(option)) {
+                lt = true;
+            } else if ("CH".equals(option)) {
+                ch = true;
+            } else if ("INCR".equals(option)) {
+                incr = true;
+            } else {
+                break;
+            }
+        }
+        int pairs = args.size() - i;
+        if (0 == pairs || 0 != pairs % 2) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        if (nx && xx) {
+            throw new RespError("ERR XX and NX options at the same time are not compatible");
+        }
+        if (gt && lt || nx && (gt || lt)) {
+            throw new RespError("ERR GT, LT, and/or NX options at the same time are not compatible");
+        }
+        if (incr && pairs > 2) {
+            throw new RespError("ERR INCR option supports a single increment-element pair");
+        }
+        double[] scores = new double[pairs / 2];
+        for (int p = 0; p < scores.length; p++) {
+            scores[p] = args.doubleAt(i + p * 2);
+        }
+        ZSet zset = session.db().getZSet(args.get(1), !xx);
+        if (null == zset) {
+            return incr ? Reply.nil() : Reply.integer(0);
+        }
+        long added = 0;
+        long changed = 0;
+        Double incremented = null;
+        for (int p = 0; p < scores.length; p++) {
+            String member = args.get(i + p * 2 + 1);
+            Double current = zset.score(member);
+            double score = incr ? (null == current ? 0 : current) + scores[p] : scores[p];
+            if (nx && null != current || xx && null == current
+                    || null != current && (gt && score <= current || lt && score >= current)) {
+                continue;
+            }
+            if (null == current) {
+                added++;
+            } else if (current != score) {
+                changed++;
+            }
+            zset.put(member, score);
+            incremented = score;
+        }
+        session.db().written(args.get(1));
+        if (incr) {
+            return null == incremented ? Reply.nil() : Reply.dbl(incremented);
+        }
+        return Reply.integer(ch ? added + changed : added);
+    }
+
+    private static Reply rank(Session session, Args args, boolean reverse) {
+        boolean withScore = args.is(3, "WITHSCORE");
+        if (args.size() > 4 || args.size() == 4 && !withScore) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        ZSet zset = session.db().getZSet(args.get(1), false);
+        long rank = null == zset ? -1 : zset.rank(args.get(2));
+        if (rank < 0) {
+            return withScore ? Reply.nilArray() : Reply.nil();
+        }
+        if (reverse) {
+            rank = zset.size() - 1 - rank;
+        }
+        return withScore
+                ? Reply.array(Reply.integer(rank), Reply.dbl(zset.score(args.get(2))))
+                : Reply.integer(rank);
+    }
+
+    private static Reply zrange(Session session, Args args) {
+        boolean byScore = false;
+        boolean reverse = false;
+        boolean withScores = false;
+        long offset = 0;
+        long count = -1;
+        for (int i = 4; i < args.size(); i++) {
+            String option = args.upper(i);
+            if ("BYSCORE".equals(option)) {
+                byScore = true;
+            } else if ("REV".equals(option)) {
+                reverse = true;
+            } else if ("WITHSCORES".equals(option)) {
+                withScores = true;
+            } else if ("LIMIT".equals(option) && i + 2 < args.size()) {
+                offset = args.longAt(++i);
+                count = args.longAt(++i);
+            } else {
+                throw new RespError(RespError.SYNTAX);
+            }
+        }
+        ZSet zset = session.db().getZSet(args.get(1), false);
+        List<Map.Entry<String, Double>> entries = null == zset ? new ArrayList<>() : zset.entries();
+        if (reverse) {
+            Collections.reverse(entries);
+        }
+        List<Map.Entry<String, Double>> selected;
+        if (byScore) {
+            // REV takes the maximum first
+            selected = reverse
+                    ? byScore(entries, args.get(3), args.get(2))
+                    : byScore(entries, args.get(2), args.get(3));
+            int from = (int) Math.min(Math.max(offset, 0), selected.size());
+            int to = count < 0 ? selected.size() : (int) Math.min(selected.size(), from + count);
+            selected = selected.subList(from, to);
+        } else {
+            int[] range = ListCommands.range(entries.size(), args.longAt(2), args.longAt(3));
+            selected = null == range ? new ArrayList<>() : entries.subList(range[0], range[1] + 1);
+        }
+        return entries(session, selected, withScores);
+    }
+
+    private static Reply pop(Session session, Args args, boolean max) {
+        if (args.size() > 3) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        long count = args.size() > 2 ? args.longAt(2) : 1;
+        ZSet zset = session.db().getZSet(args.get(1), false);
+        List<Map.Entry<String, Double>> popped = new ArrayList<>();
+        if (null != zset) {
+            List<Map.Entry<String, Double>> entries = zset.entries();
+            if (max) {
+                Collections.reverse(entries);
+            }
+            for (Map.Entry<String, Double> entry : entries.subList(0, (int) Math.min(Math.max(count, 0), entries.size()))) {
+                zset.remove(entry.getKey());
+                popped.add(entry);
+            }
+            session.db().written(args.get(1));
+        }
+        if (args.size() < 3 && !popped.isEmpty()) {
+            // a single pair, not nested even in RESP3
+            return Reply.array(Reply.bulk(popped.get(0).getKey()), Reply.dbl(popped.get(0).getValue()));
+        }
+        return entries(session, popped, true);
+    }
+
+    private static Reply entries(Session session, List<Map.Entry<String, Double>> entries, boolean withScores) {
+        List<Reply> replies = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : entries) {
+            if (!withScores) {
+                replies.add(Reply.bulk(entry.getKey()));
+            } else if (3 == session.protocol) {
+                replies.add(Reply.array(Reply.bulk(entry.getKey()), Reply.dbl(entry.getValue())));
+            } else {
+                replies.add(Reply.bulk(entry.getKey()));
+                replies.add(Reply.dbl(entry.getValue()));
+            }
+        }
+        return Reply.array(replies);
+    }
+
+    private static List<Map.Entry<String, Double>> byScore(List<Map.Entry<String, Double>> entries, String min, String max) {
+        List<Map.Entry<String, Double>> selected = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : entries) {
+            if (above(entry.getValue(), min) && below(entry.getValue(), max)) {
+                selected.add(entry);
+            }
+        }
+        return selected;
+    }
+
+    private static boolean above(double score, String bound) {
+        boolean exclusive = bound.startsWith("(");
+        double value = parseBound(exclusive ? bound.substring(1) : bound);
+        return exclusive ? score > value : score >= value;
+    }
+
+    private static boolean below(double score, String bound) {
+        boolean exclusive = bound.startsWith("(");
+        double value = parseBound(exclusive ? bound.substring(1) : bound);
+        return exclusive ? score < value : score <= value;
+    }
+
+    private static double parseBound(String bound) {
+        try {
+            return Args.parseDouble(bound);
+        } catch (RespError e) {
+            throw new RespError("ERR min or max is not a float");
+        }
+    }
+}
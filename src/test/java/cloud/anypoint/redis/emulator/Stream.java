@@ -0,0 +1,61 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stream entries by id, and the consumer groups reading them.
+ */
+final class Stream {
+    final TreeMap<StreamId, List<String>> entries = new TreeMap<>();
+    final Map<String, Group> groups = new LinkedHashMap<>();
+    StreamId lastId = StreamId.MIN;
+    long entriesAdded;
+
+    Stream copy() {
+        Stream copy = new Stream();
+        copy.entries.putAll(entries);
+        copy.lastId = lastId;
+        copy.entriesAdded = entriesAdded;
+        groups.forEach((name, group) -> {
+            Group groupCopy = new Group(name, group.lastDeliveredId, group.entriesRead);
+            group.pending.forEach((id, pending) -> {
+                Pending pendingCopy = new Pending(pending.consumer);
+                pendingCopy.deliveryTime = pending.deliveryTime;
+                pendingCopy.deliveryCount = pending.deliveryCount;
+                groupCopy.pending.put(id, pendingCopy);
+            });
+            groupCopy.consumers.putAll(group.consumers);
+            copy.groups.put(name, groupCopy);
+        });
+        return copy;
+    }
+
+    static final class Group {
+        final String name;
+        StreamId lastDeliveredId;
+        long entriesRead;
+        final TreeMap<StreamId, Pending> pending = new TreeMap<>();
+        final Map<String, Long> consumers = new LinkedHashMap<>();
+
+        Group(String name, StreamId lastDeliveredId, long entriesRead) {
+            this.name = name;
+            this.lastDeliveredId = lastDeliveredId;
+            this.entriesRead = entriesRead;
+        }
+    }
+
+    static final class Pending {
+        final String consumer;
+        long deliveryTime;
+        long deliveryCount;
+
+        Pending(String consumer) {
+            this.consumer = consumer;
+            this.deliveryTime = System.currentTimeMillis();
+            this.deliveryCount = 1;
+        }
+    }
+}
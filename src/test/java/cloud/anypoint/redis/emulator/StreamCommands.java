@@ -0,0 +1,484 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Stream and consumer group commands. Blocking reads wait on the database until another command adds entries.
+ */
+final class StreamCommands {
+    private StreamCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("XADD", -5, StreamCommands::xadd);
+        table.add("XLEN", 2, (session, args) -> {
+            Stream stream = session.db().getStream(args.get(1), false);
+            return Reply.integer(null == stream ? 0 : stream.entries.size());
+        });
+        table.add("XRANGE", -4, (session, args) -> range(session, args, false));
+        table.add("XREVRANGE", -4, (session, args) -> range(session, args, true));
+        table.add("XDEL", -3, (session, args) -> {
+            Stream stream = session.db().getStream(args.get(1), false);
+            long deleted = 0;
+            if (null != stream) {
+                for (String id : args.from(2)) {
+                    deleted += null != stream.entries.remove(StreamId.parse(id)) ? 1 : 0;
+                }
+                if (deleted > 0) {
+                    session.db().modified(args.get(1));
+                }
+            }
+            return Reply.integer(deleted);
+        });
+        table.add("XTRIM", -4, (session, args) -> {
+            Stream stream = session.db().getStream(args.get(1), false);
+            int next = trimOption(args, 2);
+            if (next != args.size()) {
+                throw new RespError(RespError.SYNTAX);
+            }
+            long trimmed = null == stream ? 0 : trim(stream, args, 2);
+            if (trimmed > 0) {
+                session.db().modified(args.get(1));
+            }
+            return Reply.integer(trimmed);
+        });
+        table.add("XREAD", -4, StreamCommands::xread);
+        table.add("XREADGROUP", -7, StreamCommands::xreadgroup);
+        table.add("XACK", -4, (session, args) -> {
+            Stream stream = session.db().getStream(args.get(1), false);
+            Stream.Group group = null == stream ? null : stream.groups.get(args.get(2));
+            long acknowledged = 0;
+            if (null != group) {
+                for (String id : args.from(3)) {
+                    acknowledged += null != group.pending.remove(StreamId.parse(id)) ? 1 : 0;
+                }
+            }
+            return Reply.integer(acknowledged);
+        });
+        table.add("XGROUP", -2, StreamCommands::xgroup);
+        table.add("XINFO", -2, StreamCommands::xinfo);
+    }
+
+    private static Reply xadd(Session session, Args args) {
+        String key = args.get(1);
+        int i = 2;
+        boolean noMkStream = false;
+        int trimIndex = -1;
+        while (i < args.size()) {
+            if (args.is(i, "NOMKSTREAM")) {
+                noMkStream = true;
+                i++;
+            } else if (args.is(i, "MAXLEN") || args.is(i, "MINID")) {
+                trimIndex = i;
+                i = trimOption(args, i);
+            } else {
+                break;
+            }
+        }
+        if (i >= args.size() || 0 != (args.size() - i - 1) % 2 || args.size() - i - 1 == 0) {
+            throw RespError.arity("XADD");
+        }
+        Stream stream = session.db().getStream(key, false);
+        if (null == stream && noMkStream) {
+            return Reply.nil();
+        }
+        StreamId last = null == stream ? StreamId.MIN : stream.lastId;
+        StreamId id = nextId(args.get(i), last);
+        if (null == stream) {
+            stream = session.db().getStream(key, true);
+        }
+        stream.entries.put(id, new ArrayList<>(args.from(i + 1)));
+        stream.lastId = id;
+        stream.entriesAdded++;
+        if (trimIndex >= 0) {
+            trim(stream, args, trimIndex);
+        }
+        session.db().modified(key);
+        return Reply.bulk(id.toString());
+    }
+
+    private static StreamId nextId(String requested, StreamId last) {
+        if ("*".equals(requested)) {
+            long now = System.currentTimeMillis();
+            return now > last.millis ? new StreamId(now, 0) : last.next();
+        }
+        StreamId id;
+        if (requested.endsWith("-*")) {
+            long millis = Args.parseLong(requested.substring(0, requested.length() - 2));
+            id = millis == last.millis ? last.next() : new StreamId(millis, 0);
+        } else {
+            id = StreamId.parse(requested);
+        }
+        if (StreamId.MIN.equals(id)) {
+            throw new RespError("ERR The ID specified in XADD must be greater than 0-0");
+        }
+        if (id.compareTo(last) <= 0) {
+            throw new RespError("ERR The ID specified in XADD is equal or smaller than the target stream top item");
+        }
+        return id;
+    }
+
+    /**
+     * Validates a MAXLEN or MINID option, returning the index following it.
+     */
+    private static int trimOption(Args args, int index) {
+        if (!args.is(index, "MAXLEN") && !args.is(index, "MINID")) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        int i = index + 1;
+        if (args.is(i, "=") || args.is(i, "~")) {
+            i++;
+        }
+        if (i >= args.size()) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        if (args.is(index, "MAXLEN") && args.longAt(i) < 0) {
+            throw new RespError("ERR The MAXLEN argument must be >= 0.");
+        }
+        i++;
+        if (args.is(i, "LIMIT")) {
+            Args.parseLong(args.valueOf(i));
+            i += 2;
+        }
+        return i;
+    }
+
+    /**
+     * Trims exactly, even when approximate trimming is requested, which redis allows.
+     */
+    private static long trim(Stream stream, Args args, int index) {
+        int i = index + 1;
+        if (args.is(i, "=") || args.is(i, "~")) {
+            i++;
+        }
+        long trimmed = 0;
+        if (args.is(index, "MAXLEN")) {
+            long maxLength = args.longAt(i);
+            while (stream.entries.size() > maxLength) {
+                stream.entries.pollFirstEntry();
+                trimmed++;
+            }
+        } else {
+            StreamId minId = StreamId.parse(args.get(i));
+            while (!stream.entries.isEmpty() && stream.entries.firstKey().compareTo(minId) < 0) {
+                stream.entries.pollFirstEntry();
+                trimmed++;
+            }
+        }
+        return trimmed;
+    }
+
+    private static Reply range(Session session, Args args, boolean reverse) {
+        String startArg = args.get(reverse ? 3 : 2);
+        String endArg = args.get(reverse ? 2 : 3);
+        long count = -1;
+        if (args.size() > 4) {
+            if (6 != args.size() || !args.is(4, "COUNT")) {
+                throw new RespError(RespError.SYNTAX);
+            }
+            count = args.longAt(5);
+        }
+        Stream stream = session.db().getStream(args.get(1), false);
+        List<Reply> entries = new ArrayList<>();
+        if (null == stream || 0 == count) {
+            return Reply.array(entries);
+        }
+        boolean startExclusive = startArg.startsWith("(");
+        boolean endExclusive = endArg.startsWith("(");
+        StreamId start = StreamId.parse(startExclusive ? startArg.substring(1) : startArg, 0);
+        StreamId end = StreamId.parse(endExclusive ? endArg.substring(1) : endArg, Long.MAX_VALUE);
+        if (start.compareTo(end) > 0) {
+            return Reply.array(entries);
+        }
+        NavigableMap<StreamId, List<String>> selected = stream.entries.subMap(start, !startExclusive, end, !endExclusive);
+        for (Map.Entry<StreamId, List<String>> entry : (reverse ? selected.descendingMap() : selected).entrySet()) {
+            if (count >= 0 && entries.size() >= count) {
+                break;
+            }
+            entries.add(entry(entry.getKey(), entry.getValue()));
+        }
+        return Reply.array(entries);
+    }
+
+    private static Reply xread(Session session, Args args) {
+        long count = -1;
+        Long block = null;
+        int i = 1;
+        for (; i < args.size(); i++) {
+            if (args.is(i, "COUNT")) {
+                count = Args.parseLong(args.valueOf(i++));
+            } else if (args.is(i, "BLOCK")) {
+                block = blockTimeout(args.valueOf(i++));
+            } else if (args.is(i, "STREAMS")) {
+                break;
+            } else {
+                throw new RespError(RespError.SYNTAX);
+            }
+        }
+        List<String> keys = streamKeys(args, i);
+        List<StreamId> after = new ArrayList<>();
+        for (int k = 0; k < keys.size(); k++) {
+            String id = args.get(i + 1 + keys.size() + k);
+            if ("$".equals(id)) {
+                Stream stream = session.db().getStream(keys.get(k), false);
+                after.add(null == stream ? StreamId.MIN : stream.lastId);
+            } else if (">".equals(id) || "+".equals(id)) {
+                throw new RespError("ERR The > ID can be specified only when calling XREADGROUP using the GROUP <group> <consumer> option.");
+            } else {
+                after.add(StreamId.parse(id));
+            }
+        }
+        long deadline = null == block ? -1 : deadline(block);
+        while (true) {
+            List<Reply> results = new ArrayList<>();
+            for (int k = 0; k < keys.size(); k++) {
+                Stream stream = session.db().getStream(keys.get(k), false);
+                if (null == stream) {
+                    continue;
+                }
+                List<Reply> entries = new ArrayList<>();
+                for (Map.Entry<StreamId, List<String>> entry : stream.entries.tailMap(after.get(k), false).entrySet()) {
+                    if (count > 0 && entries.size() >= count) {
+                        break;
+                    }
+                    entries.add(entry(entry.getKey(), entry.getValue()));
+                }
+                if (!entries.isEmpty()) {
+                    results.add(Reply.bulk(keys.get(k)));
+                    results.add(Reply.array(entries));
+                }
+            }
+            if (!results.isEmpty()) {
+                return streams(session, results);
+            }
+            if (deadline < 0 || session.inExec || !session.db().await(deadline)) {
+                return Reply.nilArray();
+            }
+        }
+    }
+
+    private static Reply xreadgroup(Session session, Args args) {
+        if (!args.is(1, "GROUP")) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        String groupName = args.get(2);
+        String consumer = args.get(3);
+        long count = -1;
+        Long block = null;
+        boolean noAck = false;
+        int i = 4;
+        for (; i < args.size(); i++) {
+            if (args.is(i, "COUNT")) {
+                count = Args.parseLong(args.valueOf(i++));
+            } else if (args.is(i, "BLOCK")) {
+                block = blockTimeout(args.valueOf(i++));
+            } else if (args.is(i, "NOACK")) {
+                noAck = true;
+            } else if (args.is(i, "STREAMS")) {
+                break;
+            } else {
+                throw new RespError(RespError.SYNTAX);
+            }
+        }
+        List<String> keys = streamKeys(args, i);
+        List<String> ids = args.range(i + 1 + keys.size(), args.size());
+        for (String key : keys) {
+            Stream stream = session.db().getStream(key, false);
+            if (null == stream || !stream.groups.containsKey(groupName)) {
+                throw new RespError("NOGROUP No such key '" + key + "' or consumer group '" + groupName + "' in XREADGROUP with GROUP option");
+            }
+        }
+        long deadline = null == block ? -1 : deadline(block);
+        while (true) {
+            List<Reply> results = new ArrayList<>();
+            boolean history = false;
+            for (int k = 0; k < keys.size(); k++) {
+                Stream stream = session.db().getStream(keys.get(k), false);
+                if (null == stream || !stream.groups.containsKey(groupName)) {
+                    throw new RespError("NOGROUP No such key '" + keys.get(k) + "' or consumer group '" + groupName + "' in XREADGROUP with GROUP option");
+                }
+                Stream.Group group = stream.groups.get(groupName);
+                group.consumers.put(consumer, System.currentTimeMillis());
+                List<Reply> entries = new ArrayList<>();
+                if (">".equals(ids.get(k))) {
+                    for (Map.Entry<StreamId, List<String>> entry : stream.entries.tailMap(group.lastDeliveredId, false).entrySet()) {
+                        if (count > 0 && entries.size() >= count) {
+                            break;
+                        }
+                        group.lastDeliveredId = entry.getKey();
+                        group.entriesRead++;
+                        if (!noAck) {
+                            group.pending.put(entry.getKey(), new Stream.Pending(consumer));
+                        }
+                        entries.add(entry(entry.getKey(), entry.getValue()));
+                    }
+                } else {
+                    // the history of entries delivered to the consumer and not acknowledged yet
+                    history = true;
+                    for (Map.Entry<StreamId, Stream.Pending> pending : group.pending.tailMap(StreamId.parse(ids.get(k)), false).entrySet()) {
+                        if (count > 0 && entries.size() >= count) {
+                            break;
+                        }
+                        if (consumer.equals(pending.getValue().consumer)) {
+                            entries.add(entry(pending.getKey(), stream.entries.get(pending.getKey())));
+                        }
+                    }
+                }
+                if (!entries.isEmpty() || history) {
+                    results.add(Reply.bulk(keys.get(k)));
+                    results.add(Reply.array(entries));
+                }
+            }
+            if (!results.isEmpty()) {
+                return streams(session, results);
+            }
+            if (deadline < 0 || session.inExec || !session.db().await(deadline)) {
+                return Reply.nilArray();
+            }
+        }
+    }
+
+    private static Reply xgroup(Session session, Args args) {
+        String subcommand = args.upper(1);
+        switch (subcommand) {
+            case "CREATE": {
+                if (args.size() < 5) {
+                    throw RespError.arity("XGROUP|CREATE");
+                }
+                boolean mkStream = false;
+                Long entriesRead = null;
+                for (int i = 5; i < args.size(); i++) {
+                    if (args.is(i, "MKSTREAM")) {
+                        mkStream = true;
+                    } else if (args.is(i, "ENTRIESREAD")) {
+                        entriesRead = Args.parseLong(args.valueOf(i++));
+                    } else {
+                        throw new RespError(RespError.SYNTAX);
+                    }
+                }
+                Stream stream = session.db().getStream(args.get(2), false);
+                if (null == stream) {
+                    if (!mkStream) {
+                        throw new RespError("ERR The XGROUP subcommand requires the key to exist. Note that for CREATE you may want to use the MKSTREAM option to create an empty stream automatically.");
+                    }
+                    stream = session.db().getStream(args.get(2), true);
+                    session.db().modified(args.get(2));
+                }
+                if (stream.groups.containsKey(args.get(3))) {
+                    throw new RespError("BUSYGROUP Consumer Group name already exists");
+                }
+                StreamId lastDelivered = "$".equals(args.get(4)) ? stream.lastId : StreamId.parse(args.get(4));
+                long read = null != entriesRead ? entriesRead : "$".equals(args.get(4)) ? stream.entriesAdded : 0;
+                stream.groups.put(args.get(3), new Stream.Group(args.get(3), lastDelivered, read));
+                return Reply.OK;
+            }
+            case "DESTROY": {
+                if (4 != args.size()) {
+                    throw RespError.arity("XGROUP|DESTROY");
+                }
+                Stream stream = session.db().getStream(args.get(2), false);
+                if (null == stream) {
+                    throw new RespError("ERR The XGROUP subcommand requires the key to exist. Note that for CREATE you may want to use the MKSTREAM option to create an empty stream automatically.");
+                }
+                return Reply.integer(null != stream.groups.remove(args.get(3)) ? 1 : 0);
+            }
+            case "SETID": {
+                Stream.Group group = group(session, args, 2, 3);
+                Stream stream = session.db().getStream(args.get(2), false);
+                group.lastDeliveredId = "$".equals(args.get(4)) ? stream.lastId : StreamId.parse(args.get(4));
+                return Reply.OK;
+            }
+            case "CREATECONSUMER": {
+                Stream.Group group = group(session, args, 2, 3);
+                return Reply.integer(null == group.consumers.putIfAbsent(args.get(4), System.currentTimeMillis()) ? 1 : 0);
+            }
+            case "DELCONSUMER": {
+                Stream.Group group = group(session, args, 2, 3);
+                group.consumers.remove(args.get(4));
+                long pending = group.pending.values().stream().filter(p -> p.consumer.equals(args.get(4))).count();
+                group.pending.values().removeIf(p -> p.consumer.equals(args.get(4)));
+                return Reply.integer(pending);
+            }
+            default:
+                throw new RespError("ERR unknown subcommand '" + args.get(1) + "'. Try XGROUP HELP.");
+        }
+    }
+
+    private static Reply xinfo(Session session, Args args) {
+        if (!args.is(1, "GROUPS")) {
+            throw new RespError("ERR unknown subcommand '" + args.get(1) + "'. Try XINFO HELP.");
+        }
+        if (3 != args.size()) {
+            throw RespError.arity("XINFO|GROUPS");
+        }
+        Stream stream = session.db().getStream(args.get(2), false);
+        if (null == stream) {
+            throw new RespError("ERR no such key");
+        }
+        List<Reply> groups = new ArrayList<>();
+        for (Stream.Group group : stream.groups.values()) {
+            groups.add(Reply.map(Arrays.asList(
+                    Reply.bulk("name"), Reply.bulk(group.name),
+                    Reply.bulk("consumers"), Reply.integer(group.consumers.size()),
+                    Reply.bulk("pending"), Reply.integer(group.pending.size()),
+                    Reply.bulk("last-delivered-id"), Reply.bulk(group.lastDeliveredId.toString()),
+                    Reply.bulk("entries-read"), Reply.integer(group.entriesRead),
+                    Reply.bulk("lag"), Reply.integer(Math.max(0, stream.entriesAdded - group.entriesRead)))));
+        }
+        return Reply.array(groups);
+    }
+
+    private static Stream.Group group(Session session, Args args, int keyIndex, int groupIndex) {
+        if (5 != args.size()) {
+            throw RespError.arity("XGROUP|" + args.upper(1));
+        }
+        Stream stream = session.db().getStream(args.get(keyIndex), false);
+        Stream.Group group = null == stream ? null : stream.groups.get(args.get(groupIndex));
+        if (null == group) {
+            throw new RespError("NOGROUP No such key '" + args.get(keyIndex) + "' or consumer group '" + args.get(groupIndex) + "'");
+        }
+        return group;
+    }
+
+    private static List<String> streamKeys(Args args, int streamsIndex) {
+        int remaining = args.size() - streamsIndex - 1;
+        if (streamsIndex >= args.size() || remaining <= 0 || 0 != remaining % 2) {
+            throw new RespError("ERR Unbalanced '" + args.name().toLowerCase() + "' list of streams: for each stream key an ID or '$' must be specified.");
+        }
+        return args.range(streamsIndex + 1, streamsIndex + 1 + remaining / 2);
+    }
+
+    private static long blockTimeout(String milliseconds) {
+        long timeout = Args.parseLong(milliseconds);
+        if (timeout < 0) {
+            throw new RespError("ERR timeout is negative");
+        }
+        return timeout;
+    }
+
+    private static long deadline(long blockMillis) {
+        return 0 == blockMillis ? 0 : System.currentTimeMillis() + blockMillis;
+    }
+
+    /**
+     * Results by stream, a map in RESP3 and an array of pairs in RESP2.
+     */
+    private static Reply streams(Session session, List<Reply> keysAndEntries) {
+        if (3 == session.protocol) {
+            return Reply.map(keysAndEntries);
+        }
+        List<Reply> pairs = new ArrayList<>();
+        for (int i = 0; i < keysAndEntries.size(); i += 2) {
+            pairs.add(Reply.array(keysAndEntries.get(i), keysAndEntries.get(i + 1)));
+        }
+        return Reply.array(pairs);
+    }
+
+    private static Reply entry(StreamId id, List<String> fields) {
+        return Reply.array(Reply.bulk(id.toString()), null == fields ? Reply.nilArray() : Reply.bulks(fields));
+    }
+}
@@ -0,0 +1,68 @@
+package cloud.anypoint.redis.emulator;
+
+/**
+ * A stream entry id, {@code <milliseconds>-<sequence>}.
+ */
+final class StreamId implements Comparable<StreamId> {
+    static final StreamId MIN = new StreamId(0, 0);
+    static final StreamId MAX = new StreamId(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    final long millis;
+    final long sequence;
+
+    StreamId(long millis, long sequence) {
+        this.millis = millis;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Parses a complete or partial id, where a missing sequence is the given default, e.g. 0 for range starts and
+     * the maximum sequence for range ends.
+     */
+    static StreamId parse(String id, long defaultSequence) {
+        try {
+            if ("-".equals(id)) {
+                return MIN;
+            }
+            if ("+".equals(id)) {
+                return MAX;
+            }
+            int dash = id.indexOf('-');
+            if (dash < 0) {
+                return new StreamId(Long.parseUnsignedLong(id), defaultSequence);
+            }
+            return new StreamId(Long.parseUnsignedLong(id.substring(0, dash)), Long.parseUnsignedLong(id.substring(dash + 1)));
+        } catch (NumberFormatException e) {
+            throw new RespError("ERR Invalid stream ID specified as stream command argument");
+        }
+    }
+
+    static StreamId parse(String id) {
+        return parse(id, 0);
+    }
+
+    StreamId next() {
+        return sequence == Long.MAX_VALUE ? new StreamId(millis + 1, 0) : new StreamId(millis, sequence + 1);
+    }
+
+    @Override
+    public int compareTo(StreamId other) {
+        int byMillis = Long.compareUnsigned(millis, other.millis);
+        return 0 != byMillis ? byMillis : Long.compareUnsigned(sequence, other.sequence);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof StreamId && 0 == compareTo((StreamId) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(millis) * 31 + Long.hashCode(sequence);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toUnsignedString(millis) + "-" + Long.toUnsignedString(sequence);
+    }
+}
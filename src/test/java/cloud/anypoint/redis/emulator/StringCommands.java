@@ -0,0 +1,225 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * String commands.
+ */
+final class StringCommands {
+    private StringCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("GET", 2, (session, args) -> Reply.bulk(session.db().getString(args.get(1))));
+        table.add("SET", -3, StringCommands::set);
+        table.add("SETNX", 3, (session, args) -> {
+            if (session.db().exists(args.get(1))) {
+                return Reply.integer(0);
+            }
+            session.db().put(args.get(1), args.get(2));
+            return Reply.integer(1);
+        });
+        table.add("GETDEL", 2, (session, args) -> {
+            String value = session.db().getString(args.get(1));
+            if (null != value) {
+                session.db().delete(args.get(1));
+            }
+            return Reply.bulk(value);
+        });
+        table.add("GETEX", -2, StringCommands::getex);
+        table.add("GETSET", 3, (session, args) -> {
+            String value = session.db().getString(args.get(1));
+            session.db().put(args.get(1), args.get(2));
+            return Reply.bulk(value);
+        });
+        table.add("GETRANGE", 4, (session, args) -> {
+            String value = session.db().getString(args.get(1));
+            return Reply.bulk(null == value ? "" : range(value, args.longAt(2), args.longAt(3)));
+        });
+        table.add("APPEND", 3, (session, args) -> {
+            String value = session.db().getString(args.get(1));
+            String appended = null == value ? args.get(2) : value + args.get(2);
+            session.db().replace(args.get(1), appended);
+            return Reply.integer(appended.length());
+        });
+        table.add("STRLEN", 2, (session, args) -> {
+            String value = session.db().getString(args.get(1));
+            return Reply.integer(null == value ? 0 : value.length());
+        });
+        table.add("INCR", 2, (session, args) -> incrBy(session, args.get(1), 1));
+        table.add("DECR", 2, (session, args) -> incrBy(session, args.get(1), -1));
+        table.add("INCRBY", 3, (session, args) -> incrBy(session, args.get(1), args.longAt(2)));
+        table.add("DECRBY", 3, (session, args) -> {
+            long decrement = args.longAt(2);
+            if (Long.MIN_VALUE == decrement) {
+                throw new RespError("ERR decrement would overflow");
+            }
+            return incrBy(session, args.get(1), -decrement);
+        });
+        table.add("INCRBYFLOAT", 3, (session, args) -> {
+            String value = session.db().getString(args.get(1));
+            double result = (null == value ? 0 : Args.parseDouble(value)) + args.doubleAt(2);
+            if (Double.isInfinite(result)) {
+                throw new RespError("ERR increment would produce NaN or Infinity");
+            }
+            String formatted = Reply.formatDouble(result);
+            session.db().replace(args.get(1), formatted);
+            return Reply.bulk(formatted);
+        });
+        table.add("MGET", -2, (session, args) -> {
+            List<Reply> values = new ArrayList<>();
+            for (String key : args.from(1)) {
+                Object value = session.db().lookup(key);
+                values.add(Reply.bulk(value instanceof String ? (String) value : null));
+            }
+            return Reply.array(values);
+        });
+        table.add("MSET", -3, (session, args) -> {
+            if (0 == args.size() % 2) {
+                throw RespError.arity("MSET");
+            }
+            for (int i = 1; i < args.size(); i += 2) {
+                session.db().put(args.get(i), args.get(i + 1));
+            }
+            return Reply.OK;
+        });
+    }
+
+    private static Reply set(Session session, Args args) {
+        String key = args.get(1);
+        boolean nx = false;
+        boolean xx = false;
+        boolean get = false;
+        boolean keepTtl = false;
+        Long expiresAt = null;
+        for (int i = 3; i < args.size(); i++) {
+            String option = args.upper(i);
+            switch (option) {
+                case "NX":
+                    nx = true;
+                    break;
+                case "XX":
+                    xx = true;
+                    break;
+                case "GET":
+                    get = true;
+                    break;
+                case "KEEPTTL":
+                    keepTtl = true;
+                    break;
+                case "EX":
+                case "PX":
+                case "EXAT":
+                case "PXAT":
+                    if (null != expiresAt) {
+                        throw new RespError(RespError.SYNTAX);
+                    }
+                    expiresAt = expiresAt(option, Args.parseLong(args.valueOf(i++)), "set");
+                    break;
+                default:
+                    throw new RespError(RespError.SYNTAX);
+            }
+        }
+        if (nx && xx || keepTtl && null != expiresAt) {
+            throw new RespError(RespError.SYNTAX);
+        }
+        Database db = session.db();
+        String previous = get ? db.getString(key) : null;
+        boolean exists = db.exists(key);
+        if (nx && exists || xx && !exists) {
+            return get ? Reply.bulk(previous) : Reply.nil();
+        }
+        if (keepTtl) {
+            db.replace(key, args.get(2));
+        } else {
+            db.put(key, args.get(2));
+        }
+        if (null != expiresAt) {
+            db.expireAt(key, expiresAt);
+        }
+        return get ? Reply.bulk(previous) : Reply.OK;
+    }
+
+    private static Reply getex(Session session, Args args) {
+        String key = args.get(1);
+        Database db = session.db();
+        String value = db.getString(key);
+        Long expiresAt = null;
+        boolean persist = false;
+        for (int i = 2; i < args.size(); i++) {
+            String option = args.upper(i);
+            switch (option) {
+                case "EX":
+                case "PX":
+                case "EXAT":
+                case "PXAT":
+                    if (null != expiresAt || persist) {
+                        throw new RespError(RespError.SYNTAX);
+                    }
+                    expiresAt = expiresAt(option, Args.parseLong(args.valueOf(i++)), "getex");
+                    break;
+                case "PERSIST":
+                    if (null != expiresAt) {
+                        throw new RespError(RespError.SYNTAX);
+                    }
+                    persist = true;
+                    break;
+                default:
+                    throw new RespError(RespError.SYNTAX);
+            }
+        }
+        if (null != value) {
+            if (persist) {
+                db.persist(key);
+            } else if (null != expiresAt) {
+                db.expireAt(key, expiresAt);
+            }
+        }
+        return Reply.bulk(value);
+    }
+
+    static long expiresAt(String option, long value, String command) {
+        if (value <= 0) {
+            throw new RespError("ERR invalid expire time in '" + command + "' command");
+        }
+        switch (option) {
+            case "EX":
+                return System.currentTimeMillis() + value * 1000;
+            case "PX":
+                return System.currentTimeMillis() + value;
+            case "EXAT":
+                return value * 1000;
+            default:
+                return value;
+        }
+    }
+
+    private static Reply incrBy(Session session, String key, long increment) {
+        String value = session.db().getString(key);
+        long current = null == value ? 0 : Args.parseLong(value);
+        long result;
+        try {
+            result = Math.addExact(current, increment);
+        } catch (ArithmeticException e) {
+            throw new RespError("ERR increment or decrement would overflow");
+        }
+        session.db().replace(key, Long.toString(result));
+        return Reply.integer(result);
+    }
+
+    static String range(String value, long start, long end) {
+        int length = value.length();
+        if (start < 0) {
+            start = Math.max(0, length + start);
+        }
+        if (end < 0) {
+            end = length + end;
+        }
+        end = Math.min(end, length - 1);
+        if (start > end || 0 == length) {
+            return "";
+        }
+        return value.substring((int) start, (int) end + 1);
+    }
+}
@@ -0,0 +1,84 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MULTI, EXEC and optimistic locking with WATCH. Queued commands run while holding the database monitor, so that
+ * no other client runs a command in between, and blocking commands inside a transaction never block.
+ */
+final class TransactionCommands {
+    private TransactionCommands() {
+    }
+
+    static void register(CommandTable table) {
+        table.add("MULTI", 1, (session, args) -> {
+            if (null != session.multi) {
+                throw new RespError("ERR MULTI calls can not be nested");
+            }
+            session.multi = new ArrayList<>();
+            session.multiFailed = false;
+            return Reply.OK;
+        });
+        table.add("DISCARD", 1, (session, args) -> {
+            if (null == session.multi) {
+                throw new RespError("ERR DISCARD without MULTI");
+            }
+            reset(session);
+            return Reply.OK;
+        });
+        table.add("WATCH", -2, (session, args) -> {
+            if (null != session.multi) {
+                throw new RespError("ERR WATCH inside MULTI is not allowed");
+            }
+            for (String key : args.from(1)) {
+                // an expired key counts as modified, lookup deletes it first
+                session.db().lookup(key);
+                session.watched.putIfAbsent(key, session.db().version(key));
+            }
+            return Reply.OK;
+        });
+        table.add("UNWATCH", 1, (session, args) -> {
+            session.watched.clear();
+            return Reply.OK;
+        });
+        table.add("EXEC", 1, TransactionCommands::exec);
+    }
+
+    private static Reply exec(Session session, Args args) {
+        if (null == session.multi) {
+            throw new RespError("ERR EXEC without MULTI");
+        }
+        List<List<String>> queued = session.multi;
+        boolean failed = session.multiFailed;
+        boolean modified = false;
+        for (Map.Entry<String, Long> watched : session.watched.entrySet()) {
+            session.db().lookup(watched.getKey());
+            modified |= session.db().version(watched.getKey()) != watched.getValue();
+        }
+        reset(session);
+        if (failed) {
+            throw new RespError("EXECABORT Transaction discarded because of previous errors.");
+        }
+        if (modified) {
+            return Reply.nilArray();
+        }
+        List<Reply> replies = new ArrayList<>(queued.size());
+        session.inExec = true;
+        try {
+            for (List<String> command : queued) {
+                replies.add(session.server.commands.execute(session, new Args(command)));
+            }
+        } finally {
+            session.inExec = false;
+        }
+        return Reply.array(replies);
+    }
+
+    private static void reset(Session session) {
+        session.multi = null;
+        session.multiFailed = false;
+        session.watched.clear();
+    }
+}
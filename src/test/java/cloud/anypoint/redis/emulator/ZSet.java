@@ -0,0 +1,76 @@
+package cloud.anypoint.redis.emulator;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Sorted set, ordered by score then member.
+ */
+final class ZSet {
+    private static final Comparator<Map.Entry<String, Double>> ORDER =
+            Comparator.<Map.Entry<String, Double>>comparingDouble(Map.Entry::getValue).thenComparing(Map.Entry::getKey);
+
+    private final Map<String, Double> scores = new HashMap<>();
+    private final TreeSet<Map.Entry<String, Double>> ordered = new TreeSet<>(ORDER);
+
+    int size() {
+        return scores.size();
+    }
+
+    Double score(String member) {
+        return scores.get(member);
+    }
+
+    /**
+     * Sets the score of a member, and returns whether the member was added.
+     */
+    boolean put(String member, double score) {
+        Double previous = scores.put(member, score);
+        if (null != previous) {
+            ordered.remove(new SimpleImmutableEntry<>(member, previous));
+        }
+        ordered.add(new SimpleImmutableEntry<>(member, score));
+        return null == previous;
+    }
+
+    boolean remove(String member) {
+        Double previous = scores.remove(member);
+        if (null == previous) {
+            return false;
+        }
+        ordered.remove(new SimpleImmutableEntry<>(member, previous));
+        return true;
+    }
+
+    /**
+     * Zero based rank of a member by ascending score, or -1.
+     */
+    long rank(String member) {
+        Double score = scores.get(member);
+        if (null == score) {
+            return -1;
+        }
+        return ordered.headSet(new SimpleImmutableEntry<>(member, score)).size();
+    }
+
+    List<Map.Entry<String, Double>> entries() {
+        return new ArrayList<>(ordered);
+    }
+
+    ZSet copy() {
+        ZSet copy = new ZSet();
+        scores.forEach(copy::put);
+        return copy;
+    }
+
+    List<String> members() {
+        List<String> members = new ArrayList<>(scores.size());
+        ordered.forEach(entry -> members.add(entry.getKey()));
+        return members;
+    }
+}
@@ -0,0 +1,47 @@
+package cloud.anypoint.redis.internal.commands;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class ScriptRegistryTestCase {
+
+  @Test
+  public void keepsOnlyTheMostRecentlyRunScripts() {
+    ScriptRegistry registry = new ScriptRegistry(2);
+    String first = registry.register("return 1");
+    String second = registry.register("return 2");
+    // running the first script again makes the second one the least recently run
+    registry.register("return 1");
+    String third = registry.register("return 3");
+
+    assertThat(registry.script(first), is("return 1"));
+    assertThat(registry.script(second), nullValue());
+    assertThat(registry.script(third), is("return 3"));
+  }
+
+  @Test
+  public void preloadedScriptsAreNeverEvicted() {
+    ScriptRegistry registry = new ScriptRegistry(1);
+    String preloaded = registry.preload("return 0");
+    registry.register("return 0");
+    registry.register("return 1");
+    registry.register("return 2");
+
+    assertThat(registry.script(preloaded), is("return 0"));
+    assertThat(registry.script(preloaded.toUpperCase()), is("return 0"));
+  }
+
+  @Test
+  public void onlyPreloadedScriptsAreLoadedOnConnect() {
+    ScriptRegistry registry = new ScriptRegistry();
+    registry.preload("return 0");
+    registry.register("return 1");
+
+    assertThat(new ArrayList<>(registry.preloaded()), is(Arrays.asList("return 0")));
+  }
+}
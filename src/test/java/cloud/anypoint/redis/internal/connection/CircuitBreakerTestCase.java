@@ -0,0 +1,207 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.exception.CircuitOpenException;
+import cloud.anypoint.redis.internal.exception.NilValueException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CircuitBreakerTestCase {
+
+  private static final long SLOW_CALL_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+  private RespServer server;
+
+  @Before
+  public void startServer() throws IOException {
+    server = RespServer.start(0, "x");
+  }
+
+  @After
+  public void stopServer() throws IOException {
+    server.close();
+  }
+
+  @Test
+  public void errorsTellingNothingOfTheServerAreNotFailures() {
+    CircuitBreaker breaker = breaker();
+    for (int i = 0; i < 10; i++) {
+      call(breaker, "EXEC", Mono.error(new NilValueException("EXEC")));
+      call(breaker, "SET", Mono.error(new IllegalArgumentException("Record has no key")));
+      call(breaker, "GET", Mono.error(new RedisException("Request queue size exceeded: 10. Commands are not accepted until the queue size drops.")));
+    }
+
+    assertThat(call(breaker, "PING", Mono.just("PONG")), is("PONG"));
+  }
+
+  @Test
+  public void errorRepliesAreNotFailures() {
+    try (TestConnection connection = new TestConnection(server.getPort())) {
+      CircuitBreaker breaker = breaker();
+      connection.get().commands().set("key", "value").block();
+      for (int i = 0; i < 10; i++) {
+        call(breaker, "LPUSH", connection.get().commands().lpush("key", "element"));
+      }
+
+      assertThat(call(breaker, "GET", connection.get().commands().get("key")), is("value"));
+    }
+  }
+
+  @Test
+  public void timeoutsAreFailures() {
+    CircuitBreaker breaker = breaker();
+    for (int i = 0; i < 5; i++) {
+      call(breaker, "GET", Mono.error(new RedisCommandTimeoutException("Command timed out after 1 second(s)")));
+    }
+
+    assertThat(error(breaker, "GET", Mono.just("value")), instanceOf(CircuitOpenException.class));
+  }
+
+  @Test
+  public void closedConnectionsAreFailures() {
+    CircuitBreaker breaker = breaker();
+    for (int i = 0; i < 5; i++) {
+      // as operations map commands failed by the loss of their connection
+      call(breaker, "GET", Mono.error(new RedisConnectionException("Connection closed", new RedisException("Connection closed"))));
+    }
+
+    assertThat(error(breaker, "GET", Mono.just("value")), instanceOf(CircuitOpenException.class));
+  }
+
+  @Test
+  public void opensOnceTheFailureRateReachesTheThreshold() {
+    CircuitBreaker breaker = breaker();
+    for (int i = 0; i < 2; i++) {
+      call(breaker, "GET", Mono.error(new RedisCommandTimeoutException("timed out")));
+      call(breaker, "GET", Mono.just("value"));
+    }
+    // 2 of 4 commands failed, fewer than the minimum number of commands
+    assertThat(call(breaker, "GET", Mono.just("value")), is("value"));
+    // 3 of 6
+    call(breaker, "GET", Mono.error(new RedisCommandTimeoutException("timed out")));
+
+    assertThat(error(breaker, "GET", Mono.just("value")), instanceOf(CircuitOpenException.class));
+  }
+
+  @Test
+  public void openBreakerDoesNotSendCommands() {
+    CircuitBreaker breaker = open(TimeUnit.MINUTES.toNanos(1));
+    AtomicInteger sent = new AtomicInteger();
+
+    error(breaker, "GET", Mono.fromCallable(sent::incrementAndGet));
+    assertThat(sent.get(), is(0));
+  }
+
+  @Test
+  public void closesOnceProbesSucceed() throws InterruptedException {
+    CircuitBreaker breaker = open(TimeUnit.MILLISECONDS.toNanos(100));
+    Thread.sleep(150);
+
+    try (TestConnection connection = new TestConnection(server.getPort())) {
+      assertThat(call(breaker, "PING", connection.get().commands().ping()), is("PONG"));
+      assertThat(call(breaker, "PING", connection.get().commands().ping()), is("PONG"));
+      for (int i = 0; i < 4; i++) {
+        call(breaker, "GET", Mono.error(new RedisCommandTimeoutException("timed out")));
+      }
+      // closed, with a window of its own
+      assertThat(call(breaker, "PING", connection.get().commands().ping()), is("PONG"));
+    }
+  }
+
+  @Test
+  public void reopensOnceProbesFail() throws InterruptedException {
+    CircuitBreaker breaker = open(TimeUnit.MILLISECONDS.toNanos(100));
+    Thread.sleep(150);
+    call(breaker, "GET", Mono.error(new RedisCommandTimeoutException("timed out")));
+    call(breaker, "GET", Mono.error(new RedisCommandTimeoutException("timed out")));
+
+    assertThat(error(breaker, "GET", Mono.just("value")), instanceOf(CircuitOpenException.class));
+  }
+
+  @Test
+  public void halfOpenBreakerSendsOnlyTheProbes() throws InterruptedException {
+    CircuitBreaker breaker = open(TimeUnit.MILLISECONDS.toNanos(100));
+    Thread.sleep(150);
+    Sinks.One<String> first = Sinks.one();
+    Sinks.One<String> second = Sinks.one();
+    breaker.protect("GET", first.asMono()).subscribe();
+    breaker.protect("GET", second.asMono()).subscribe();
+
+    assertThat(error(breaker, "GET", Mono.just("value")), instanceOf(CircuitOpenException.class));
+    first.tryEmitValue("value");
+    second.tryEmitValue("value");
+    assertThat(call(breaker, "GET", Mono.just("value")), is("value"));
+  }
+
+  @Test
+  public void cancelledProbeIsGivenBack() throws InterruptedException {
+    CircuitBreaker breaker = open(TimeUnit.MILLISECONDS.toNanos(100));
+    Thread.sleep(150);
+    breaker.protect("GET", Mono.never()).subscribe().dispose();
+    breaker.protect("GET", Mono.never()).subscribe().dispose();
+
+    assertThat(call(breaker, "GET", Mono.just("value")), is("value"));
+  }
+
+  @Test
+  public void opensOnceTheSlowCallRateReachesTheThreshold() {
+    CircuitBreaker breaker = new CircuitBreaker("config", 100, 50, TimeUnit.MILLISECONDS.toNanos(20), 10, 5, OPEN_NANOS, 2);
+    for (int i = 0; i < 5; i++) {
+      call(breaker, "GET", Mono.delay(Duration.ofMillis(50)).thenReturn("value"));
+    }
+
+    assertThat(error(breaker, "GET", Mono.just("value")), instanceOf(CircuitOpenException.class));
+  }
+
+  @Test
+  public void blockingCommandsAreNeverSlow() {
+    CircuitBreaker breaker = new CircuitBreaker("config", 100, 50, TimeUnit.MILLISECONDS.toNanos(20), 10, 5, OPEN_NANOS, 2);
+    try (TestConnection connection = new TestConnection(server.getPort())) {
+      for (int i = 0; i < 5; i++) {
+        call(breaker, "BLPOP", connection.get().commands().blpop(0.1, "list"));
+      }
+
+      assertThat(call(breaker, "GET", Mono.just("value")), is("value"));
+    }
+  }
+
+  private static CircuitBreaker breaker() {
+    return new CircuitBreaker("config", 50, 100, SLOW_CALL_NANOS, 10, 5, OPEN_NANOS, 2);
+  }
+
+  /**
+   * A breaker opened by failed commands, which probes with 2 commands once the open duration has elapsed.
+   */
+  private static CircuitBreaker open(long openNanos) {
+    CircuitBreaker breaker = new CircuitBreaker("config", 50, 100, SLOW_CALL_NANOS, 10, 5, openNanos, 2);
+    for (int i = 0; i < 5; i++) {
+      call(breaker, "GET", Mono.error(new RedisCommandTimeoutException("timed out")));
+    }
+    return breaker;
+  }
+
+  static <T> T call(CircuitBreaker breaker, String commandText, Mono<T> command) {
+    return breaker.protect(commandText, command).onErrorResume(e -> !(e instanceof CircuitOpenException), e -> Mono.empty())
+        .block(Duration.ofSeconds(5));
+  }
+
+  static Throwable error(CircuitBreaker breaker, String commandText, Mono<?> command) {
+    return breaker.protect(commandText, command).then(Mono.<Throwable>empty()).onErrorResume(Mono::just)
+        .block(Duration.ofSeconds(5));
+  }
+}
@@ -0,0 +1,116 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.emulator.RespServer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import org.HdrHistogram.Histogram;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class CommandTimeoutsTestCase {
+
+  private static final long DEFAULT_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final long FLOOR_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final CommandLatencies latencies = new CommandLatencies();
+  private final CommandTimeouts timeouts = new CommandTimeouts(DEFAULT_NANOS,
+      Collections.singletonMap("xreadgroup", TimeUnit.SECONDS.toNanos(30)), latencies, 99, 3, FLOOR_NANOS);
+
+  @Test
+  public void commandTimeoutsOverrideTheDefault() {
+    assertThat(timeouts.getTimeout(command(CommandType.XREADGROUP)), is(TimeUnit.SECONDS.toNanos(30)));
+  }
+
+  @Test
+  public void defaultTimeoutUntilEnoughLatenciesAreRecorded() throws InterruptedException {
+    timeouts.getTimeout(command(CommandType.GET));
+    record(CommandType.GET, 99, 5);
+    Thread.sleep(1100);
+
+    assertThat(timeouts.getTimeout(command(CommandType.GET)), is(DEFAULT_NANOS));
+  }
+
+  @Test
+  public void adaptiveTimeoutFollowsRecentLatencies() throws InterruptedException {
+    timeouts.getTimeout(command(CommandType.GET));
+    record(CommandType.GET, 100, 5);
+    Thread.sleep(1100);
+    long fast = timeouts.getTimeout(command(CommandType.GET));
+
+    record(CommandType.GET, 100, 50);
+    Thread.sleep(1100);
+    long slow = timeouts.getTimeout(command(CommandType.GET));
+
+    assertThat(fast >= TimeUnit.MILLISECONDS.toNanos(14) && fast <= TimeUnit.MILLISECONDS.toNanos(16), is(true));
+    assertThat(slow >= TimeUnit.MILLISECONDS.toNanos(145) && slow <= TimeUnit.MILLISECONDS.toNanos(155), is(true));
+  }
+
+  @Test
+  public void adaptiveTimeoutIsPerCommandType() throws InterruptedException {
+    timeouts.getTimeout(command(CommandType.GET));
+    timeouts.getTimeout(command(CommandType.SET));
+    record(CommandType.GET, 100, 5);
+    Thread.sleep(1100);
+
+    assertThat(timeouts.getTimeout(command(CommandType.GET)) < DEFAULT_NANOS, is(true));
+    assertThat(timeouts.getTimeout(command(CommandType.SET)), is(DEFAULT_NANOS));
+  }
+
+  @Test
+  public void blockingCommandsKeepTheDefault() throws InterruptedException {
+    timeouts.getTimeout(command(CommandType.BLPOP));
+    record(CommandType.BLPOP, 100, 5);
+    Thread.sleep(1100);
+
+    assertThat(timeouts.getTimeout(command(CommandType.BLPOP)), is(DEFAULT_NANOS));
+  }
+
+  @Test
+  public void latenciesAreRecordedPerCommandSent() throws Exception {
+    CommandLatencies recorded = new CommandLatencies();
+    ClientResources resources = DefaultClientResources.builder().commandLatencyRecorder(recorded).build();
+    try (RespServer server = RespServer.start(0, "x")) {
+      RedisClient client = RedisClient.create(resources,
+          RedisURI.Builder.redis("localhost", server.getPort()).withPassword("x".toCharArray()).build());
+      try (StatefulRedisConnection<String, String> connection = client.connect()) {
+        for (int i = 0; i < 5; i++) {
+          connection.sync().get("key");
+        }
+        long count = 0;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (count < 5 && System.currentTimeMillis() < deadline) {
+          Histogram interval = recorded.interval("GET");
+          count += null == interval ? 0 : interval.getTotalCount();
+          Thread.sleep(10);
+        }
+
+        assertThat(count, is(5L));
+      } finally {
+        client.shutdown();
+      }
+    } finally {
+      resources.shutdown();
+    }
+  }
+
+  private void record(CommandType type, int count, long millis) {
+    for (int i = 0; i < count; i++) {
+      latencies.recordCommandLatency(null, null, type, 0, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+  }
+
+  private static Command<String, String, String> command(CommandType type) {
+    return new Command<>(type, new StatusOutput<>(StringCodec.UTF8));
+  }
+}
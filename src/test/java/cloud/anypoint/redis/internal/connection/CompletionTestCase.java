@@ -0,0 +1,63 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.emulator.RespServer;
+import io.lettuce.core.ClientOptions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class CompletionTestCase {
+
+  private RespServer server;
+  private ExecutorService executor;
+
+  @Before
+  public void start() throws IOException {
+    server = RespServer.start(0, "x");
+    executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "completion"));
+  }
+
+  @After
+  public void stop() throws IOException {
+    executor.shutdown();
+    server.close();
+  }
+
+  @Test
+  public void inlineCompletesOnTheEventLoop() {
+    try (TestConnection connection = new TestConnection(server.getPort())) {
+      String thread = connection.get().complete(connection.get().commands().ping())
+          .map(reply -> Thread.currentThread().getName())
+          .block(Duration.ofSeconds(5));
+
+      assertThat(thread.startsWith("lettuce-"), is(true));
+    }
+  }
+
+  @Test
+  public void schedulerCompletesOnItsThreads() {
+    try (TestConnection connection = new TestConnection(server.getPort(), 1, null, null, ClientOptions.create(),
+        Schedulers.fromExecutor(executor))) {
+      String thread = connection.get().complete(connection.get().commands().ping())
+          .map(reply -> Thread.currentThread().getName())
+          .block(Duration.ofSeconds(5));
+
+      assertThat(thread, is("completion"));
+    }
+  }
+
+  @Test
+  public void executorIsLeftRunningByTheScheduler() {
+    Schedulers.fromExecutor(executor).dispose();
+
+    assertThat(executor.isShutdown(), is(false));
+  }
+}
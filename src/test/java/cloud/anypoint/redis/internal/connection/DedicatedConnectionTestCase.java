@@ -0,0 +1,59 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.emulator.RespServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+
+public class DedicatedConnectionTestCase {
+
+  private RespServer server;
+  private TestConnection connection;
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    connection = new TestConnection(server.getPort(), 1, null, null);
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    connection.close();
+    server.close();
+  }
+
+  @Test
+  public void cancelledCommandDoesNotHoldUpTheNextBorrower() {
+    // cancelled while still blocked on the server
+    connection.get()
+        .dedicatedConnection(dedicated -> LettuceRedisConnection.reactive(dedicated).blpop(5, "list").then())
+        .timeout(Duration.ofMillis(200))
+        .onErrorResume(e -> Mono.empty())
+        .block();
+    connection.get().commands().set("key", "value").block();
+
+    String value = connection.get()
+        .dedicatedConnection(dedicated -> LettuceRedisConnection.reactive(dedicated).get("key"))
+        .block(Duration.ofSeconds(2));
+
+    assertThat(value, is("value"));
+  }
+
+  @Test
+  public void successfulCommandReleasesItsConnection() {
+    for (int i = 0; i < 3; i++) {
+      connection.get()
+          .dedicatedConnection(dedicated -> LettuceRedisConnection.reactive(dedicated).ping())
+          .block(Duration.ofSeconds(2));
+    }
+
+    assertThat(connection.dedicatedConnections().getObjectCount(), is(1));
+    assertThat(connection.dedicatedConnections().getIdle(), is(1));
+  }
+}
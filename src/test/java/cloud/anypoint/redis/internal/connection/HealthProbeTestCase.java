@@ -0,0 +1,133 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.api.connection.StripingMode;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.commands.ScriptRegistry;
+import cloud.anypoint.redis.internal.metrics.CommandMetricsRegistry;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class HealthProbeTestCase {
+
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+  private RespServer server;
+  private RedisClient client;
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    client = RedisClient.create(RedisURI.Builder.redis("localhost", server.getPort()).withPassword("x".toCharArray()).build());
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    executor.shutdownNow();
+    client.shutdown();
+    server.close();
+  }
+
+  @Test
+  public void validationReturnsTheLastOutcomeWithoutPinging() {
+    AtomicInteger pings = new AtomicInteger();
+    HealthProbe probe = probe(counting(pings, Mono.just("PONG")), Duration.ofMinutes(1));
+
+    assertThat(probe.validate().isValid(), is(true));
+    assertThat(probe.validate().isValid(), is(true));
+    assertThat(pings.get(), is(0));
+  }
+
+  @Test
+  public void staleOutcomeIsReturnedWhileASinglePingRuns() throws Exception {
+    AtomicInteger pings = new AtomicInteger();
+    Sinks.One<String> reply = Sinks.one();
+    HealthProbe probe = probe(counting(pings, reply.asMono()), Duration.ofMillis(100));
+    Thread.sleep(200);
+
+    assertThat(probe.validate().isValid(), is(true));
+    assertThat(probe.validate().isValid(), is(true));
+    assertThat(pings.get(), is(1));
+
+    reply.tryEmitError(new IOException("Connection reset by peer"));
+    // the next validation sees the outcome of the ping it did not wait on
+    assertThat(probe.validate().isValid(), is(false));
+  }
+
+  @Test
+  public void validationFailsWithoutBlockingOnceTheServerIsGone() throws Exception {
+    StatefulConnection<String, String> stripe = client.connect();
+    HealthProbe probe = probe(() -> LettuceRedisConnection.reactive(stripe).ping(), Duration.ofMillis(200));
+    probe.start();
+    try {
+      assertThat(probe.validate().isValid(), is(true));
+      server.close();
+
+      ConnectionValidationResult result = probe.validate();
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (result.isValid() && System.nanoTime() < deadline) {
+        Thread.sleep(50);
+        long start = System.nanoTime();
+        result = probe.validate();
+        // pings to the server gone are never answered, validation must not wait on them
+        assertThat(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100), is(true));
+      }
+      assertThat(result.isValid(), is(false));
+    } finally {
+      probe.stop();
+      stripe.close();
+    }
+  }
+
+  @Test
+  public void invalidationStopsTheKeepalive() throws Exception {
+    AtomicInteger pings = new AtomicInteger();
+    StatefulConnection<String, String> stripe = client.connect();
+    HealthProbe probe = probe(counting(pings, Mono.just("PONG")), Duration.ofMillis(20));
+    CommandMetricsRegistry metrics = new CommandMetricsRegistry("health-" + server.getPort());
+    LettuceRedisConnection connection = new LettuceRedisConnection(Collections.singletonList(stripe),
+        StripingMode.ROUND_ROBIN, null, null, new ScriptRegistry(), null, null, metrics, probe, null, null, null);
+    probe.start();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (pings.get() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    connection.invalidate();
+    // a probe running while the keepalive was cancelled still completes
+    Thread.sleep(50);
+    int afterInvalidation = pings.get();
+    Thread.sleep(200);
+
+    assertThat(afterInvalidation > 0, is(true));
+    assertThat(pings.get(), is(afterInvalidation));
+    metrics.dispose();
+  }
+
+  private HealthProbe probe(Supplier<Mono<String>> ping, Duration interval) {
+    return new HealthProbe(Collections.singletonList(ping), executor, interval);
+  }
+
+  private static Supplier<Mono<String>> counting(AtomicInteger pings, Mono<String> reply) {
+    return () -> {
+      pings.incrementAndGet();
+      return reply;
+    };
+  }
+}
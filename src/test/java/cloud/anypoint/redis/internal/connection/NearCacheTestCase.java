@@ -0,0 +1,128 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.emulator.RespServer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class NearCacheTestCase {
+
+  private RespServer server;
+  private RedisClient client;
+  private NearCache nearCache;
+  private StatefulRedisConnection<String, String> tracked;
+  private StatefulRedisConnection<String, String> writer;
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    client = RedisClient.create(RedisURI.Builder.redis("localhost", server.getPort()).withPassword("x".toCharArray()).build());
+    nearCache = new NearCache(100, TimeUnit.MINUTES.toMillis(1));
+    client.addListener(nearCache);
+    tracked = client.connect();
+    nearCache.track(tracked);
+    writer = client.connect();
+    writer.sync().set("a", "1");
+    writer.sync().set("b", "1");
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    client.shutdown();
+    server.close();
+  }
+
+  @Test
+  public void readsAreServedFromTheCache() {
+    AtomicInteger reads = new AtomicInteger();
+
+    assertThat(read("a", reads), is("1"));
+    assertThat(read("a", reads), is("1"));
+    assertThat(reads.get(), is(1));
+  }
+
+  @Test
+  public void writesInvalidateTheKey() throws InterruptedException {
+    AtomicInteger reads = new AtomicInteger();
+    read("a", reads);
+    writer.sync().set("a", "2");
+
+    assertThat(eventually(() -> read("a", reads)), is("2"));
+  }
+
+  @Test
+  public void otherConnectionsOfTheClientLeaveTheCache() {
+    AtomicInteger reads = new AtomicInteger();
+    read("a", reads);
+    client.connect().close();
+
+    read("a", reads);
+    assertThat(reads.get(), is(1));
+  }
+
+  @Test
+  public void readInFlightIsNotCachedOnceItsKeyIsInvalidated() throws Exception {
+    AtomicInteger reads = new AtomicInteger();
+    tracked.sync().get("a");
+    CompletableFuture<String> inFlight = slowRead("a", reads);
+    writer.sync().set("a", "2");
+    inFlight.get(5, TimeUnit.SECONDS);
+
+    assertThat(eventually(() -> read("a", reads)), is("2"));
+    assertThat(reads.get(), is(2));
+  }
+
+  @Test
+  public void readInFlightIsCachedWhenOtherKeysAreInvalidated() throws Exception {
+    AtomicInteger reads = new AtomicInteger();
+    AtomicInteger otherReads = new AtomicInteger();
+    read("b", otherReads);
+    CompletableFuture<String> inFlight = slowRead("a", reads);
+    writer.sync().set("b", "2");
+    eventually(() -> read("b", otherReads));
+    inFlight.get(5, TimeUnit.SECONDS);
+
+    read("a", reads);
+    assertThat(reads.get(), is(1));
+  }
+
+  private String read(String key, AtomicInteger reads) {
+    return nearCache.get(key, "GET", () -> {
+      reads.incrementAndGet();
+      return tracked.reactive().get(key);
+    }).block(Duration.ofSeconds(5));
+  }
+
+  private CompletableFuture<String> slowRead(String key, AtomicInteger reads) {
+    return nearCache.get(key, "GET", () -> {
+      reads.incrementAndGet();
+      return Mono.delay(Duration.ofMillis(500)).then(tracked.reactive().get(key));
+    }).toFuture();
+  }
+
+  /**
+   * Reads until the value changes, invalidations being pushed after the write is replied to.
+   */
+  private static String eventually(Supplier<String> read) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    String value = read.get();
+    while (!"2".equals(value) && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+      value = read.get();
+    }
+    return value;
+  }
+}
@@ -0,0 +1,75 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.models.role.RedisInstance;
+import io.lettuce.core.models.role.RedisNodeDescription;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class PinnedReadFromTestCase {
+
+  private static final RedisNodeDescription MASTER = node(6379, RedisInstance.Role.UPSTREAM);
+  private static final RedisNodeDescription FIRST_REPLICA = node(6380, RedisInstance.Role.REPLICA);
+  private static final RedisNodeDescription SECOND_REPLICA = node(6381, RedisInstance.Role.REPLICA);
+
+  @Test
+  public void keepsReadingFromTheFirstNodeSelected() {
+    PinnedReadFrom readFrom = new PinnedReadFrom(ReadFrom.LOWEST_LATENCY);
+
+    assertThat(readFrom.select(nodes(SECOND_REPLICA, FIRST_REPLICA, MASTER)), is(Arrays.asList(SECOND_REPLICA)));
+    // the latency of the nodes changed
+    assertThat(readFrom.select(nodes(FIRST_REPLICA, MASTER, SECOND_REPLICA)), is(Arrays.asList(SECOND_REPLICA)));
+  }
+
+  @Test
+  public void readsFromAnotherNodeOnceThePinnedNodeIsNoLongerSelected() {
+    PinnedReadFrom readFrom = new PinnedReadFrom(ReadFrom.ANY_REPLICA);
+
+    assertThat(readFrom.select(nodes(MASTER, FIRST_REPLICA, SECOND_REPLICA)), is(Arrays.asList(FIRST_REPLICA)));
+    assertThat(readFrom.select(nodes(MASTER, SECOND_REPLICA)), is(Arrays.asList(SECOND_REPLICA)));
+    assertThat(readFrom.select(nodes(MASTER, FIRST_REPLICA, SECOND_REPLICA)), is(Arrays.asList(SECOND_REPLICA)));
+  }
+
+  @Test
+  public void selectsNothingWhenThePolicySelectsNothing() {
+    PinnedReadFrom readFrom = new PinnedReadFrom(ReadFrom.REPLICA);
+
+    assertThat(readFrom.select(nodes(MASTER)).isEmpty(), is(true));
+  }
+
+  private static ReadFrom.Nodes nodes(RedisNodeDescription... nodes) {
+    List<RedisNodeDescription> list = Arrays.asList(nodes);
+    return new ReadFrom.Nodes() {
+      @Override
+      public List<RedisNodeDescription> getNodes() {
+        return list;
+      }
+
+      @Override
+      public Iterator<RedisNodeDescription> iterator() {
+        return list.iterator();
+      }
+    };
+  }
+
+  private static RedisNodeDescription node(int port, RedisInstance.Role role) {
+    RedisURI uri = RedisURI.create("localhost", port);
+    return new RedisNodeDescription() {
+      @Override
+      public RedisURI getUri() {
+        return uri;
+      }
+
+      @Override
+      public RedisInstance.Role getRole() {
+        return role;
+      }
+    };
+  }
+}
@@ -0,0 +1,145 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static cloud.anypoint.redis.internal.util.ErrorDecorator.mapErrors;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.metrics.CommandMetrics;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryPolicyTestCase {
+
+  private RespServer server;
+  private TestConnection connection;
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    connection = new TestConnection(server.getPort());
+    connection.get().commands().set("key", "value").block();
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    connection.close();
+    server.close();
+  }
+
+  @Test
+  public void idempotentCommandIsSentAgainOnTimeout() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThat(retry(policy(), "GET", failingFirst(attempts, connection.get().commands().get("key"))).block(), is("value"));
+    assertThat(attempts.get(), is(2));
+  }
+
+  @Test
+  public void commandIsSentAgainWhenItsConnectionIsClosed() {
+    AtomicInteger attempts = new AtomicInteger();
+    Mono<String> command = Mono.defer(() -> 1 == attempts.incrementAndGet()
+        ? Mono.error(new RedisConnectionException("Connection closed", new RedisException("Connection closed")))
+        : connection.get().commands().get("key"));
+
+    assertThat(retry(policy(), "GET", command).block(), is("value"));
+    assertThat(attempts.get(), is(2));
+  }
+
+  @Test
+  public void conditionalCommandsAreNotRetriedByDefault() {
+    for (String command : new String[] {"SET NX", "SET XX", "SET GET", "EXPIRE GT", "PEXPIRE NX", "PERSIST", "HSET"}) {
+      AtomicInteger attempts = new AtomicInteger();
+
+      assertThat(command, error(policy(), command, failingFirst(attempts, connection.get().commands().get("key"))),
+          instanceOf(RedisCommandTimeoutException.class));
+      assertThat(command, attempts.get(), is(1));
+    }
+  }
+
+  @Test
+  public void listedConditionalCommandIsRetried() {
+    RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(10), 0.5, Collections.singletonList("set nx"));
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThat(retry(policy, "SET NX", failingFirst(attempts, connection.get().commands().get("key"))).block(), is("value"));
+    assertThat(retry(policy, "GET", failingFirst(new AtomicInteger(), Mono.just("value"))).onErrorReturn("failed").block(),
+        is("failed"));
+  }
+
+  @Test
+  public void errorRepliesAreNotRetried() {
+    AtomicInteger attempts = new AtomicInteger();
+    Mono<Long> command = Mono.defer(() -> {
+      attempts.incrementAndGet();
+      return connection.get().commands().lpush("key", "element");
+    });
+
+    assertThat(error(policy(), "GET", command), instanceOf(RedisCommandExecutionException.class));
+    assertThat(attempts.get(), is(1));
+  }
+
+  @Test
+  public void lastFailureIsReturnedOnceAttemptsAreExhausted() {
+    AtomicInteger attempts = new AtomicInteger();
+    Mono<String> command = Mono.defer(() -> Mono.error(new RedisCommandTimeoutException("attempt " + attempts.incrementAndGet())));
+
+    Throwable error = error(policy(), "GET", command);
+    assertThat(error, instanceOf(RedisCommandTimeoutException.class));
+    assertThat(error.getMessage(), is("attempt 3"));
+  }
+
+  @Test
+  public void latencyOfEveryAttemptIsRecordedWithoutTheBackoff() throws Exception {
+    RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(500), Duration.ofMillis(500), 0.5, null);
+    try (TestConnection retrying = new TestConnection(server.getPort(), 1, null, policy)) {
+      AtomicInteger attempts = new AtomicInteger();
+
+      assertThat(mapErrors(retrying.get(), failingFirst(attempts, retrying.get().commands().get("key")), "GET", "key")
+          .block(Duration.ofSeconds(5)), is("value"));
+
+      CommandMetrics metrics = retrying.get().metrics().find("GET");
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (metrics.getCount() < 2 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(metrics.getCount(), is(2L));
+      // the backoff waited at least 250 milliseconds between the attempts
+      assertThat(metrics.getMaxMillis() < 250, is(true));
+      assertThat(metrics.getErrors().isEmpty(), is(true));
+    }
+  }
+
+  private static RetryPolicy policy() {
+    return new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(10), 0.5, null);
+  }
+
+  private static <T> Mono<T> retry(RetryPolicy policy, String commandText, Mono<T> command) {
+    return policy.apply(commandText, command).timeout(Duration.ofSeconds(5));
+  }
+
+  private static Throwable error(RetryPolicy policy, String commandText, Mono<?> command) {
+    return retry(policy, commandText, command).then(Mono.<Throwable>empty()).onErrorResume(Mono::just).block();
+  }
+
+  /**
+   * The command, after a first attempt timing out.
+   */
+  private static <T> Mono<T> failingFirst(AtomicInteger attempts, Mono<T> command) {
+    return Mono.defer(() -> 1 == attempts.incrementAndGet()
+        ? Mono.error(new RedisCommandTimeoutException("Command timed out"))
+        : command);
+  }
+}
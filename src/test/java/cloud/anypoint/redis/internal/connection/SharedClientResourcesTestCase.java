@@ -0,0 +1,72 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import cloud.anypoint.redis.emulator.RespServer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.resource.ClientResources;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class SharedClientResourcesTestCase {
+
+  @Test
+  public void sameThreadPoolSizesShareResources() {
+    ClientResources first = SharedClientResources.acquire(2, 2);
+    ClientResources second = SharedClientResources.acquire(2, 2);
+    ClientResources other = SharedClientResources.acquire(3, 2);
+    try {
+      assertThat(second, sameInstance(first));
+      assertThat(other, not(sameInstance(first)));
+    } finally {
+      SharedClientResources.release(first);
+      SharedClientResources.release(second);
+      SharedClientResources.release(other);
+    }
+  }
+
+  @Test
+  public void disposingAClientRecordingLatenciesLeavesTheSharedThreadsRunning() throws Exception {
+    try (RespServer server = RespServer.start(0, "x")) {
+      RedisURI uri = RedisURI.Builder.redis("localhost", server.getPort()).withPassword("x".toCharArray()).build();
+      ClientResources shared = SharedClientResources.acquire(2, 3);
+      ClientResources otherShared = SharedClientResources.acquire(2, 3);
+      CommandLatencies latencies = new CommandLatencies();
+      RedisClient first = RedisClient.create(SharedClientResources.recordingLatencies(shared, new CommandLatencies()), uri);
+      RedisClient second = RedisClient.create(SharedClientResources.recordingLatencies(otherShared, latencies), uri);
+      try {
+        first.connect().sync().ping();
+        // as the provider of the first config is disposed
+        first.shutdown();
+        SharedClientResources.release(shared);
+
+        assertThat(otherShared.eventExecutorGroup().isShuttingDown(), is(false));
+        assertThat(second.connect().sync().ping(), is("PONG"));
+        // latencies are recorded once the reply is handed over
+        long recorded = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (recorded == 0 && System.nanoTime() < deadline) {
+          Thread.sleep(10);
+          recorded += latencies.interval("PING").getTotalCount();
+        }
+        assertThat(recorded, is(1L));
+      } finally {
+        second.shutdown();
+        SharedClientResources.release(otherShared);
+      }
+    }
+  }
+
+  @Test
+  public void lettuceFlightRecorderIsLeftToOtherUsers() {
+    ClientResources resources = SharedClientResources.acquire(null, null);
+    SharedClientResources.release(resources);
+
+    assertThat(System.getProperty("io.lettuce.core.jfr"), is(nullValue()));
+  }
+}
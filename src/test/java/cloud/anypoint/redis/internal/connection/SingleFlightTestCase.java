@@ -0,0 +1,89 @@
+package cloud.anypoint.redis.internal.connection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.emulator.RespServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTestCase {
+
+  private RespServer server;
+  private TestConnection connection;
+  private final SingleFlight singleFlight = new SingleFlight();
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    connection = new TestConnection(server.getPort());
+    connection.get().commands().set("key", "value").block();
+    connection.get().commands().set("other", "other value").block();
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    connection.close();
+    server.close();
+  }
+
+  @Test
+  public void concurrentReadsOfAKeyShareTheReply() throws Exception {
+    AtomicInteger reads = new AtomicInteger();
+    CompletableFuture<String> first = slowRead("key", "GET", reads);
+    CompletableFuture<String> second = slowRead("key", "GET", reads);
+
+    assertThat(first.get(5, TimeUnit.SECONDS), is("value"));
+    assertThat(second.get(5, TimeUnit.SECONDS), is("value"));
+    assertThat(reads.get(), is(1));
+  }
+
+  @Test
+  public void readsOfOtherKeysOrEntriesAreSent() throws Exception {
+    AtomicInteger reads = new AtomicInteger();
+    CompletableFuture<String> key = slowRead("key", "GET", reads);
+    CompletableFuture<String> other = slowRead("other", "GET", reads);
+    CompletableFuture<String> entry = slowRead("key", "GETRANGE 0 1", reads);
+
+    assertThat(key.get(5, TimeUnit.SECONDS), is("value"));
+    assertThat(other.get(5, TimeUnit.SECONDS), is("other value"));
+    entry.get(5, TimeUnit.SECONDS);
+    assertThat(reads.get(), is(3));
+  }
+
+  @Test
+  public void readsAfterTheReplyAreSentAgain() throws Exception {
+    AtomicInteger reads = new AtomicInteger();
+    slowRead("key", "GET", reads).get(5, TimeUnit.SECONDS);
+    connection.get().commands().set("key", "new value").block();
+
+    assertThat(slowRead("key", "GET", reads).get(5, TimeUnit.SECONDS), is("new value"));
+    assertThat(reads.get(), is(2));
+  }
+
+  @Test
+  public void failedReadIsNotKept() throws Exception {
+    AtomicInteger reads = new AtomicInteger();
+    singleFlight.get("key", "GET", () -> {
+      reads.incrementAndGet();
+      return Mono.<String>error(new IllegalStateException("failed"));
+    }).onErrorResume(e -> Mono.empty()).block(Duration.ofSeconds(5));
+
+    assertThat(slowRead("key", "GET", reads).get(5, TimeUnit.SECONDS), is("value"));
+    assertThat(reads.get(), is(2));
+  }
+
+  private CompletableFuture<String> slowRead(String key, String entry, AtomicInteger reads) {
+    return singleFlight.get(key, entry, () -> {
+      reads.incrementAndGet();
+      return Mono.delay(Duration.ofMillis(200)).then(connection.get().commands().get(key));
+    }).toFuture();
+  }
+}
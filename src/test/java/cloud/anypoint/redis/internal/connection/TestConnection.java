@@ -0,0 +1,89 @@
+package cloud.anypoint.redis.internal.connection;
+
+import cloud.anypoint.redis.api.connection.StripingMode;
+import cloud.anypoint.redis.internal.commands.ScriptRegistry;
+import cloud.anypoint.redis.internal.metrics.CommandMetricsRegistry;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.support.AsyncConnectionPoolSupport;
+import io.lettuce.core.support.BoundedAsyncPool;
+import io.lettuce.core.support.BoundedPoolConfig;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.function.UnaryOperator;
+
+/**
+ * A connection of the connector to a test server, with a single stripe and the given circuit breaker and retry policy,
+ * either of which may be null. Dedicated connections may be decorated, e.g. to observe how they are used.
+ */
+public final class TestConnection implements Closeable {
+  private final RedisClient client;
+  private final BoundedAsyncPool<StatefulConnection<String, String>> dedicatedConnections;
+  private final CommandMetricsRegistry metrics;
+  private final StatefulConnection<String, String> stripe;
+  private final LettuceRedisConnection connection;
+
+  public TestConnection(int port, int maxDedicatedConnections, CircuitBreaker circuitBreaker, RetryPolicy retryPolicy,
+                        ClientOptions options, Scheduler completionScheduler,
+                        UnaryOperator<StatefulConnection<String, String>> dedicatedDecorator) {
+    RedisURI uri = RedisURI.Builder.redis("localhost", port).withPassword("x".toCharArray()).build();
+    client = RedisClient.create(uri);
+    client.setOptions(options);
+    dedicatedConnections = AsyncConnectionPoolSupport.createBoundedObjectPool(
+        () -> client.connectAsync(StringCodec.UTF8, uri).thenApply(dedicatedDecorator),
+        BoundedPoolConfig.builder().maxTotal(maxDedicatedConnections).maxIdle(maxDedicatedConnections).minIdle(0).build(),
+        false);
+    metrics = new CommandMetricsRegistry("test-" + port + "-" + System.nanoTime());
+    stripe = client.connect();
+    connection = new LettuceRedisConnection(Collections.singletonList(stripe), StripingMode.ROUND_ROBIN, null,
+        dedicatedConnections, new ScriptRegistry(), null, null, metrics, null, circuitBreaker, retryPolicy, completionScheduler);
+  }
+
+  public TestConnection(int port, int maxDedicatedConnections, CircuitBreaker circuitBreaker, RetryPolicy retryPolicy,
+                        ClientOptions options, Scheduler completionScheduler) {
+    this(port, maxDedicatedConnections, circuitBreaker, retryPolicy, options, completionScheduler, UnaryOperator.identity());
+  }
+
+  public TestConnection(int port, int maxDedicatedConnections, CircuitBreaker circuitBreaker, RetryPolicy retryPolicy,
+                        ClientOptions options) {
+    this(port, maxDedicatedConnections, circuitBreaker, retryPolicy, options, null);
+  }
+
+  public TestConnection(int port, int maxDedicatedConnections, CircuitBreaker circuitBreaker, RetryPolicy retryPolicy) {
+    this(port, maxDedicatedConnections, circuitBreaker, retryPolicy, ClientOptions.create());
+  }
+
+  public TestConnection(int port, int maxDedicatedConnections,
+                        UnaryOperator<StatefulConnection<String, String>> dedicatedDecorator) {
+    this(port, maxDedicatedConnections, null, null, ClientOptions.create(), null, dedicatedDecorator);
+  }
+
+  public TestConnection(int port) {
+    this(port, 8, null, null);
+  }
+
+  public LettuceRedisConnection get() {
+    return connection;
+  }
+
+  public StatefulConnection<String, String> stripe() {
+    return stripe;
+  }
+
+  public BoundedAsyncPool<StatefulConnection<String, String>> dedicatedConnections() {
+    return dedicatedConnections;
+  }
+
+  @Override
+  public void close() {
+    dedicatedConnections.close();
+    connection.invalidate();
+    metrics.dispose();
+    client.shutdown();
+  }
+}
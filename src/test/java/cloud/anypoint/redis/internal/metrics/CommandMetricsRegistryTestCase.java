@@ -0,0 +1,66 @@
+package cloud.anypoint.redis.internal.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+public class CommandMetricsRegistryTestCase {
+
+  private final CommandMetricsRegistry registry = new CommandMetricsRegistry("metrics-test");
+
+  @After
+  public void dispose() {
+    registry.dispose();
+  }
+
+  @Test
+  public void knownCommandsAreRecordedInUpperCase() {
+    assertThat(CommandMetricsRegistry.dynamic("get"), is("GET"));
+    assertThat(CommandMetricsRegistry.dynamic("ObJeCt"), is("OBJECT"));
+  }
+
+  @Test
+  public void unknownCommandsShareABucket() {
+    assertThat(CommandMetricsRegistry.dynamic("json.get"), is(CommandMetricsRegistry.DYNAMIC));
+    assertThat(CommandMetricsRegistry.dynamic("no-such-command"), is(CommandMetricsRegistry.DYNAMIC));
+  }
+
+  @Test
+  public void commandsAreNamedWithoutTheirOptions() {
+    assertThat(CommandMetricsRegistry.name("SET NX GET"), is("SET"));
+    assertThat(CommandMetricsRegistry.name("EXPIRE XX GT"), is("EXPIRE"));
+    assertThat(CommandMetricsRegistry.name("XGROUP CREATE"), is("XGROUP CREATE"));
+    assertThat(CommandMetricsRegistry.name("GET"), is("GET"));
+  }
+
+  @Test
+  public void variantsOfACommandShareItsMetrics() {
+    registry.record("SET", Mono.just("OK")).block();
+    registry.record("SET NX", Mono.just("OK")).block();
+    registry.record("SET XX GET", Mono.just("OK")).block();
+
+    assertThat(registry.find("SET").getCount(), is(3L));
+    assertThat(registry.find("SET NX"), is(registry.find("SET")));
+  }
+
+  @Test
+  public void errorsAreCountedOncePerCommand() {
+    Mono<String> attempt = registry.record("GET", Mono.error(new IllegalStateException()));
+    registry.countErrors("GET", attempt.retry(2)).onErrorReturn("failed").block();
+
+    assertThat(registry.find("GET").getCount(), is(3L));
+    assertThat(registry.find("GET").getErrors().get("IllegalStateException"), is(1L));
+  }
+
+  @Test
+  public void commandsAreFoundOnceSent() {
+    assertThat(registry.find("GET"), is(nullValue()));
+    registry.record("GET", Mono.just("value")).block();
+
+    assertThat(registry.find("GET"), is(notNullValue()));
+  }
+}
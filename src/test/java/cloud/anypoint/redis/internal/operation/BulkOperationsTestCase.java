@@ -0,0 +1,354 @@
+package cloud.anypoint.redis.internal.operation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNull.nullValue;
+import cloud.anypoint.redis.api.bulk.BatchResult;
+import cloud.anypoint.redis.api.bulk.BulkCommand;
+import cloud.anypoint.redis.api.bulk.BulkWriteResult;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.connection.TestConnection;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+
+public class BulkOperationsTestCase {
+
+  private RespServer server;
+  private TestConnection connection;
+  private final BulkOperations operations = new BulkOperations();
+  // the last autoflush set on the dedicated connection, null until set
+  private final AtomicReference<Boolean> autoFlush = new AtomicReference<>();
+  private final AtomicInteger flushes = new AtomicInteger();
+  private final AtomicBoolean holdFlushes = new AtomicBoolean();
+  private final List<StatefulConnection<String, String>> heldFlushes = new ArrayList<>();
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    connection = new TestConnection(server.getPort(), 1, this::observed);
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    connection.close();
+    server.close();
+  }
+
+  @Test
+  public void batchesAreIndexedInOrder() throws Exception {
+    BulkWriteResult result = bulkWrite(BulkCommand.SET, records(7, i -> record("key" + i, "value", "value" + i)), 3, 6);
+
+    assertThat(result.getWritten(), is(7L));
+    assertThat(result.getFailed(), is(0L));
+    assertThat(result.getBatches().size(), is(3));
+    for (int i = 0; i < 3; i++) {
+      assertThat(result.getBatches().get(i).getBatch(), is(i));
+      assertThat(result.getBatches().get(i).getError(), is(nullValue()));
+    }
+    assertThat(result.getBatches().get(2).getWritten(), is(1));
+    assertThat(connection.get().commands().get("key6").block(), is("value6"));
+  }
+
+  @Test
+  public void invalidRecordsFailOnTheirOwn() throws Exception {
+    List<Map<String, Object>> records = new ArrayList<>();
+    records.add(zaddRecord("zset", 1, "a"));
+    records.add(zaddRecord(null, 2, "b"));
+    records.add(zaddRecord("zset", "high", "c"));
+    records.add(zaddRecord("zset", 3, "d"));
+
+    BulkWriteResult result = bulkWrite(BulkCommand.ZADD, records, 2, 4);
+
+    assertThat(result.getWritten(), is(2L));
+    assertThat(result.getFailed(), is(2L));
+    BatchResult first = result.getBatches().get(0);
+    assertThat(first.getWritten(), is(1));
+    assertThat(first.getFailed(), is(1));
+    assertThat(first.getError(), is("Record has no key"));
+    BatchResult second = result.getBatches().get(1);
+    assertThat(second.getWritten(), is(1));
+    assertThat(second.getFailed(), is(1));
+    assertThat(second.getError(), is("Record of zset has no numeric score"));
+    assertThat(connection.get().commands().zcard("zset").block(), is(2L));
+  }
+
+  @Test
+  public void recordsReadAreBoundedByMaxInFlight() throws Exception {
+    AtomicInteger read = new AtomicInteger();
+    holdFlushes.set(true);
+    CompletableFuture<BulkWriteResult> result = new CompletableFuture<>();
+    operations.bulkWrite(connection.get(), BulkCommand.SET,
+        counted(records(100, i -> record("key" + i, "value", "value" + i)), read), 5, 20, callback(result));
+
+    // no batch is replied to while its flush is held, so no more records are read than may be in flight
+    await(() -> flushes.get() == 4);
+    Thread.sleep(200);
+    assertThat(read.get(), is(20));
+
+    releaseFlushes();
+    BulkWriteResult written = result.get(5, TimeUnit.SECONDS);
+    assertThat(written.getWritten(), is(100L));
+    assertThat(written.getBatches().size(), is(20));
+  }
+
+  @Test
+  public void autoFlushIsRestoredOnError() throws Exception {
+    List<Map<String, Object>> records = records(10, i -> record("key" + i, "value", "value" + i));
+    Iterable<Map<String, Object>> failing = () -> new Iterator<Map<String, Object>>() {
+      private final Iterator<Map<String, Object>> delegate = records.iterator();
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return delegate.hasNext();
+      }
+
+      @Override
+      public Map<String, Object> next() {
+        if (next++ == 7) {
+          throw new IllegalStateException("Stream of records broken");
+        }
+        return delegate.next();
+      }
+    };
+    CompletableFuture<BulkWriteResult> result = new CompletableFuture<>();
+
+    operations.bulkWrite(connection.get(), BulkCommand.SET, failing, 3, 6, callback(result));
+
+    try {
+      result.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+    }
+    assertThat(result.isCompletedExceptionally(), is(true));
+    assertThat(autoFlush.get(), is(true));
+  }
+
+  @Test
+  public void autoFlushIsRestoredOnCancel() throws Exception {
+    List<Map<String, Object>> records = records(10, i -> record("key" + i, "value", "value" + i));
+    CountDownLatch resumed = new CountDownLatch(1);
+    AtomicInteger read = new AtomicInteger();
+    // the stream stalls after the first batch
+    Iterable<Map<String, Object>> stalling = () -> new Iterator<Map<String, Object>>() {
+      private final Iterator<Map<String, Object>> delegate = counted(records, read).iterator();
+
+      @Override
+      public boolean hasNext() {
+        if (read.get() == 3) {
+          try {
+            resumed.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return delegate.hasNext();
+      }
+
+      @Override
+      public Map<String, Object> next() {
+        return delegate.next();
+      }
+    };
+
+    Disposable write = operations.writeBatches(connection.get(), BulkCommand.SET, stalling, 3, 6).subscribe();
+    try {
+      await(() -> flushes.get() == 1);
+      assertThat(autoFlush.get(), is(false));
+      write.dispose();
+      await(() -> Boolean.TRUE.equals(autoFlush.get()));
+    } finally {
+      resumed.countDown();
+    }
+    assertThat(autoFlush.get(), is(true));
+  }
+
+  @Test
+  public void deleteKeysUnlinksEveryPage() throws Exception {
+    for (int i = 0; i < 250; i++) {
+      connection.get().commands().set("user:" + i, "value").block();
+    }
+    connection.get().commands().set("other", "value").block();
+
+    long deleted = deleteKeys("user:*", null, 10, null);
+
+    assertThat(deleted, is(250L));
+    assertThat(connection.get().commands().dbsize().block(), is(1L));
+  }
+
+  @Test
+  public void deleteKeysOfType() throws Exception {
+    for (int i = 0; i < 20; i++) {
+      connection.get().commands().set("user:" + i, "value").block();
+      connection.get().commands().hset("user:hash:" + i, "field", "value").block();
+    }
+
+    long deleted = deleteKeys("user:*", "hash", 10, null);
+
+    assertThat(deleted, is(20L));
+    assertThat(connection.get().commands().exists("user:hash:0").block(), is(0L));
+    assertThat(connection.get().commands().exists("user:0").block(), is(1L));
+    assertThat(connection.get().commands().dbsize().block(), is(20L));
+  }
+
+  @Test
+  public void deleteKeysIsPaced() throws Exception {
+    for (int i = 0; i < 50; i++) {
+      connection.get().commands().set("user:" + i, "value").block();
+    }
+    long start = System.nanoTime();
+
+    // pages of 10 keys, 100ms each, the first page deleted at once
+    long deleted = deleteKeys("user:*", null, 10, 100);
+
+    assertThat(deleted, is(50L));
+    assertThat(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(350), is(true));
+  }
+
+  private long deleteKeys(String match, String type, int pageSizeHint, Integer maxKeysPerSecond)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    CompletableFuture<Long> result = new CompletableFuture<>();
+    operations.deleteKeys(connection.get(), match, type, pageSizeHint, maxKeysPerSecond, callback(result));
+    return result.get(5, TimeUnit.SECONDS);
+  }
+
+  private BulkWriteResult bulkWrite(BulkCommand command, Iterable<Map<String, Object>> records, int batchSize,
+                                    int maxInFlight)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    CompletableFuture<BulkWriteResult> result = new CompletableFuture<>();
+    operations.bulkWrite(connection.get(), command, records, batchSize, maxInFlight, callback(result));
+    return result.get(5, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Records the autoflush and flushes of the dedicated connection, holding its flushes while asked to.
+   */
+  @SuppressWarnings("unchecked")
+  private StatefulConnection<String, String> observed(StatefulConnection<String, String> dedicated) {
+    return (StatefulConnection<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] {StatefulRedisConnection.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "equals":
+              return proxy == args[0];
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "setAutoFlushCommands":
+              autoFlush.set((Boolean) args[0]);
+              break;
+            case "flushCommands":
+              flushes.incrementAndGet();
+              synchronized (heldFlushes) {
+                if (holdFlushes.get()) {
+                  heldFlushes.add(dedicated);
+                  return null;
+                }
+              }
+              break;
+            default:
+              break;
+          }
+          try {
+            return method.invoke(dedicated, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+  }
+
+  private void releaseFlushes() {
+    synchronized (heldFlushes) {
+      holdFlushes.set(false);
+      heldFlushes.forEach(StatefulConnection::flushCommands);
+      heldFlushes.clear();
+    }
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertThat("timed out", System.nanoTime() < deadline, is(true));
+      Thread.sleep(10);
+    }
+  }
+
+  private static <T> CompletionCallback<T, Void> callback(CompletableFuture<T> result) {
+    return new CompletionCallback<T, Void>() {
+      @Override
+      public void success(Result<T, Void> output) {
+        result.complete(output.getOutput());
+      }
+
+      @Override
+      public void error(Throwable e) {
+        result.completeExceptionally(e);
+      }
+    };
+  }
+
+  private static Iterable<Map<String, Object>> counted(Iterable<Map<String, Object>> records, AtomicInteger read) {
+    return () -> {
+      Iterator<Map<String, Object>> delegate = records.iterator();
+      return new Iterator<Map<String, Object>>() {
+        @Override
+        public boolean hasNext() {
+          return delegate.hasNext();
+        }
+
+        @Override
+        public Map<String, Object> next() {
+          read.incrementAndGet();
+          return delegate.next();
+        }
+      };
+    };
+  }
+
+  private static List<Map<String, Object>> records(int count, IntFunction<Map<String, Object>> record) {
+    List<Map<String, Object>> records = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      records.add(record.apply(i));
+    }
+    return records;
+  }
+
+  private static Map<String, Object> record(String key, String field, Object value) {
+    Map<String, Object> record = new HashMap<>();
+    if (null != key) {
+      record.put("key", key);
+    }
+    record.put(field, value);
+    return record;
+  }
+
+  private static Map<String, Object> zaddRecord(String key, Object score, String member) {
+    Map<String, Object> record = record(key, "score", score);
+    record.put("member", member);
+    return record;
+  }
+}
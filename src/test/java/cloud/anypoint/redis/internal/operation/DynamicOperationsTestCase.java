@@ -0,0 +1,111 @@
+package cloud.anypoint.redis.internal.operation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import cloud.anypoint.redis.api.CommandReturnType;
+import cloud.anypoint.redis.api.command.QueuedCommand;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.connection.TestConnection;
+import cloud.anypoint.redis.internal.exception.WrongTypeException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class DynamicOperationsTestCase {
+
+  private RespServer server;
+  private TestConnection connection;
+  private final DynamicOperations operations = new DynamicOperations();
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    connection = new TestConnection(server.getPort(), 1, null, null);
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    connection.close();
+    server.close();
+  }
+
+  @Test
+  public void pipelineRepliesInOrder() throws Exception {
+    List<Object> replies = pipeline(
+        command("SET", CommandReturnType.STATUS, "key", "value"),
+        command("GET", CommandReturnType.STRING, "key"),
+        command("GET", CommandReturnType.STRING, "missing"),
+        command("HSET", CommandReturnType.LONG, "hash", "field", "value"),
+        command("EXPIRE", CommandReturnType.LONG, "hash", "100")).get(5, TimeUnit.SECONDS);
+
+    assertThat(replies, is(Arrays.<Object>asList("OK", "value", null, 1L, 1L)));
+  }
+
+  @Test
+  public void pipelineFailsWithTheFirstErrorOnceEveryCommandIsSent() throws Exception {
+    CompletableFuture<List<Object>> replies = pipeline(
+        command("SET", CommandReturnType.STATUS, "string", "value"),
+        command("HSET", CommandReturnType.LONG, "string", "field", "value"),
+        command("SET", CommandReturnType.STATUS, "after", "value"));
+
+    try {
+      replies.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(WrongTypeException.class));
+    }
+    assertThat(replies.isCompletedExceptionally(), is(true));
+    assertThat(connection.get().commands().get("after").block(), is("value"));
+  }
+
+  @Test
+  public void concurrentPipelinesShareTheMultiplexedConnection() throws Exception {
+    List<CompletableFuture<List<Object>>> pipelines = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      pipelines.add(pipeline(
+          command("HSET", CommandReturnType.LONG, "hash" + i, "field", "value"),
+          command("EXPIRE", CommandReturnType.LONG, "hash" + i, "100"),
+          command("ZADD", CommandReturnType.LONG, "zset", Integer.toString(i), "member" + i)));
+    }
+
+    for (CompletableFuture<List<Object>> pipeline : pipelines) {
+      assertThat(pipeline.get(5, TimeUnit.SECONDS), is(Arrays.<Object>asList(1L, 1L, 1L)));
+    }
+    assertThat(connection.get().commands().zcard("zset").block(), is(50L));
+    assertThat(connection.dedicatedConnections().getObjectCount(), is(0));
+  }
+
+  private CompletableFuture<List<Object>> pipeline(QueuedCommand... commands) {
+    CompletableFuture<List<Object>> result = new CompletableFuture<>();
+    operations.pipeline(connection.get(), Arrays.asList(commands), new CompletionCallback<List<Object>, Void>() {
+      @Override
+      public void success(Result<List<Object>, Void> output) {
+        result.complete(output.getOutput());
+      }
+
+      @Override
+      public void error(Throwable e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return result;
+  }
+
+  private static QueuedCommand command(String name, CommandReturnType returnType, String... arguments) {
+    QueuedCommand command = new QueuedCommand();
+    command.setCommand(name);
+    command.setReturnType(returnType);
+    command.setArguments(Arrays.asList(arguments));
+    return command;
+  }
+}
@@ -0,0 +1,175 @@
+package cloud.anypoint.redis.internal.operation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import cloud.anypoint.redis.api.CommandReturnType;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.connection.TestConnection;
+import cloud.anypoint.redis.internal.exception.CommandException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ScriptingCommandOperationsTestCase {
+
+  private static final String INCREMENT = "return redis.call('INCRBY', KEYS[1], ARGV[1])";
+  private static final String COUNTERS = "#!lua name=counters\n"
+      + "redis.register_function('increment', function(keys, args) return redis.call('INCRBY', keys[1], args[1]) end)\n"
+      + "redis.register_function{function_name='current', callback=function(keys) return redis.call('GET', keys[1]) end,"
+      + " flags={'no-writes'}}";
+
+  private RespServer server;
+  private TestConnection connection;
+  private final ScriptingCommandOperations operations = new ScriptingCommandOperations();
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    server.registerScript(INCREMENT, (keys, arguments, redis) -> redis.call("INCRBY", keys.get(0), arguments.get(0)));
+    server.registerFunction("increment", (keys, arguments, redis) -> redis.call("INCRBY", keys.get(0), arguments.get(0)));
+    server.registerFunction("current", (keys, arguments, redis) -> redis.call("GET", keys.get(0)));
+    connection = new TestConnection(server.getPort());
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    connection.close();
+    server.close();
+  }
+
+  @Test
+  public void evalLoadsTheScriptTheServerDoesNotKnow() throws Exception {
+    assertThat(eval(INCREMENT).get(5, TimeUnit.SECONDS), is(5L));
+    assertThat(eval(INCREMENT).get(5, TimeUnit.SECONDS), is(10L));
+  }
+
+  @Test
+  public void evalshaRunsAScriptRunBeforeByEval() throws Exception {
+    eval(INCREMENT).get(5, TimeUnit.SECONDS);
+    String digest = connection.get().scripts().register(INCREMENT);
+
+    assertThat(evalsha(digest).get(5, TimeUnit.SECONDS), is(10L));
+  }
+
+  @Test
+  public void scriptsAreLoadedAgainOnceTheServerNoLongerKnowsThem() throws Exception {
+    eval(INCREMENT).get(5, TimeUnit.SECONDS);
+    String digest = connection.get().scripts().register(INCREMENT);
+    // as after a restart or a failover
+    connection.get().commands().scriptFlush().block();
+
+    assertThat(evalsha(digest).get(5, TimeUnit.SECONDS), is(10L));
+    connection.get().commands().scriptFlush().block();
+    assertThat(eval(INCREMENT).get(5, TimeUnit.SECONDS), is(15L));
+  }
+
+  @Test
+  public void evalshaOfAnUnknownScriptFails() throws Exception {
+    CompletableFuture<Object> result = evalsha("0123456789abcdef0123456789abcdef01234567");
+
+    try {
+      result.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(CommandException.class));
+    }
+    assertThat(result.isCompletedExceptionally(), is(true));
+  }
+
+  @Test
+  public void fcallCallsAFunctionOfALoadedLibrary() throws Exception {
+    assertThat(functionLoad(COUNTERS).get(5, TimeUnit.SECONDS), is("counters"));
+
+    assertThat(fcall("increment", false, CommandReturnType.LONG, "5").get(5, TimeUnit.SECONDS), is(5L));
+    assertThat(fcall("increment", false, CommandReturnType.LONG, "5").get(5, TimeUnit.SECONDS), is(10L));
+  }
+
+  @Test
+  public void readOnlyCallsAreSentAsFcallRo() throws Exception {
+    functionLoad(COUNTERS).get(5, TimeUnit.SECONDS);
+    fcall("increment", false, CommandReturnType.LONG, "5").get(5, TimeUnit.SECONDS);
+
+    assertThat(fcall("current", true, CommandReturnType.STRING).get(5, TimeUnit.SECONDS), is("5"));
+    // the server only runs functions flagged no-writes with FCALL_RO
+    CompletableFuture<Object> write = fcall("increment", true, CommandReturnType.LONG, "5");
+    try {
+      write.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(CommandException.class));
+    }
+    assertThat(write.isCompletedExceptionally(), is(true));
+  }
+
+  @Test
+  public void fcallOfAFunctionNotLoadedFails() throws Exception {
+    CompletableFuture<Object> result = fcall("increment", false, CommandReturnType.LONG, "5");
+
+    try {
+      result.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(CommandException.class));
+    }
+    assertThat(result.isCompletedExceptionally(), is(true));
+  }
+
+  private CompletableFuture<String> functionLoad(String library) {
+    CompletableFuture<String> result = new CompletableFuture<>();
+    operations.functionLoad(connection.get(), library, false, new CompletionCallback<String, Void>() {
+      @Override
+      public void success(Result<String, Void> output) {
+        result.complete(output.getOutput());
+      }
+
+      @Override
+      public void error(Throwable e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return result;
+  }
+
+  private CompletableFuture<Object> fcall(String function, boolean readOnly, CommandReturnType returnType,
+                                          String... arguments) {
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    operations.fcall(connection.get(), function, Collections.singletonList("counter"), Arrays.asList(arguments), readOnly,
+        returnType, callback(result));
+    return result;
+  }
+
+  private CompletableFuture<Object> eval(String script) {
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    operations.eval(connection.get(), script, Collections.singletonList("counter"), Collections.singletonList("5"),
+        CommandReturnType.LONG, callback(result));
+    return result;
+  }
+
+  private CompletableFuture<Object> evalsha(String digest) {
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    operations.evalsha(connection.get(), digest, Collections.singletonList("counter"), Collections.singletonList("5"),
+        CommandReturnType.LONG, callback(result));
+    return result;
+  }
+
+  private static CompletionCallback<Object, Void> callback(CompletableFuture<Object> result) {
+    return new CompletionCallback<Object, Void>() {
+      @Override
+      public void success(Result<Object, Void> output) {
+        result.complete(output.getOutput());
+      }
+
+      @Override
+      public void error(Throwable e) {
+        result.completeExceptionally(e);
+      }
+    };
+  }
+}
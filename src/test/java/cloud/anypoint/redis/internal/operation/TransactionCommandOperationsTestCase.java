@@ -0,0 +1,141 @@
+package cloud.anypoint.redis.internal.operation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import cloud.anypoint.redis.api.CommandReturnType;
+import cloud.anypoint.redis.api.command.QueuedCommand;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.connection.TestConnection;
+import cloud.anypoint.redis.internal.exception.ArgumentException;
+import cloud.anypoint.redis.internal.exception.NilValueException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class TransactionCommandOperationsTestCase {
+
+  private RespServer server;
+  private TestConnection connection;
+  private final TransactionCommandOperations operations = new TransactionCommandOperations();
+
+  @Before
+  public void connect() throws IOException {
+    server = RespServer.start(0, "x");
+    // a single dedicated connection, so that every transaction runs on the connection of the one before
+    connection = new TestConnection(server.getPort(), 1, null, null);
+  }
+
+  @After
+  public void disconnect() throws IOException {
+    connection.close();
+    server.close();
+  }
+
+  @Test
+  public void execRepliesInOrder() throws Exception {
+    List<Object> replies = transaction(null, null, null,
+        command("SET", CommandReturnType.STATUS, "counter", "1"),
+        command("INCR", CommandReturnType.LONG, "counter")).get(5, TimeUnit.SECONDS);
+
+    assertThat(replies, is(Arrays.<Object>asList("OK", 2L)));
+  }
+
+  @Test
+  public void commandsAreExecutedWhenReadsReturnTheirExpectedReplies() throws Exception {
+    connection.get().commands().set("balance", "100").block();
+
+    List<Object> replies = transaction(Collections.singletonList("balance"),
+        Arrays.asList(command("GET", CommandReturnType.STRING, "balance"), command("GET", CommandReturnType.STRING, "missing")),
+        Arrays.asList("100", null),
+        command("SET", CommandReturnType.STATUS, "balance", "90")).get(5, TimeUnit.SECONDS);
+
+    assertThat(replies, is(Arrays.<Object>asList("OK")));
+    assertThat(connection.get().commands().get("balance").block(), is("90"));
+  }
+
+  @Test
+  public void transactionIsAbortedWhenAReadReturnsAnotherReply() throws Exception {
+    connection.get().commands().set("balance", "100").block();
+
+    // the flow computed the command from a value modified since
+    assertFailure(transaction(Collections.singletonList("balance"),
+        Collections.singletonList(command("GET", CommandReturnType.STRING, "balance")),
+        Collections.singletonList("80"),
+        command("SET", CommandReturnType.STATUS, "balance", "70")), NilValueException.class);
+
+    assertThat(connection.get().commands().get("balance").block(), is("100"));
+  }
+
+  @Test
+  public void keysAreNoLongerWatchedOnceATransactionIsAborted() throws Exception {
+    connection.get().commands().set("balance", "100").block();
+    assertFailure(transaction(Collections.singletonList("balance"),
+        Collections.singletonList(command("GET", CommandReturnType.STRING, "balance")),
+        Collections.singletonList("80"),
+        command("SET", CommandReturnType.STATUS, "balance", "70")), NilValueException.class);
+    connection.get().commands().set("balance", "110").block();
+
+    // on the same dedicated connection, which would still watch the modified key
+    List<Object> replies = transaction(null, null, null,
+        command("SET", CommandReturnType.STATUS, "balance", "120")).get(5, TimeUnit.SECONDS);
+
+    assertThat(replies, is(Arrays.<Object>asList("OK")));
+    assertThat(connection.get().commands().get("balance").block(), is("120"));
+  }
+
+  @Test
+  public void readsRequireWatchedKeysAndExpectedReplies() throws Exception {
+    List<QueuedCommand> reads = Collections.singletonList(command("GET", CommandReturnType.STRING, "balance"));
+
+    assertFailure(transaction(null, reads, Collections.singletonList("100"),
+        command("SET", CommandReturnType.STATUS, "balance", "90")), ArgumentException.class);
+    assertFailure(transaction(Collections.singletonList("balance"), reads, null,
+        command("SET", CommandReturnType.STATUS, "balance", "90")), ArgumentException.class);
+  }
+
+  private static void assertFailure(CompletableFuture<List<Object>> result, Class<?> error) throws Exception {
+    try {
+      result.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(error));
+    }
+    assertThat(result.isCompletedExceptionally(), is(true));
+  }
+
+  private CompletableFuture<List<Object>> transaction(List<String> watchKeys, List<QueuedCommand> reads,
+                                                      List<String> expectedReplies, QueuedCommand... commands) {
+    CompletableFuture<List<Object>> result = new CompletableFuture<>();
+    operations.transaction(connection.get(), watchKeys, reads, expectedReplies, Arrays.asList(commands),
+        new CompletionCallback<List<Object>, Void>() {
+          @Override
+          public void success(Result<List<Object>, Void> output) {
+            result.complete(output.getOutput());
+          }
+
+          @Override
+          public void error(Throwable e) {
+            result.completeExceptionally(e);
+          }
+        });
+    return result;
+  }
+
+  private static QueuedCommand command(String name, CommandReturnType returnType, String... arguments) {
+    QueuedCommand command = new QueuedCommand();
+    command.setCommand(name);
+    command.setReturnType(returnType);
+    command.setArguments(Arrays.asList(arguments));
+    return command;
+  }
+}
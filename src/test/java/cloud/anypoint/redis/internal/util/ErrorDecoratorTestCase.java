@@ -0,0 +1,90 @@
+package cloud.anypoint.redis.internal.util;
+
+import static cloud.anypoint.redis.internal.util.ErrorDecorator.mapErrors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import cloud.anypoint.redis.emulator.RespServer;
+import cloud.anypoint.redis.internal.connection.LettuceRedisConnection;
+import cloud.anypoint.redis.internal.connection.TestConnection;
+import cloud.anypoint.redis.internal.exception.RejectedException;
+import cloud.anypoint.redis.internal.exception.WrongTypeException;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+
+public class ErrorDecoratorTestCase {
+
+  private RespServer server;
+
+  @Before
+  public void startServer() throws IOException {
+    server = RespServer.start(0, "x");
+  }
+
+  @After
+  public void stopServer() throws IOException {
+    server.close();
+  }
+
+  @Test
+  public void commandsRejectedWhileDisconnected() throws Exception {
+    ClientOptions options = ClientOptions.builder()
+        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+        .build();
+    try (TestConnection connection = new TestConnection(server.getPort(), 1, null, null, options)) {
+      server.close();
+      waitUntilDisconnected(connection);
+
+      assertThat(error(mapErrors(connection.get(), connection.get().commands().get("key"), "GET")),
+          instanceOf(RejectedException.class));
+    }
+  }
+
+  @Test
+  public void commandsRejectedWhenNoDedicatedConnectionIsLeft() {
+    try (TestConnection connection = new TestConnection(server.getPort(), 1, null, null)) {
+      LettuceRedisConnection redis = connection.get();
+      redis.dedicatedConnection(dedicated -> LettuceRedisConnection.reactive(dedicated).blpop(1, "list")).subscribe();
+
+      assertThat(error(mapErrors(redis, redis.dedicatedConnection(dedicated -> LettuceRedisConnection.reactive(dedicated).ping()), "PIPELINE")),
+          instanceOf(RejectedException.class));
+    }
+  }
+
+  @Test
+  public void connectionsClosedWhileSentAreNotRejections() {
+    try (TestConnection connection = new TestConnection(server.getPort())) {
+      Mono<String> closed = Mono.delay(Duration.ofMillis(10)).then(Mono.error(new RedisException("Connection closed")));
+
+      assertThat(error(mapErrors(connection.get(), closed, "GET")), instanceOf(RedisConnectionException.class));
+    }
+  }
+
+  @Test
+  public void errorRepliesAreNotRejections() {
+    try (TestConnection connection = new TestConnection(server.getPort())) {
+      connection.get().commands().set("key", "value").block();
+
+      assertThat(error(mapErrors(connection.get(), connection.get().commands().lpush("key", "element"), "LPUSH", "key")),
+          instanceOf(WrongTypeException.class));
+    }
+  }
+
+  private static Throwable error(Mono<?> command) {
+    return command.then(Mono.<Throwable>empty()).onErrorResume(Mono::just).block(Duration.ofSeconds(5));
+  }
+
+  private static void waitUntilDisconnected(TestConnection connection) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (connection.stripe().isOpen() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+  }
+}
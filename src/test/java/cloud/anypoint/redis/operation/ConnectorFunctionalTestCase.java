@@ -2,11 +2,33 @@ package cloud.anypoint.redis.operation;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import cloud.anypoint.redis.emulator.RespServer;
 import org.mule.functional.junit4.MuleArtifactFunctionalTestCase;
+import org.mule.tck.junit4.rule.DynamicPort;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
 import org.junit.Test;
 
+import java.io.IOException;
+
 public class ConnectorFunctionalTestCase extends MuleArtifactFunctionalTestCase {
 
+  @ClassRule
+  public static DynamicPort redisPort = new DynamicPort("redis.port");
+
+  private static RespServer server;
+
+  @BeforeClass
+  public static void startServer() throws IOException {
+    server = RespServer.start(redisPort.getNumber(), "x");
+  }
+
+  @AfterClass
+  public static void stopServer() throws IOException {
+    server.close();
+  }
+
   @Override
   protected String getConfigFile() {
     return "test-mule-config.xml";
@@ -14,4 +36,10 @@ public class ConnectorFunctionalTestCase extends MuleArtifactFunctionalTestCase
 
   @Test
   public void emptyConfiguration() { }
+
+  @Test
+  public void setThenGet() throws Exception {
+    Object value = flowRunner("set-then-get").run().getMessage().getPayload().getValue();
+    assertThat(value, is("value"));
+  }
 }